@@ -0,0 +1,71 @@
+package bench;
+
+import controller.Controller;
+import dto.ItemDTO;
+import integration.ExternalAccountingSystem;
+import integration.ExternalInventorySystem;
+import integration.InventoryStore;
+import integration.ItemCatalogueCache;
+import integration.Printer;
+import integration.Register;
+import integration.SimulatedLatencyInventoryBackend;
+import model.Amount;
+import model.VAT;
+
+/**
+ * Measures registerItem through the {@link Controller} against an inventory where every lookup takes
+ * one millisecond, with an {@link ItemCatalogueCache} that already holds every item (hot) and with one
+ * that is emptied before every round (cold). Every round registers a basket of distinct items.
+ */
+public class ItemCatalogueCacheBenchmark {
+    private static final int BASKET_SIZE = 50;
+    private static final int LOOKUP_LATENCY_MILLIS = 1;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        InventoryStore store = new InventoryStore();
+        String[] itemIdentifiers = new String[BASKET_SIZE];
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            itemIdentifiers[i] = "sku-" + i;
+            store.addItem(new ItemDTO(itemIdentifiers[i], "Benchmark item " + i, new Amount(5 + i), VAT.VAT_12,
+                                      1_000_000_000, "Item " + i));
+        }
+        ItemCatalogueCache cache = new ItemCatalogueCache(new SimulatedLatencyInventoryBackend(store, LOOKUP_LATENCY_MILLIS),
+                                                          BASKET_SIZE);
+        store.addCatalogueListener(cache);
+        Controller controller = new Controller(new ExternalInventorySystem(store, cache), ExternalAccountingSystem.getInstance(),
+                                               new Register(new Amount(0)), Printer.getInstance());
+
+        MicroBenchmark benchmark = new MicroBenchmark(5, 20);
+        benchmark.measure("registerItem, cold cache", basket(controller, cache, itemIdentifiers, true), BASKET_SIZE);
+        benchmark.measure("registerItem, hot cache", basket(controller, cache, itemIdentifiers, false), BASKET_SIZE);
+        System.out.println("Hits: " + cache.getHitCount() + ", misses: " + cache.getMissCount());
+    }
+
+    private static MicroBenchmark.Stage<Void> basket(Controller controller, ItemCatalogueCache cache,
+                                                     String[] itemIdentifiers, boolean cold) {
+        return new MicroBenchmark.Stage<Void>() {
+            @Override
+            public Void prepare() {
+                if (cold) {
+                    cache.clear();
+                }
+                controller.initiateSale();
+                return null;
+            }
+
+            @Override
+            public long run(Void state) throws Exception {
+                long result = 0;
+                for (String itemIdentifier : itemIdentifiers) {
+                    result += controller.registerItem(itemIdentifier).getQuantity();
+                }
+                return result;
+            }
+        };
+    }
+}
\ No newline at end of file
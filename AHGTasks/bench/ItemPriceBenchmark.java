@@ -0,0 +1,75 @@
+package bench;
+
+import dto.ItemDTO;
+import model.Amount;
+import model.Item;
+import model.VAT;
+
+/**
+ * Compares the per-line price calculations of {@link Item} with the calculation it used before
+ * the VAT-inclusive unit price was precomputed, which multiplied the price by the VAT rate and
+ * allocated new Amount objects on every call.
+ */
+public class ItemPriceBenchmark {
+    private static final int LINES = 500;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        Item[] items = new Item[LINES];
+        VAT[] vatRates = VAT.values();
+        for (int i = 0; i < LINES; i++) {
+            ItemDTO itemDTO = new ItemDTO("" + i, "Item " + i, new Amount(10 + i * 0.45), vatRates[i % vatRates.length], 1, "Item " + i);
+            items[i] = new Item(itemDTO, 1 + i % 7);
+        }
+
+        MicroBenchmark benchmark = new MicroBenchmark(2000, 5000);
+        benchmark.measure("legacy getTotalPriceWithVAT + getTotalVAT", LINES, new MicroBenchmark.Operation() {
+            private int line;
+
+            @Override
+            public long run() {
+                Item item = items[line++ % LINES];
+                Amount total = legacyTotalPriceWithVAT(item);
+                Amount vat = legacyTotalVAT(item);
+                return (long) (total.getAmount() + vat.getAmount());
+            }
+        });
+        benchmark.measure("Item.getTotalPriceWithVAT + getTotalVAT", LINES, new MicroBenchmark.Operation() {
+            private int line;
+
+            @Override
+            public long run() {
+                Item item = items[line++ % LINES];
+                return (long) (item.getTotalPriceWithVAT().getAmount() + item.getTotalVAT().getAmount());
+            }
+        });
+        benchmark.measure("Item totals in minor units", LINES, new MicroBenchmark.Operation() {
+            private int line;
+
+            @Override
+            public long run() {
+                Item item = items[line++ % LINES];
+                return item.getTotalPriceWithVATInMinorUnits() + item.getTotalVATInMinorUnits();
+            }
+        });
+    }
+
+    private static Amount legacyPriceWithVAT(Item item) {
+        double priceWithVAT = item.getPrice().getAmount() * (1 + item.getVatRate().getRate());
+        return new Amount(priceWithVAT);
+    }
+
+    private static Amount legacyTotalPriceWithVAT(Item item) {
+        double totalPriceWithVAT = legacyPriceWithVAT(item).getAmount() * item.getQuantity();
+        return new Amount(totalPriceWithVAT);
+    }
+
+    private static Amount legacyTotalVAT(Item item) {
+        double vatPerItem = item.getPrice().getAmount() * item.getVatRate().getRate();
+        return new Amount(vatPerItem * item.getQuantity());
+    }
+}
\ No newline at end of file
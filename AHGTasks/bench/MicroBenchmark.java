@@ -0,0 +1,158 @@
+package bench;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * A small harness for measuring the time and the memory allocated by an operation.
+ *
+ * Each benchmark is run a number of warm-up rounds, so that the JIT compiler has optimized it,
+ * before the measured rounds. The results are reported as nanoseconds per operation and
+ * bytes allocated per operation by the benchmarking thread.
+ *
+ * Benchmarks are compiled and run like the rest of the project, from the AHGTasks folder:
+ * <pre>
+ * javac -d out src/&#42;&#42;/&#42;.java bench/&#42;.java
+ * java -cp out bench.ItemPriceBenchmark
+ * </pre>
+ */
+public class MicroBenchmark {
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Receives the results of measured operations, so that the JIT compiler cannot remove them as dead code.
+     */
+    public static volatile long sink;
+
+    private final int warmupRounds;
+    private final int measuredRounds;
+    private final PrintStream report;
+
+    /**
+     * An operation to measure. Each call performs one operation and returns a value derived from its result.
+     */
+    public interface Operation {
+        long run();
+    }
+
+    /**
+     * An operation that has to be prepared before every round, for example by creating a new sale.
+     * The preparation is not included in the measurement.
+     */
+    public interface Stage<T> {
+        T prepare() throws Exception;
+
+        long run(T state) throws Exception;
+    }
+
+    /**
+     * Creates a new harness. Results are printed to the stream that is <code>System.out</code>
+     * when the harness is created, so the benchmarked code may redirect its own output.
+     *
+     * @param warmupRounds The number of rounds run before measuring.
+     * @param measuredRounds The number of rounds that are measured.
+     */
+    public MicroBenchmark(int warmupRounds, int measuredRounds) {
+        this.warmupRounds = warmupRounds;
+        this.measuredRounds = measuredRounds;
+        this.report = System.out;
+    }
+
+    /**
+     * Measures an operation and prints the result.
+     *
+     * @param name The name the result is printed with.
+     * @param operationsPerRound The number of times the operation is called in each round.
+     * @param operation The operation to measure.
+     * @return The measured result.
+     */
+    public Result measure(String name, int operationsPerRound, Operation operation) {
+        return measure(name, new Stage<Void>() {
+            @Override
+            public Void prepare() {
+                return null;
+            }
+
+            @Override
+            public long run(Void state) {
+                long result = 0;
+                for (int i = 0; i < operationsPerRound; i++) {
+                    result += operation.run();
+                }
+                return result;
+            }
+        }, operationsPerRound);
+    }
+
+    /**
+     * Measures a stage that is prepared before every round and prints the result.
+     *
+     * @param name The name the result is printed with.
+     * @param stage The stage to measure.
+     * @param operationsPerRound The number of operations one run of the stage performs.
+     * @return The measured result.
+     */
+    public <T> Result measure(String name, Stage<T> stage, int operationsPerRound) {
+        try {
+            for (int round = 0; round < warmupRounds; round++) {
+                sink += stage.run(stage.prepare());
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long totalNanos = 0;
+            long totalBytes = 0;
+            for (int round = 0; round < measuredRounds; round++) {
+                T state = stage.prepare();
+                long bytesBefore = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                sink += stage.run(state);
+                totalNanos += System.nanoTime() - start;
+                totalBytes += THREAD_BEAN.getThreadAllocatedBytes(threadId) - bytesBefore;
+            }
+
+            long operations = (long) measuredRounds * operationsPerRound;
+            Result result = new Result(name, (double) totalNanos / operations, (double) totalBytes / operations);
+            report.println(result);
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark " + name + " failed.", e);
+        }
+    }
+
+    /**
+     * The measured cost of one operation.
+     */
+    public static class Result {
+        private final String name;
+        private final double nanosPerOperation;
+        private final double bytesPerOperation;
+
+        Result(String name, double nanosPerOperation, double bytesPerOperation) {
+            this.name = name;
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        /**
+         * Gets the average time of one operation.
+         * @return The time in nanoseconds.
+         */
+        public double getNanosPerOperation() {
+            return nanosPerOperation;
+        }
+
+        /**
+         * Gets the average memory allocated by one operation.
+         * @return The allocated memory in bytes.
+         */
+        public double getBytesPerOperation() {
+            return bytesPerOperation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-50s %14.1f ns/op %12.1f B/op", name, nanosPerOperation, bytesPerOperation);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package bench;
+
+import integration.Register;
+import model.Amount;
+import model.MoneyAccumulator;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures the throughput of {@link Register#updateRegister(String, Amount)} when 1, 8 and 64 threads pay
+ * sales at the same time, and compares it with the register it replaced, which added every sale to a single
+ * total under the register's lock.
+ *
+ * Each thread is run both with its own lane's drawer and with all threads sharing the default drawer,
+ * which is the worst case for contention.
+ */
+public class RegisterContentionBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 8, 64};
+    private static final int UPDATES_PER_THREAD = 2_000_000;
+    private static final int ROUNDS = 5;
+    private static final Amount SALE = new Amount(47.4);
+
+    private interface Update {
+        void run(int thread);
+    }
+
+    /**
+     * Runs the benchmark for all thread counts.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        for (int threads : THREAD_COUNTS) {
+            System.out.println(threads + " threads:");
+            LockedRegister lockedRegister = new LockedRegister();
+            report("legacy synchronized total", threads, thread -> lockedRegister.updateRegister(SALE));
+            Register sharedRegister = new Register(new Amount(0));
+            report("Register, shared default drawer", threads, thread -> sharedRegister.updateRegister(SALE));
+            Register laneRegister = new Register(new Amount(0));
+            String[] laneIds = new String[threads];
+            for (int i = 0; i < threads; i++) {
+                laneIds[i] = "lane-" + i;
+            }
+            report("Register, one drawer per lane", threads, thread -> laneRegister.updateRegister(laneIds[thread], SALE));
+            System.out.println();
+        }
+    }
+
+    private static void report(String name, int threads, Update update) throws InterruptedException {
+        run(threads, update);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.min(best, run(threads, update));
+        }
+        double updates = (double) threads * UPDATES_PER_THREAD;
+        System.out.println(String.format("%-50s %14.1f ns/update %10.1f M updates/s",
+                                         name, best / updates, updates * 1_000 / best));
+    }
+
+    private static long run(int threads, Update update) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int n = 0; n < UPDATES_PER_THREAD; n++) {
+                    update.run(thread);
+                }
+            });
+            workers[i].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static class LockedRegister {
+        private final MoneyAccumulator amount = new MoneyAccumulator();
+
+        synchronized void updateRegister(Amount totalPrice) {
+            amount.add(totalPrice);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package bench;
+
+import controller.Controller;
+import dto.ItemDTO;
+import integration.ExternalAccountingSystem;
+import integration.ExternalInventorySystem;
+import integration.Printer;
+import integration.Register;
+import model.Amount;
+import model.VAT;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures every stage of a sale through the {@link Controller}: initiateSale, registerItem for every
+ * line of the basket, applyDiscount, endSale and concludeSale. The stages are measured for baskets of
+ * 1, 50, 500 and 5 000 distinct lines, and each stage is reported as nanoseconds and bytes allocated
+ * per call.
+ *
+ * The receipt and the messages from the external systems are written to a discarding stream while
+ * measuring, so that console output does not dominate the results.
+ */
+public class SaleLifecycleBenchmark {
+    private static final int[] BASKET_SIZES = {1, 50, 500, 5_000};
+    private static final String CUSTOMER_ID = "123";
+    private static final Amount PAYMENT = new Amount(1_000_000_000);
+
+    private final int basketSize;
+    private final String[] itemIdentifiers;
+    private final Controller controller;
+
+    private SaleLifecycleBenchmark(int basketSize) {
+        this.basketSize = basketSize;
+        this.itemIdentifiers = new String[basketSize];
+        List<ItemDTO> inventoryItems = new ArrayList<>();
+        VAT[] vatRates = VAT.values();
+        for (int i = 0; i < basketSize; i++) {
+            itemIdentifiers[i] = "sku-" + i;
+            inventoryItems.add(new ItemDTO(itemIdentifiers[i], "Benchmark item " + i, new Amount(5 + (i % 100) * 0.95),
+                                           vatRates[i % vatRates.length], 1_000_000_000, "Item " + i));
+        }
+        this.controller = new Controller(new ExternalInventorySystem(inventoryItems), ExternalAccountingSystem.getInstance(),
+                                         new Register(new Amount(0)), Printer.getInstance());
+    }
+
+    /**
+     * Runs the benchmark for all basket sizes.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        PrintStream console = System.out;
+        for (int basketSize : BASKET_SIZES) {
+            int measuredRounds = Math.max(20, 50_000 / basketSize);
+            MicroBenchmark benchmark = new MicroBenchmark(measuredRounds, measuredRounds);
+            console.println("Basket of " + basketSize + " lines:");
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                new SaleLifecycleBenchmark(basketSize).run(benchmark);
+            } finally {
+                System.setOut(console);
+            }
+            console.println();
+        }
+    }
+
+    private void run(MicroBenchmark benchmark) {
+        benchmark.measure("initiateSale", new MicroBenchmark.Stage<Void>() {
+            @Override
+            public Void prepare() {
+                return null;
+            }
+
+            @Override
+            public long run(Void state) {
+                controller.initiateSale();
+                return 1;
+            }
+        }, 1);
+
+        benchmark.measure("registerItem (per line, " + basketSize + " lines)", new MicroBenchmark.Stage<Void>() {
+            @Override
+            public Void prepare() {
+                controller.initiateSale();
+                return null;
+            }
+
+            @Override
+            public long run(Void state) throws Exception {
+                long result = 0;
+                for (String itemIdentifier : itemIdentifiers) {
+                    result += controller.registerItem(itemIdentifier).getQuantity();
+                }
+                return result;
+            }
+        }, basketSize);
+
+        benchmark.measure("applyDiscount", new MicroBenchmark.Stage<Void>() {
+            @Override
+            public Void prepare() throws Exception {
+                prepareBasket();
+                return null;
+            }
+
+            @Override
+            public long run(Void state) {
+                controller.applyDiscount(CUSTOMER_ID);
+                return 1;
+            }
+        }, 1);
+
+        benchmark.measure("endSale", new MicroBenchmark.Stage<Void>() {
+            @Override
+            public Void prepare() throws Exception {
+                prepareBasket();
+                controller.applyDiscount(CUSTOMER_ID);
+                return null;
+            }
+
+            @Override
+            public long run(Void state) {
+                return controller.endSale().getMinorUnits();
+            }
+        }, 1);
+
+        benchmark.measure("concludeSale", new MicroBenchmark.Stage<Void>() {
+            @Override
+            public Void prepare() throws Exception {
+                prepareBasket();
+                controller.applyDiscount(CUSTOMER_ID);
+                controller.endSale();
+                return null;
+            }
+
+            @Override
+            public long run(Void state) {
+                return controller.concludeSale(PAYMENT).getMinorUnits();
+            }
+        }, 1);
+    }
+
+    private void prepareBasket() throws Exception {
+        controller.initiateSale();
+        for (String itemIdentifier : itemIdentifiers) {
+            controller.registerItem(itemIdentifier);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+package controller;
+
+import integration.SaleJournal;
+import model.Amount;
+import model.CompositeDiscountStrategy;
+import model.CustomerDiscountStrategy;
+import model.DiscountStrategy;
+import model.ItemBasedDiscountStrategy;
+import model.PromotionDiscountStrategy;
+import model.PromotionEngine;
+import model.Sale;
+import model.TotalBasedDiscountStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dto.ItemDTO;
+import dto.ReceiptDTO;
+import dto.SaleDTO;
+import dto.ScanDTO;
+import exceptions.DatabaseFailureException;
+import exceptions.ItemNotFoundException;
+
+/**
+ * One checkout lane's handle to the system. Each session has its own ongoing sale and discount strategy,
+ * while the external systems (inventory, accounting, register and printer) are shared with all other
+ * sessions of the same {@link Controller}.
+ *
+ * A session is meant to be used by one lane at a time and is not thread-safe itself. Different sessions
+ * can be used from different threads at the same time.
+ */
+public class CheckoutSession {
+    private final Controller controller;
+    private final String laneId;
+    private Sale sale;
+    private DiscountStrategy discountStrategy;
+    private SaleJournal saleJournal;
+    private long saleId;
+
+    /**
+     * Creates a new session for a lane. Sessions are opened through {@link Controller#openSession(String)}.
+     *
+     * @param controller The controller holding the shared external systems.
+     * @param laneId The identifier of the checkout lane using this session.
+     */
+    CheckoutSession(Controller controller, String laneId) {
+        this.controller = controller;
+        this.laneId = laneId;
+    }
+
+    /**
+     * Gets the identifier of the checkout lane using this session.
+     *
+     * @return The lane identifier.
+     */
+    public String getLaneId() {
+        return laneId;
+    }
+
+    /**
+     * Initiates a new sale in this session.
+     * This must be called before registering any items.
+     */
+    public void initiateSale() {
+        this.sale = new Sale();
+        sale.addRevenueObserver(revenue -> controller.notifyRevenueObservers(laneId, revenue));
+        this.saleJournal = controller.getSaleJournal();
+        if (saleJournal != null) {
+            this.saleId = saleJournal.recordSaleInitiated(laneId);
+        }
+    }
+
+    /**
+     * Registers an item in the session's ongoing sale, based on the item's identifier.
+     * If the item is already part of the sale, its quantity is increased;
+     * otherwise, the item is added as a new sale item.
+     *
+     * @param itemIdentifier The unique identifier for the item to register.
+     * @return An ItemDTO representing the registered or updated item.
+     * @throws ItemNotFoundException occurs when an item ID is not found in the inventory.
+     * @throws DatabaseFailureException is thrown when a database connection issue occurs.
+     */
+    public ItemDTO registerItem(String itemIdentifier) throws ItemNotFoundException, DatabaseFailureException {
+        return registerItem(itemIdentifier, 1);
+    }
+
+    /**
+     * Registers several units of an item in the session's ongoing sale with one inventory lookup
+     * and one discount calculation.
+     *
+     * @param itemIdentifier The unique identifier for the item to register.
+     * @param quantity The number of units to register.
+     * @return An ItemDTO representing the registered or updated item.
+     * @throws ItemNotFoundException occurs when an item ID is not found in the inventory.
+     * @throws DatabaseFailureException is thrown when a database connection issue occurs.
+     * @throws IllegalArgumentException if the quantity is not positive, or the quantity of the item would be too large.
+     */
+    public ItemDTO registerItem(String itemIdentifier, int quantity) throws ItemNotFoundException, DatabaseFailureException {
+        requirePositive(itemIdentifier, quantity);
+        requireRoomInLine(itemIdentifier, quantity);
+        ItemDTO itemDTO = sale.checkIfItemRegistered(itemIdentifier)
+            ? null
+            : controller.getInventorySystem().retrieveItemInformation(itemIdentifier);
+        ItemDTO registeredItem = addToSale(itemIdentifier, itemDTO, quantity);
+
+        if (discountStrategy != null) {
+            sale.calculateDiscounts(discountStrategy);
+        }
+
+        return registeredItem;
+    }
+
+    /**
+     * Registers a batch of scans in the session's ongoing sale. Scans of the same item are combined,
+     * the items that are new to the sale are looked up in the inventory with one call, and the discount is
+     * calculated once for the whole batch. If an item cannot be found, or a quantity is invalid, nothing in
+     * the batch is registered.
+     *
+     * @param scans The scans to register.
+     * @return The updated line of every scanned item, in the order the items were first scanned.
+     * @throws ItemNotFoundException occurs when an item ID is not found in the inventory.
+     * @throws DatabaseFailureException is thrown when a database connection issue occurs.
+     * @throws IllegalArgumentException if a scan has a quantity that is not positive, or the quantity of an item
+     *         would be too large.
+     */
+    public List<ItemDTO> registerItems(List<ScanDTO> scans) throws ItemNotFoundException, DatabaseFailureException {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (ScanDTO scan : scans) {
+            requirePositive(scan.getItemIdentifier(), scan.getQuantity());
+            quantities.merge(scan.getItemIdentifier(), scan.getQuantity(),
+                             (merged, added) -> addQuantities(scan.getItemIdentifier(), merged, added));
+        }
+        for (Map.Entry<String, Integer> quantity : quantities.entrySet()) {
+            requireRoomInLine(quantity.getKey(), quantity.getValue());
+        }
+
+        List<String> newIdentifiers = new ArrayList<>();
+        for (String itemIdentifier : quantities.keySet()) {
+            if (!sale.checkIfItemRegistered(itemIdentifier)) {
+                newIdentifiers.add(itemIdentifier);
+            }
+        }
+        Map<String, ItemDTO> newItems = newIdentifiers.isEmpty()
+            ? Map.of()
+            : controller.getInventorySystem().retrieveItemInformation(newIdentifiers);
+
+        List<ItemDTO> registeredItems = new ArrayList<>(quantities.size());
+        for (Map.Entry<String, Integer> quantity : quantities.entrySet()) {
+            registeredItems.add(addToSale(quantity.getKey(), newItems.get(quantity.getKey()), quantity.getValue()));
+        }
+
+        if (discountStrategy != null && !registeredItems.isEmpty()) {
+            sale.calculateDiscounts(discountStrategy);
+        }
+
+        return registeredItems;
+    }
+
+    private ItemDTO addToSale(String itemIdentifier, ItemDTO newItem, int quantity) {
+        ItemDTO registeredItem = newItem == null
+            ? sale.increaseQuantity(itemIdentifier, quantity)
+            : sale.addItemToSale(newItem, quantity);
+        if (saleJournal != null) {
+            saleJournal.recordItemRegistered(saleId, itemIdentifier, quantity);
+        }
+        return registeredItem;
+    }
+
+    private static void requirePositive(String itemIdentifier, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Invalid quantity: " + quantity + " for item: " + itemIdentifier);
+        }
+    }
+
+    private void requireRoomInLine(String itemIdentifier, int quantity) {
+        ItemDTO line = sale.getItemByIdentifier(itemIdentifier);
+        if (line != null) {
+            addQuantities(itemIdentifier, line.getQuantity(), quantity);
+        }
+    }
+
+    private static int addQuantities(String itemIdentifier, int quantity, int addedQuantity) {
+        try {
+            return Math.addExact(quantity, addedQuantity);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Quantity too large for item: " + itemIdentifier, e);
+        }
+    }
+
+    /**
+     * Finalizes the item registration phase of the sale
+     * and calculates the total price, including VAT.
+     *
+     * @return The total price for the current sale.
+     */
+    public Amount endSale() {
+        return sale.calculateTotalPriceAfterDiscount();
+    }
+
+    /**
+     * Processes the customer's payment, calculates the change,
+     * and updates the shared external systems (register, accounting, inventory).
+     * Also prints a receipt for the customer.
+     *
+     * @param payment The amount paid by the customer.
+     * @return An Amount representing the change to be returned to the customer.
+     */
+    public Amount concludeSale(Amount payment) {
+        Amount paymentAmount = payment;
+        Amount totalAmount = sale.calculateTotalPriceAfterDiscount();
+        if (saleJournal != null && paymentAmount.getMinorUnits() >= totalAmount.getMinorUnits()) {
+            // The payment is journaled before any observer or external system sees it.
+            saleJournal.recordSalePaid(saleId, laneId, totalAmount, paymentAmount, sale.getListOfItemDTOs());
+        }
+
+        sale.pay(paymentAmount);
+        Amount change = sale.calculateChange();
+
+        SaleDTO saleDTO = sale.getSaleInformation();
+        ReceiptDTO receiptDTO = sale.getReceiptInformation();
+
+        controller.getRegister().updateRegister(laneId, totalAmount);
+        controller.getAccountingSystem().updateAccountingSystem(paymentAmount);
+        controller.getInventorySystem().updateInventory(saleDTO);
+        controller.getPrinter().printReceipt(receiptDTO);
+
+        return change;
+    }
+
+    /**
+     * Applies discount using various strategies, based on customer and other factors.
+     * The item discount comes from the controller's promotions, if it has any.
+     *
+     * @param customerID A string which identifies the buyer, so the appropriate discount can be applied to the sale.
+     */
+    public void applyDiscount(String customerID) {
+        PromotionEngine promotionEngine = controller.getPromotionEngine();
+        DiscountStrategy itemDiscount = promotionEngine != null
+            ? new PromotionDiscountStrategy(promotionEngine)
+            : new ItemBasedDiscountStrategy(controller.getDiscountDatabase());
+        DiscountStrategy discount = new CompositeDiscountStrategy(Arrays.asList(
+            new CustomerDiscountStrategy(customerID, controller.getDiscountDatabase()),
+            itemDiscount,
+            new TotalBasedDiscountStrategy(controller.getDiscountDatabase())
+        ));
+        setDiscountStrategy(discount);
+        sale.setCustomerID(customerID);
+        sale.calculateDiscounts(discount);
+        if (saleJournal != null) {
+            saleJournal.recordDiscountApplied(saleId, customerID, sale.getTotalDiscount());
+        }
+    }
+
+    /**
+     * Returns the current running total price (including VAT)
+     * for all items registered so far in this session's sale.
+     *
+     * @return An Amount representing the current total price.
+     */
+    public Amount getRunningTotal() {
+        return sale.calculateTotalPrice();
+    }
+
+    /**
+     * Returns the running total amount of VAT
+     * for all items registered so far in this session's sale.
+     *
+     * @return An Amount representing the current total VAT.
+     */
+    public Amount getRunningVAT() {
+        return sale.calculateTotalVAT();
+    }
+
+    /**
+     * Returns the running discount of this session's sale for all items registered so far.
+     *
+     * @return An Amount representing the discount for the sale as of yet.
+     */
+    public Amount getRunningDiscount() {
+        return sale.getTotalDiscount();
+    }
+
+    /**
+     * Sets the strategy which will be used for this session's sale.
+     *
+     * @param discountStrategy One of the available strategies to calculate the discount.
+     */
+    public void setDiscountStrategy(DiscountStrategy discountStrategy) {
+        this.discountStrategy = discountStrategy;
+    }
+}
\ No newline at end of file
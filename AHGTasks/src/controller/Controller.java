@@ -4,24 +4,20 @@ import integration.ExternalInventorySystem;
 import integration.ExternalAccountingSystem;
 import integration.Register;
 import integration.Printer;
-import model.Sale;
-import model.TotalBasedDiscountStrategy;
+import integration.SaleJournal;
+import integration.ServiceRegistry;
 import utils.RevenueObserver;
 import model.Amount;
-import model.CompositeDiscountStrategy;
-import model.CustomerDiscountStrategy;
 import model.DiscountDatabase;
 import model.DiscountDatabaseImpl;
 import model.DiscountStrategy;
-import model.ItemBasedDiscountStrategy;
+import model.PromotionEngine;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import dto.ItemDTO;
-import dto.ReceiptDTO;
-import dto.SaleDTO;
+import dto.ScanDTO;
 import exceptions.DatabaseFailureException;
 import exceptions.ItemNotFoundException;
 
@@ -30,27 +26,73 @@ import exceptions.ItemNotFoundException;
  * It coordinates actions between the View and the Model layer,
  * managing system operations such as sale initiation, item registration,
  * payment processing, and updates to external systems like accounting and inventory.
+ *
+ * Every checkout lane opens its own {@link CheckoutSession} with {@link #openSession(String)}, so one
+ * Controller can serve several lanes at the same time. The sale operations of the Controller itself
+ * are carried out in a default session, for applications with a single lane.
  */
 public class Controller {
-    private List<RevenueObserver> revenueObservers = new ArrayList<>();
+    /**
+     * The lane identifier of the Controller's default session.
+     */
+    public static final String DEFAULT_LANE_ID = "default";
+
+    private List<RevenueObserver> revenueObservers = new CopyOnWriteArrayList<>();
     private ExternalInventorySystem inventorySystem;
     private ExternalAccountingSystem accountingSystem;
     private Register register;
     private Printer printer;
-    private Sale sale;
-    private DiscountStrategy discountStrategy;
     private DiscountDatabase discountDatabase;
+    private CheckoutSession defaultSession;
+    private volatile SaleJournal saleJournal;
+    private volatile PromotionEngine promotionEngine;
 
     /**
      * Creates a new Controller instance and initializes the external systems
      * (inventory system, accounting system, register, and printer).
      */
     public Controller() {
-        this.inventorySystem = ExternalInventorySystem.getInstance();
-        this.accountingSystem = ExternalAccountingSystem.getInstance();
-        this.register = Register.getInstance(new Amount(0));
-        this.printer = Printer.getInstance();
+        this(ExternalInventorySystem.getInstance(), ExternalAccountingSystem.getInstance(),
+             Register.getInstance(new Amount(0)), Printer.getInstance());
+    }
+
+    /**
+     * Creates a new Controller instance that uses the specified external systems
+     * instead of the shared instances.
+     *
+     * @param inventorySystem The inventory system to retrieve items from and update after sales.
+     * @param accountingSystem The accounting system to send payments to.
+     * @param register The register that accumulates the revenue.
+     * @param printer The printer that prints receipts.
+     */
+    public Controller(ExternalInventorySystem inventorySystem, ExternalAccountingSystem accountingSystem,
+                      Register register, Printer printer) {
+        this.inventorySystem = inventorySystem;
+        this.accountingSystem = accountingSystem;
+        this.register = register;
+        this.printer = printer;
         this.discountDatabase = new DiscountDatabaseImpl();
+        this.defaultSession = new CheckoutSession(this, DEFAULT_LANE_ID);
+    }
+
+    /**
+     * Creates a new Controller instance that uses the external systems held by a service registry.
+     *
+     * @param services The registry holding the inventory system, accounting system, register and printer.
+     */
+    public Controller(ServiceRegistry services) {
+        this(services.getInventorySystem(), services.getAccountingSystem(), services.getRegister(), services.getPrinter());
+    }
+
+    /**
+     * Opens a new checkout session for a lane. The session has its own sale,
+     * and shares the external systems and revenue observers of this Controller.
+     *
+     * @param laneId The identifier of the checkout lane.
+     * @return The new session.
+     */
+    public CheckoutSession openSession(String laneId) {
+        return new CheckoutSession(this, laneId);
     }
 
     /**
@@ -58,11 +100,7 @@ public class Controller {
      * This must be called before registering any items.
      */
     public void initiateSale() {
-        this.sale = new Sale();
-
-        for (RevenueObserver observer : revenueObservers) {
-            sale.addRevenueObserver(observer);
-        }
+        defaultSession.initiateSale();
     }
 
     /**
@@ -77,21 +115,37 @@ public class Controller {
      * this is only thrown when a specific item ID is checked.
      */
     public ItemDTO registerItem(String itemIdentifier) throws ItemNotFoundException, DatabaseFailureException {
-        boolean itemAlreadyRegistered = sale.checkIfItemRegistered(itemIdentifier);
-
-        if (itemAlreadyRegistered) {
-            sale.increaseQuantity(itemIdentifier, 1);
-        } else {
-            ItemDTO itemDTO = inventorySystem.retrieveItemInformation(itemIdentifier);
-            sale.addItemToSale(itemDTO, 1);
-        }
-
-        if (discountStrategy != null) {
-            sale.calculateDiscounts(discountStrategy);
-        }
+        return defaultSession.registerItem(itemIdentifier);
+    }
 
-        return sale.getItemByIdentifier(itemIdentifier);
+    /**
+     * Registers several units of an item during an ongoing sale, for example a whole case,
+     * with one inventory lookup and one discount calculation.
+     *
+     * @param itemIdentifier The unique identifier for the item to register.
+     * @param quantity The number of units to register.
+     * @return An ItemDTO representing the registered or updated item.
+     * @throws ItemNotFoundException occurs when an item ID is not found in the inventory.
+     * @throws DatabaseFailureException is thrown when a database connection issue occurs.
+     * @throws IllegalArgumentException if the quantity is not positive, or the quantity of the item would be too large.
+     */
+    public ItemDTO registerItem(String itemIdentifier, int quantity) throws ItemNotFoundException, DatabaseFailureException {
+        return defaultSession.registerItem(itemIdentifier, quantity);
+    }
 
+    /**
+     * Registers a batch of scans during an ongoing sale. Every distinct item is looked up once,
+     * and the discount is calculated once for the whole batch.
+     *
+     * @param scans The scans to register.
+     * @return The updated line of every scanned item, in the order the items were first scanned.
+     * @throws ItemNotFoundException occurs when an item ID is not found in the inventory.
+     * @throws DatabaseFailureException is thrown when a database connection issue occurs.
+     * @throws IllegalArgumentException if a scan has a quantity that is not positive, or the quantity of an item
+     *         would be too large.
+     */
+    public List<ItemDTO> registerItems(List<ScanDTO> scans) throws ItemNotFoundException, DatabaseFailureException {
+        return defaultSession.registerItems(scans);
     }
 
     /**
@@ -101,7 +155,7 @@ public class Controller {
      * @return The total price for the current sale.
      */
     public Amount endSale() {
-        return sale.calculateTotalPriceAfterDiscount();
+        return defaultSession.endSale();
     }
 
     /**
@@ -113,21 +167,7 @@ public class Controller {
      * @return An Amount representing the change to be returned to the customer.
      */
     public Amount concludeSale(Amount payment) {
-        Amount paymentAmount = payment;
-
-        sale.pay(paymentAmount);
-        Amount totalAmount = sale.calculateTotalPriceAfterDiscount();
-        Amount change = paymentAmount.subtract(totalAmount);
-
-        SaleDTO saleDTO = sale.getSaleInformation();
-        ReceiptDTO receiptDTO = sale.getReceiptInformation();
-
-        register.updateRegister(totalAmount);
-        accountingSystem.updateAccountingSystem(paymentAmount);
-        inventorySystem.updateInventory(saleDTO);
-        printer.printReceipt(receiptDTO);
-
-        return change;
+        return defaultSession.concludeSale(payment);
     }
 
     /**
@@ -136,14 +176,7 @@ public class Controller {
      * @param customerID A string which identifies the buyer, so the appropriate discount can be applied to the sale.
      */
     public void applyDiscount(String customerID) {
-        DiscountStrategy discount = new CompositeDiscountStrategy(Arrays.asList(
-            new CustomerDiscountStrategy(customerID, discountDatabase),
-            new ItemBasedDiscountStrategy(discountDatabase),
-            new TotalBasedDiscountStrategy(discountDatabase)
-        ));
-        setDiscountStrategy(discount);
-        sale.setCustomerID(customerID); 
-        sale.calculateDiscounts(discount);
+        defaultSession.applyDiscount(customerID);
     }
 
 
@@ -154,7 +187,7 @@ public class Controller {
      * @return An Amount representing the current total price.
      */
     public Amount getRunningTotal() {
-        return sale.calculateTotalPrice();
+        return defaultSession.getRunningTotal();
     }
 
     /**
@@ -164,7 +197,7 @@ public class Controller {
      * @return An Amount representing the current total VAT.
      */
     public Amount getRunningVAT() {
-        return sale.calculateTotalVAT();
+        return defaultSession.getRunningVAT();
     }
 
     /**
@@ -173,7 +206,7 @@ public class Controller {
      * @return An Amount representing the discount for the sale as of yet.
      */
     public Amount getRunningDiscount() {
-        return sale.getTotalDiscount();
+        return defaultSession.getRunningDiscount();
     }
 
     /**
@@ -182,18 +215,79 @@ public class Controller {
      * @param discountStrategy One of the available strategies to calculate the discount. 
      */
     public void setDiscountStrategy(DiscountStrategy discountStrategy) {
-        this.discountStrategy = discountStrategy;
+        defaultSession.setDiscountStrategy(discountStrategy);
+    }
+
+    /**
+     * Sets the journal that the events of all sales are written to. A paid sale is stored in the journal
+     * before the register, accounting, inventory and printer are updated, so that the sale can be replayed
+     * if the application stops in between. Sales that are already ongoing are not journaled.
+     *
+     * @param saleJournal The journal to write to, or null to stop journaling.
+     */
+    public void setSaleJournal(SaleJournal saleJournal) {
+        this.saleJournal = saleJournal;
+    }
+
+    /**
+     * Sets the promotions used when a discount is applied. With an engine set, the discount of the
+     * items in a sale comes from the promotions instead of the fixed discount per line of the
+     * discount database.
+     *
+     * @param promotionEngine The engine holding the active promotions, or null to use the discount database.
+     */
+    public void setPromotionEngine(PromotionEngine promotionEngine) {
+        this.promotionEngine = promotionEngine;
     }
 
     /**
      * A view which checks when the sale is complete to update the systems revenue counter.
+     * The observer is notified of sales completed in every session, including sales that were
+     * already ongoing when the observer was added.
      * 
      * @param observer A view for when the sale ends.
      */
     public void addRevenueObserver(RevenueObserver observer) {
         revenueObservers.add(observer);
-        if (sale != null) {
-            sale.addRevenueObserver(observer);
+    }
+
+    /**
+     * Passes the revenue of a completed sale on to all revenue observers.
+     *
+     * @param laneId The lane where the sale was completed.
+     * @param revenue The revenue of the completed sale.
+     */
+    void notifyRevenueObservers(String laneId, Amount revenue) {
+        for (RevenueObserver observer : revenueObservers) {
+            observer.newRevenue(laneId, revenue);
         }
     }
-}
\ No newline at end of file
+
+    ExternalInventorySystem getInventorySystem() {
+        return inventorySystem;
+    }
+
+    ExternalAccountingSystem getAccountingSystem() {
+        return accountingSystem;
+    }
+
+    Register getRegister() {
+        return register;
+    }
+
+    Printer getPrinter() {
+        return printer;
+    }
+
+    DiscountDatabase getDiscountDatabase() {
+        return discountDatabase;
+    }
+
+    SaleJournal getSaleJournal() {
+        return saleJournal;
+    }
+
+    PromotionEngine getPromotionEngine() {
+        return promotionEngine;
+    }
+}
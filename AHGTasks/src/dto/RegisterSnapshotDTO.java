@@ -0,0 +1,57 @@
+package dto;
+
+import model.Amount;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DTO representing the contents of the register at one point in time.
+ * The total is always the initial amount plus the sum of the cash drawers in the same snapshot.
+ */
+public class RegisterSnapshotDTO {
+    private final Amount initialAmount;
+    private final Map<String, Amount> drawers;
+    private final Amount total;
+
+    /**
+     * Creates a new RegisterSnapshotDTO with specified attributes.
+     *
+     * @param initialAmount The amount of cash the register started with.
+     * @param drawers The revenue in the cash drawer of each lane, by lane identifier.
+     * @param total The total amount of cash in the register.
+     */
+    public RegisterSnapshotDTO(Amount initialAmount, Map<String, Amount> drawers, Amount total) {
+        this.initialAmount = initialAmount;
+        this.drawers = Collections.unmodifiableMap(new TreeMap<>(drawers));
+        this.total = total;
+    }
+
+    /**
+     * Gets the amount of cash the register started with.
+     *
+     * @return The initial amount.
+     */
+    public Amount getInitialAmount() {
+        return initialAmount;
+    }
+
+    /**
+     * Gets the revenue in the cash drawer of each lane, ordered by lane identifier.
+     *
+     * @return The drawers, by lane identifier.
+     */
+    public Map<String, Amount> getDrawers() {
+        return drawers;
+    }
+
+    /**
+     * Gets the total amount of cash in the register.
+     *
+     * @return The total.
+     */
+    public Amount getTotal() {
+        return total;
+    }
+}
\ No newline at end of file
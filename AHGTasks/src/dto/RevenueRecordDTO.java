@@ -0,0 +1,65 @@
+package dto;
+
+import model.Amount;
+
+/**
+ * DTO representing one record of the revenue ledger: the revenue of one completed sale,
+ * and the total revenue after it.
+ */
+public class RevenueRecordDTO {
+    private final long timestamp;
+    private final String laneId;
+    private final Amount saleAmount;
+    private final Amount runningTotal;
+
+    /**
+     * Creates a new RevenueRecordDTO with specified attributes.
+     *
+     * @param timestamp The time the sale was completed, in milliseconds since the epoch, or 0 if it is not known.
+     * @param laneId The lane where the sale was completed, or an empty string if it is not known.
+     * @param saleAmount The revenue of the sale.
+     * @param runningTotal The total revenue after the sale.
+     */
+    public RevenueRecordDTO(long timestamp, String laneId, Amount saleAmount, Amount runningTotal) {
+        this.timestamp = timestamp;
+        this.laneId = laneId;
+        this.saleAmount = saleAmount;
+        this.runningTotal = runningTotal;
+    }
+
+    /**
+     * Gets the time the sale was completed.
+     *
+     * @return The time in milliseconds since the epoch, or 0 if it is not known.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the lane where the sale was completed.
+     *
+     * @return The lane identifier, or an empty string if it is not known.
+     */
+    public String getLaneId() {
+        return laneId;
+    }
+
+    /**
+     * Gets the revenue of the sale.
+     *
+     * @return The sale amount.
+     */
+    public Amount getSaleAmount() {
+        return saleAmount;
+    }
+
+    /**
+     * Gets the total revenue after the sale.
+     *
+     * @return The running total.
+     */
+    public Amount getRunningTotal() {
+        return runningTotal;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package dto;
+
+/**
+ * DTO representing one scan at a checkout lane: an item identifier and the number of units scanned,
+ * for example a whole case of bottles.
+ */
+public class ScanDTO {
+    private final String itemIdentifier;
+    private final int quantity;
+
+    /**
+     * Creates a new ScanDTO.
+     *
+     * @param itemIdentifier The identifier of the scanned item.
+     * @param quantity The number of units scanned.
+     */
+    public ScanDTO(String itemIdentifier, int quantity) {
+        this.itemIdentifier = itemIdentifier;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets the identifier of the scanned item.
+     *
+     * @return The item identifier.
+     */
+    public String getItemIdentifier() {
+        return itemIdentifier;
+    }
+
+    /**
+     * Gets the number of units scanned.
+     *
+     * @return The quantity.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package exceptions;
+
+/**
+ * Thrown when the external accounting system cannot record payments.
+ */
+public class AccountingFailureException extends Exception {
+
+    /**
+     * Creates a new exception with a message describing the failure.
+     * @param message the string which describes the failure.
+     */
+    public AccountingFailureException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new exception with a message describing the failure and the exception that caused it.
+     * @param message the string which describes the failure.
+     * @param cause the exception which caused the failure.
+     */
+    public AccountingFailureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
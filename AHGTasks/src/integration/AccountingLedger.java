@@ -0,0 +1,20 @@
+package integration;
+
+import java.util.List;
+
+import exceptions.AccountingFailureException;
+import model.Amount;
+
+/**
+ * The ledger of the external accounting system, where payments of completed sales are posted.
+ */
+public interface AccountingLedger {
+    /**
+     * Posts payments to the ledger. Either all payments in the list are recorded, or, if an
+     * exception is thrown, none of them.
+     *
+     * @param payments The payments to post, in the order the sales were completed.
+     * @throws AccountingFailureException if the ledger cannot record the payments.
+     */
+    void post(List<Amount> payments) throws AccountingFailureException;
+}
\ No newline at end of file
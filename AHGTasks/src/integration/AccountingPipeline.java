@@ -0,0 +1,233 @@
+package integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import exceptions.AccountingFailureException;
+import model.Amount;
+import utils.LogHandler;
+
+/**
+ * Posts payments to an {@link AccountingLedger} from a background thread, so that checkout lanes
+ * do not wait for a slow ledger when they conclude a sale.
+ *
+ * Payments are buffered in a bounded queue and posted in batches. A batch is posted when it is full,
+ * or when its oldest payment has waited for the maximum delay. A batch the ledger rejects is posted
+ * again after a growing back-off. If it is still rejected after the last attempt, the failure is
+ * logged and the payments are kept, see {@link #getFailedPayments()}. When the pipeline is stopped,
+ * every payment that was accepted is posted before {@link #stop()} returns.
+ */
+public class AccountingPipeline {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final AccountingLedger ledger;
+    private final BlockingQueue<Amount> payments;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private final List<Amount> failedPayments = Collections.synchronizedList(new ArrayList<>());
+    private final Object completedMonitor = new Object();
+    private final Thread poster;
+    private volatile boolean accepting = true;
+    private long submitted;
+    private long completed;
+    private long postedBatches;
+
+    /**
+     * Creates a new pipeline. The background thread is started by {@link #start()}.
+     *
+     * @param ledger The ledger to post payments to.
+     * @param capacity The number of payments that can wait to be posted before lanes have to wait.
+     * @param maxBatchSize The largest number of payments posted at once.
+     * @param maxDelayMillis The longest time a payment waits for its batch to fill up.
+     * @param maxAttempts The number of times a batch is posted before it is given up.
+     * @param retryBackoffMillis The time to wait before the first retry. It is doubled for every further retry.
+     */
+    public AccountingPipeline(AccountingLedger ledger, int capacity, int maxBatchSize, long maxDelayMillis,
+                              int maxAttempts, long retryBackoffMillis) {
+        if (maxBatchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("The batch size and the number of attempts must be positive.");
+        }
+        this.ledger = ledger;
+        this.payments = new LinkedBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.poster = new Thread(this::postPayments, "accounting-poster");
+        this.poster.setDaemon(true);
+    }
+
+    /**
+     * Starts the background thread.
+     */
+    public void start() {
+        poster.start();
+    }
+
+    /**
+     * Adds a payment to the pipeline. If the buffer is full, this method waits until there is room.
+     *
+     * @param payment The payment of a completed sale.
+     * @throws IllegalStateException if the pipeline has been stopped.
+     */
+    public void submit(Amount payment) {
+        submitLock.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new IllegalStateException("The accounting pipeline has been stopped.");
+            }
+            synchronized (completedMonitor) {
+                submitted++;
+            }
+            payments.put(payment);
+        } catch (InterruptedException e) {
+            synchronized (completedMonitor) {
+                submitted--;
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to post a payment.", e);
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until all payments that were submitted before this call have been posted or given up.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        synchronized (completedMonitor) {
+            long target = submitted;
+            while (completed < target && poster.isAlive()) {
+                completedMonitor.wait(IDLE_POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting payments, posts all payments that are still buffered and stops the background thread.
+     * Calling this method more than once has no further effect.
+     */
+    public void stop() {
+        submitLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        poster.interrupt();
+        boolean interrupted = false;
+        while (poster.isAlive()) {
+            try {
+                poster.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of batches the ledger has accepted.
+     *
+     * @return The number of posted batches.
+     */
+    public long getPostedBatches() {
+        synchronized (completedMonitor) {
+            return postedBatches;
+        }
+    }
+
+    /**
+     * Gets the payments that were given up because the ledger rejected them on every attempt.
+     *
+     * @return A copy of the failed payments, in the order they were submitted.
+     */
+    public List<Amount> getFailedPayments() {
+        synchronized (failedPayments) {
+            return new ArrayList<>(failedPayments);
+        }
+    }
+
+    private void postPayments() {
+        List<Amount> batch = new ArrayList<>(maxBatchSize);
+        while (accepting || !payments.isEmpty()) {
+            collectBatch(batch);
+            if (!batch.isEmpty()) {
+                boolean posted = postWithRetries(batch);
+                synchronized (completedMonitor) {
+                    completed += batch.size();
+                    if (posted) {
+                        postedBatches++;
+                    }
+                    completedMonitor.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<Amount> batch) {
+        try {
+            Amount first = payments.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + maxDelayNanos;
+            while (batch.size() < maxBatchSize) {
+                payments.drainTo(batch, maxBatchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxBatchSize || remaining <= 0 || !accepting) {
+                    return;
+                }
+                Amount next = payments.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            payments.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private boolean postWithRetries(List<Amount> batch) {
+        List<Amount> postedBatch = Collections.unmodifiableList(new ArrayList<>(batch));
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ledger.post(postedBatch);
+                return true;
+            } catch (AccountingFailureException | RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    LogHandler.logException(e);
+                    failedPayments.addAll(postedBatch);
+                    return false;
+                }
+            }
+            sleepQuietly(backoffMillis);
+            backoffMillis *= 2;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // A retry is never skipped; stopping the pipeline only shortens the back-off.
+        }
+    }
+}
\ No newline at end of file
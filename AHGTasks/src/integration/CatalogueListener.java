@@ -0,0 +1,16 @@
+package integration;
+
+/**
+ * Is notified when the catalogue information of an item changes, for example its price,
+ * so that copies of the information kept elsewhere can be dropped.
+ */
+public interface CatalogueListener {
+
+    /**
+     * Called after the catalogue information of an item has changed.
+     *
+     * @param identifier The identifier of the changed item.
+     * @param catalogueVersion The version of the catalogue after the change. Versions only increase.
+     */
+    void itemChanged(String identifier, long catalogueVersion);
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An inventory backend that lets concurrent lookups of the same item share one call to another backend.
+ *
+ * The first lookup of an item starts the call and registers it as in flight. Lookups of the same item that
+ * arrive while the call is in flight wait for its result instead of making their own call. When the call
+ * completes, it is removed, so the next lookup asks the backend again and never sees an old answer.
+ * A failed call fails all lookups that were waiting for it, whatever it failed with.
+ */
+public class CoalescingInventoryBackend implements InventoryBackend {
+    private final InventoryBackend backend;
+    private final ConcurrentHashMap<String, CompletableFuture<ItemDTO>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedLookups = new AtomicLong();
+
+    /**
+     * Creates a coalescing layer in front of a backend.
+     *
+     * @param backend The backend that answers the lookups.
+     */
+    public CoalescingInventoryBackend(InventoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Looks up one item, sharing the call if a lookup of the same item is already in flight.
+     *
+     * @param identifier The identifier of the item.
+     * @return The item information, or null if the item does not exist.
+     * @throws DatabaseFailureException if the backend cannot be reached.
+     */
+    @Override
+    public ItemDTO fetchItem(String identifier) throws DatabaseFailureException {
+        CompletableFuture<ItemDTO> call = new CompletableFuture<>();
+        CompletableFuture<ItemDTO> running = inFlight.putIfAbsent(identifier, call);
+        if (running != null) {
+            coalescedLookups.incrementAndGet();
+            return await(running);
+        }
+        try {
+            call.complete(backend.fetchItem(identifier));
+        } catch (Throwable e) {
+            // Every failure, errors included, is passed on, so no waiting lookup is left hanging.
+            call.completeExceptionally(e);
+        } finally {
+            inFlight.remove(identifier, call);
+        }
+        return await(call);
+    }
+
+    /**
+     * Looks up several items. Items that are already in flight are waited for, and all other items are
+     * looked up with one multi-get on the backend.
+     *
+     * @param identifiers The identifiers of the items.
+     * @return The information of every item that exists, by identifier, in the order of the identifiers.
+     * @throws DatabaseFailureException if the backend cannot be reached.
+     */
+    @Override
+    public Map<String, ItemDTO> fetchItems(Collection<String> identifiers) throws DatabaseFailureException {
+        Map<String, CompletableFuture<ItemDTO>> calls = new LinkedHashMap<>();
+        Map<String, CompletableFuture<ItemDTO>> ownCalls = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            if (calls.containsKey(identifier)) {
+                continue;
+            }
+            CompletableFuture<ItemDTO> call = new CompletableFuture<>();
+            CompletableFuture<ItemDTO> running = inFlight.putIfAbsent(identifier, call);
+            if (running != null) {
+                coalescedLookups.incrementAndGet();
+                calls.put(identifier, running);
+            } else {
+                calls.put(identifier, call);
+                ownCalls.put(identifier, call);
+            }
+        }
+
+        if (!ownCalls.isEmpty()) {
+            try {
+                Map<String, ItemDTO> fetched = backend.fetchItems(new ArrayList<>(ownCalls.keySet()));
+                for (Map.Entry<String, CompletableFuture<ItemDTO>> ownCall : ownCalls.entrySet()) {
+                    ownCall.getValue().complete(fetched.get(ownCall.getKey()));
+                }
+            } catch (Throwable e) {
+                for (CompletableFuture<ItemDTO> ownCall : ownCalls.values()) {
+                    ownCall.completeExceptionally(e);
+                }
+            } finally {
+                for (Map.Entry<String, CompletableFuture<ItemDTO>> ownCall : ownCalls.entrySet()) {
+                    inFlight.remove(ownCall.getKey(), ownCall.getValue());
+                }
+            }
+        }
+
+        Map<String, ItemDTO> items = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<ItemDTO>> call : calls.entrySet()) {
+            ItemDTO itemDTO = await(call.getValue());
+            if (itemDTO != null) {
+                items.put(call.getKey(), itemDTO);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Gets the number of lookups that shared a call that was already in flight.
+     *
+     * @return The number of coalesced lookups.
+     */
+    public long getCoalescedLookups() {
+        return coalescedLookups.get();
+    }
+
+    private static ItemDTO await(CompletableFuture<ItemDTO> call) throws DatabaseFailureException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseFailureException("Interrupted while waiting for the inventory database.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseFailureException) {
+                throw (DatabaseFailureException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
\ No newline at end of file
@@ -1,26 +1,56 @@
 package integration;
 
+import java.util.Collections;
+import java.util.List;
+
+import exceptions.AccountingFailureException;
 import model.Amount;
+import utils.LogHandler;
 
 /**
  * Represents an interface to the external accounting system.
  * Used to update the accounting system with completed payments from sales.
+ *
+ * Payments are posted to the ledger synchronously, while the sale is concluded. When the accounting
+ * system is started, payments are instead handed to an {@link AccountingPipeline}, which posts them
+ * in batches from a background thread, so that a slow ledger does not hold up the checkout lanes.
  */
-public class ExternalAccountingSystem {
-    private static ExternalAccountingSystem instance;
+public class ExternalAccountingSystem implements IntegrationService {
+    private static final int PIPELINE_CAPACITY = 4096;
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final long MAX_BATCH_DELAY_MILLIS = 50;
+    private static final int MAX_POST_ATTEMPTS = 5;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final AccountingLedger ledger;
+    private volatile AccountingPipeline pipeline;
 
     private ExternalAccountingSystem() {
+        this(ExternalAccountingSystem::printPayments);
     }
 
     /**
-     * Checks if an instance of the external accounting system is created and fetches it.
-     * Otherwise, it creates a new instance.
+     * Creates an accounting system that posts payments to the specified ledger instead of printing them.
+     *
+     * @param ledger The ledger to post payments to.
+     */
+    public ExternalAccountingSystem(AccountingLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Holds the shared instance. The JVM creates it, exactly once, the first time the holder is used,
+     * and publishes it safely to all threads without any further locking.
+     */
+    private static class InstanceHolder {
+        private static final ExternalAccountingSystem INSTANCE = new ExternalAccountingSystem();
+    }
+
+    /**
+     * Gets the shared instance of the external accounting system, creating it the first time it is needed.
      */
     public static ExternalAccountingSystem getInstance() {
-        if (instance == null) {
-            instance = new ExternalAccountingSystem();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
 
     /**
@@ -29,6 +59,66 @@ public class ExternalAccountingSystem {
      * @param payment The total amount paid for the sale.
      */
     public void updateAccountingSystem(Amount payment) {
-        System.out.println("Accounting system updated with payment: " + payment);
+        AccountingPipeline currentPipeline = pipeline;
+        if (currentPipeline != null && payment != null) {
+            try {
+                currentPipeline.submit(payment);
+                return;
+            } catch (IllegalStateException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            }
+        }
+        try {
+            ledger.post(Collections.singletonList(payment));
+        } catch (AccountingFailureException e) {
+            LogHandler.logException(e);
+        }
+    }
+
+    /**
+     * Starts posting payments in batches from a background thread. Payments that are sent
+     * after this call are buffered and this method returns as soon as they are accepted.
+     */
+    @Override
+    public synchronized void start() {
+        if (pipeline == null) {
+            AccountingPipeline newPipeline = new AccountingPipeline(ledger, PIPELINE_CAPACITY, MAX_BATCH_SIZE,
+                MAX_BATCH_DELAY_MILLIS, MAX_POST_ATTEMPTS, RETRY_BACKOFF_MILLIS);
+            newPipeline.start();
+            pipeline = newPipeline;
+        }
+    }
+
+    /**
+     * Posts all buffered payments and goes back to posting payments synchronously.
+     */
+    @Override
+    public synchronized void stop() {
+        AccountingPipeline currentPipeline = pipeline;
+        if (currentPipeline != null) {
+            pipeline = null;
+            currentPipeline.stop();
+        }
+    }
+
+    /**
+     * Waits until all payments that have been buffered so far are posted.
+     * Returns at once if payments are posted synchronously.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        AccountingPipeline currentPipeline = pipeline;
+        if (currentPipeline != null) {
+            currentPipeline.flush();
+        }
+    }
+
+    private static void printPayments(List<Amount> payments) {
+        for (Amount payment : payments) {
+            System.out.println("Accounting system updated with payment: " + payment);
+        }
     }
 }
\ No newline at end of file
@@ -5,40 +5,75 @@ import dto.SaleDTO;
 import exceptions.DatabaseFailureException;
 import exceptions.ItemNotFoundException;
 import model.Amount;
-import model.Item;
 import model.VAT;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Simulates communication with an external inventory system.
  * Handles item lookup and updates item stock after a completed sale.
+ * The inventory is shared by all checkout lanes and is kept in a concurrent {@link InventoryStore},
+ * which updates the stock atomically. Item information is looked up through an {@link InventoryBackend},
+ * which is the store itself unless another backend is given.
  */
-public class ExternalInventorySystem {
+public class ExternalInventorySystem implements IntegrationService {
 
-    private static ExternalInventorySystem instance;
-    private Map<String, Item> inventory = new HashMap<>();
+    private static final String DATABASE_FAILURE_IDENTIFIER = "DBFAIL";
+
+    private final InventoryStore inventory;
+    private final InventoryBackend backend;
 
     /**
      * Creates and initializes a simulated inventory database with predefined items.
      */
     public ExternalInventorySystem() {
-        inventory.put("1", new Item(new ItemDTO("1", "BigWheel Oatmeal 500 ml", new Amount(29.90), VAT.VAT_6, 20, "BigWheel Oatmeal"), 20));
-        inventory.put("2", new Item(new ItemDTO("2", "YouGoGo Blueberry 240 g", new Amount(14.90), VAT.VAT_6, 20, "YouGoGo Blueberry"), 20));
-        inventory.put("3", new Item(new ItemDTO("3", "Just a normal bread", new Amount(49.90), VAT.VAT_12, 20, "Luxury Bread"), 20));
-        inventory.put("4", new Item(new ItemDTO("4", "It's a golden one", new Amount(149.90), VAT.VAT_25, 20, "Golden Apple"), 20));
+        this(new InventoryStore(), null);
+        inventory.addItem(new ItemDTO("1", "BigWheel Oatmeal 500 ml", new Amount(29.90), VAT.VAT_6, 20, "BigWheel Oatmeal"));
+        inventory.addItem(new ItemDTO("2", "YouGoGo Blueberry 240 g", new Amount(14.90), VAT.VAT_6, 20, "YouGoGo Blueberry"));
+        inventory.addItem(new ItemDTO("3", "Just a normal bread", new Amount(49.90), VAT.VAT_12, 20, "Luxury Bread"));
+        inventory.addItem(new ItemDTO("4", "It's a golden one", new Amount(149.90), VAT.VAT_25, 20, "Golden Apple"));
     }
 
     /**
-     * Checks if an instance of the external inventory system is created and fetches it.
-     * Otherwise, it creates a new instance.
+     * Creates a simulated inventory database containing the specified items.
+     * The quantity of each ItemDTO is used as the item's stock.
+     *
+     * @param items The items the inventory should contain.
      */
-    public static ExternalInventorySystem getInstance() {
-        if (instance == null) {
-            instance = new ExternalInventorySystem();
+    public ExternalInventorySystem(Collection<ItemDTO> items) {
+        this(new InventoryStore(), null);
+        for (ItemDTO itemDTO : items) {
+            inventory.addItem(itemDTO);
         }
-        return instance;
+    }
+
+    /**
+     * Creates an inventory system that keeps the stock in the specified store and looks up item
+     * information through the specified backend, for example a {@link CoalescingInventoryBackend}.
+     *
+     * @param inventory The store holding the items and their stock.
+     * @param backend The backend to look up item information in, or null to look up in the store.
+     */
+    public ExternalInventorySystem(InventoryStore inventory, InventoryBackend backend) {
+        this.inventory = inventory;
+        this.backend = backend != null ? backend : inventory;
+    }
+
+    /**
+     * Holds the shared instance. The JVM creates it, exactly once, the first time the holder is used,
+     * and publishes it safely to all threads without any further locking.
+     */
+    private static class InstanceHolder {
+        private static final ExternalInventorySystem INSTANCE = new ExternalInventorySystem();
+    }
+
+    /**
+     * Gets the shared instance of the external inventory system, creating it the first time it is needed.
+     */
+    public static ExternalInventorySystem getInstance() {
+        return InstanceHolder.INSTANCE;
     }
 
     /**
@@ -48,7 +83,7 @@ public class ExternalInventorySystem {
      * @return True if the item exists, false otherwise.
      */
     public boolean checkIfItemIdentifierValid(String identifier) {
-        return inventory.containsKey(identifier);
+        return inventory.containsItem(identifier);
     }
 
     /**
@@ -61,29 +96,68 @@ public class ExternalInventorySystem {
      * this is only thrown when a specific item ID is checked.
      */
     public ItemDTO retrieveItemInformation(String identifier) throws ItemNotFoundException, DatabaseFailureException {
-        if ("DBFAIL".equalsIgnoreCase(identifier)) {
-            throw new DatabaseFailureException("Failed to connect to the inventory database.");
-        }
+        checkDatabaseConnection(identifier);
 
-        Item item = inventory.get(identifier);
-        if (item == null) {
+        ItemDTO itemDTO = backend.fetchItem(identifier);
+        if (itemDTO == null) {
             throw new ItemNotFoundException(identifier);
         }
 
-        return item.getDTO();
+        return itemDTO;
+    }
+
+    /**
+     * Retrieves the information of several items with one call to the backend.
+     *
+     * @param identifiers The identifiers of the items to retrieve.
+     * @return The information of every item, by identifier, in the order of the identifiers.
+     * @throws ItemNotFoundException occurs when one of the item IDs is not found in the inventory.
+     * @throws DatabaseFailureException is thrown when a database connection issue occurs.
+     */
+    public Map<String, ItemDTO> retrieveItemInformation(Collection<String> identifiers)
+            throws ItemNotFoundException, DatabaseFailureException {
+        for (String identifier : identifiers) {
+            checkDatabaseConnection(identifier);
+        }
+
+        Map<String, ItemDTO> fetched = backend.fetchItems(identifiers);
+        Map<String, ItemDTO> items = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            ItemDTO itemDTO = fetched.get(identifier);
+            if (itemDTO == null) {
+                throw new ItemNotFoundException(identifier);
+            }
+            items.put(identifier, itemDTO);
+        }
+        return items;
+    }
+
+    private static void checkDatabaseConnection(String identifier) throws DatabaseFailureException {
+        if (DATABASE_FAILURE_IDENTIFIER.equalsIgnoreCase(identifier)) {
+            throw new DatabaseFailureException("Failed to connect to the inventory database.");
+        }
     }
 
     /**
      * Updates the inventory after a completed sale by reducing stock quantities.
+     * All items of the sale are updated as one atomic change.
      *
      * @param saleDTO The sale information containing sold items and their quantities.
+     * @throws IllegalArgumentException if an item in the sale does not exist in the inventory.
      */
     public void updateInventory(SaleDTO saleDTO) {
-        for (ItemDTO soldItem : saleDTO.getItems()) {
-            Item inventoryItem = inventory.get(soldItem.getItemIdentifier());
-            int updatedQuantity = inventoryItem.getQuantity() - soldItem.getQuantity();
-            inventoryItem.setQuantity(updatedQuantity);
-        }
-            System.out.println("Inventory system updated");
+        inventory.commitSale(saleDTO);
+        System.out.println("Inventory system updated");
+    }
+
+    /**
+     * Removes quantities that are known to be sold from the stock, for example when sales are replayed
+     * from the sale journal at startup. All items are updated as one atomic change.
+     *
+     * @param soldQuantities The quantity to remove for each item, by item identifier.
+     * @throws IllegalArgumentException if an item does not exist in the inventory.
+     */
+    public void removeSoldQuantities(Map<String, Integer> soldQuantities) {
+        inventory.commitSoldQuantities(soldQuantities);
     }
 }
\ No newline at end of file
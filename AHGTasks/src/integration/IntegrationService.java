@@ -0,0 +1,20 @@
+package integration;
+
+/**
+ * An external system with a lifecycle that is managed by the {@link ServiceRegistry}.
+ *
+ * Services that need no preparation or clean-up can keep the default implementations, which do nothing.
+ */
+public interface IntegrationService {
+    /**
+     * Prepares the service for use, for example by opening connections or starting background threads.
+     */
+    default void start() {
+    }
+
+    /**
+     * Stops the service. Work that the service has accepted must be finished before this method returns.
+     */
+    default void stop() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The database that item information is looked up in. A lookup may be a round trip to another system,
+ * so backends that can answer several identifiers in one round trip should override {@link #fetchItems}.
+ */
+public interface InventoryBackend {
+
+    /**
+     * Looks up the information of one item.
+     *
+     * @param identifier The identifier of the item.
+     * @return The item information, or null if the item does not exist.
+     * @throws DatabaseFailureException if the backend cannot be reached.
+     */
+    ItemDTO fetchItem(String identifier) throws DatabaseFailureException;
+
+    /**
+     * Looks up the information of several items. By default every item is looked up on its own.
+     *
+     * @param identifiers The identifiers of the items.
+     * @return The information of every item that exists, by identifier. Items that do not exist are left out.
+     * @throws DatabaseFailureException if the backend cannot be reached.
+     */
+    default Map<String, ItemDTO> fetchItems(Collection<String> identifiers) throws DatabaseFailureException {
+        Map<String, ItemDTO> items = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            ItemDTO itemDTO = fetchItem(identifier);
+            if (itemDTO != null) {
+                items.put(identifier, itemDTO);
+            }
+        }
+        return items;
+    }
+}
\ No newline at end of file
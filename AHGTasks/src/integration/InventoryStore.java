@@ -0,0 +1,263 @@
+package integration;
+
+import dto.ItemDTO;
+import dto.SaleDTO;
+import model.Amount;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent store of item information and stock levels, shared by all checkout lanes.
+ *
+ * Stock changes are made atomically under one of a fixed number of lock stripes, chosen by the
+ * item identifier, so updates of different items rarely wait for each other. A whole sale is committed
+ * under the stripes of all its items at once, so no other stock change is made in the middle of it.
+ * Item information and stock are read without locking, so a reader can see the new stock of some
+ * items of a sale that is being committed and the old stock of others.
+ * The store is also the {@link InventoryBackend} used when no other backend is configured.
+ * Every change of an item's catalogue information increases the catalogue version and is passed on
+ * to the registered {@link CatalogueListener}s.
+ */
+public class InventoryStore implements InventoryBackend {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Map<String, ItemDTO> catalogue = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> stock = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final List<CatalogueListener> catalogueListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong catalogueVersion = new AtomicLong();
+
+    /**
+     * Creates an empty store with the default number of lock stripes.
+     */
+    public InventoryStore() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an empty store with the specified number of lock stripes.
+     *
+     * @param numberOfStripes The number of locks that stock updates are spread over.
+     */
+    public InventoryStore(int numberOfStripes) {
+        if (numberOfStripes <= 0) {
+            throw new IllegalArgumentException("The number of stripes must be positive.");
+        }
+        stripes = new ReentrantLock[numberOfStripes];
+        for (int i = 0; i < numberOfStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Adds an item to the store, or replaces it if it already exists.
+     * The quantity of the ItemDTO is used as the item's stock.
+     *
+     * @param itemDTO The item to add.
+     */
+    public void addItem(ItemDTO itemDTO) {
+        String identifier = itemDTO.getItemIdentifier();
+        ReentrantLock stripe = stripeFor(identifier);
+        boolean replaced;
+        stripe.lock();
+        try {
+            replaced = catalogue.put(identifier, itemDTO) != null;
+            // An existing counter is updated rather than replaced, so that no concurrent change is lost.
+            AtomicInteger itemStock = stock.get(identifier);
+            if (itemStock == null) {
+                stock.put(identifier, new AtomicInteger(itemDTO.getQuantity()));
+            } else {
+                itemStock.set(itemDTO.getQuantity());
+            }
+        } finally {
+            stripe.unlock();
+        }
+        if (replaced) {
+            catalogueChanged(identifier);
+        }
+    }
+
+    /**
+     * Changes the price of an item. The stock of the item is not changed.
+     *
+     * @param identifier The identifier of the item.
+     * @param price The new price, excluding VAT.
+     * @throws IllegalArgumentException if the item does not exist.
+     */
+    public void updatePrice(String identifier, Amount price) {
+        stockOf(identifier);
+        ReentrantLock stripe = stripeFor(identifier);
+        stripe.lock();
+        try {
+            ItemDTO itemDTO = catalogue.get(identifier);
+            catalogue.put(identifier, new ItemDTO(identifier, itemDTO.getItemDescription(), price, itemDTO.getVatRate(),
+                                                  itemDTO.getQuantity(), itemDTO.getName()));
+        } finally {
+            stripe.unlock();
+        }
+        catalogueChanged(identifier);
+    }
+
+    /**
+     * Registers a listener that is notified every time the catalogue information of an item changes.
+     *
+     * @param listener The listener to notify.
+     */
+    public void addCatalogueListener(CatalogueListener listener) {
+        catalogueListeners.add(listener);
+    }
+
+    /**
+     * Gets the current catalogue version, which increases with every change of an item's catalogue information.
+     *
+     * @return The catalogue version.
+     */
+    public long getCatalogueVersion() {
+        return catalogueVersion.get();
+    }
+
+    /**
+     * Checks if the store contains an item.
+     *
+     * @param identifier The identifier of the item.
+     * @return True if the item exists, false otherwise.
+     */
+    public boolean containsItem(String identifier) {
+        return identifier != null && catalogue.containsKey(identifier);
+    }
+
+    /**
+     * Gets the information of an item, with its current stock as quantity.
+     *
+     * @param identifier The identifier of the item.
+     * @return The item information, or null if the item does not exist.
+     */
+    public ItemDTO getItem(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        ItemDTO itemDTO = catalogue.get(identifier);
+        AtomicInteger itemStock = stock.get(identifier);
+        if (itemDTO == null || itemStock == null) {
+            return null;
+        }
+        return new ItemDTO(itemDTO.getItemIdentifier(), itemDTO.getItemDescription(), itemDTO.getPrice(),
+                           itemDTO.getVatRate(), itemStock.get(), itemDTO.getName());
+    }
+
+    /**
+     * Looks up the information of an item in the store, with its current stock as quantity.
+     *
+     * @param identifier The identifier of the item.
+     * @return The item information, or null if the item does not exist.
+     */
+    @Override
+    public ItemDTO fetchItem(String identifier) {
+        return getItem(identifier);
+    }
+
+    /**
+     * Gets the current stock of an item.
+     *
+     * @param identifier The identifier of the item.
+     * @return The number of units in stock.
+     * @throws IllegalArgumentException if the item does not exist.
+     */
+    public int getStock(String identifier) {
+        return stockOf(identifier).get();
+    }
+
+    /**
+     * Atomically removes units of an item from the stock.
+     *
+     * @param identifier The identifier of the item.
+     * @param quantity The number of units to remove.
+     * @return The stock after the removal.
+     * @throws IllegalArgumentException if the item does not exist.
+     */
+    public int decrementStock(String identifier, int quantity) {
+        ReentrantLock stripe = stripeFor(identifier);
+        stripe.lock();
+        try {
+            return stockOf(identifier).addAndGet(-quantity);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Removes the sold quantities of all items in a sale from the stock, as one atomic change.
+     * Either all items are updated, or, if any item does not exist, none of them.
+     *
+     * @param saleDTO The sale information containing sold items and their quantities.
+     * @throws IllegalArgumentException if an item in the sale does not exist.
+     */
+    public void commitSale(SaleDTO saleDTO) {
+        Map<String, Integer> soldQuantities = new LinkedHashMap<>();
+        for (ItemDTO soldItem : saleDTO.getItems()) {
+            soldQuantities.merge(soldItem.getItemIdentifier(), soldItem.getQuantity(), Integer::sum);
+        }
+        commitSoldQuantities(soldQuantities);
+    }
+
+    /**
+     * Removes sold quantities of several items from the stock, as one atomic change.
+     * Either all items are updated, or, if any item does not exist, none of them.
+     *
+     * @param soldQuantities The quantity to remove for each item, by item identifier.
+     * @throws IllegalArgumentException if an item does not exist.
+     */
+    public void commitSoldQuantities(Map<String, Integer> soldQuantities) {
+        int[] stripeIndexes = soldQuantities.keySet().stream().mapToInt(this::stripeIndexFor).distinct().toArray();
+        Arrays.sort(stripeIndexes);
+        int locked = 0;
+        try {
+            for (int stripeIndex : stripeIndexes) {
+                stripes[stripeIndex].lock();
+                locked++;
+            }
+            for (String identifier : soldQuantities.keySet()) {
+                stockOf(identifier);
+            }
+            for (Map.Entry<String, Integer> soldQuantity : soldQuantities.entrySet()) {
+                stock.get(soldQuantity.getKey()).addAndGet(-soldQuantity.getValue());
+            }
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[stripeIndexes[i]].unlock();
+            }
+        }
+    }
+
+    private void catalogueChanged(String identifier) {
+        long version = catalogueVersion.incrementAndGet();
+        for (CatalogueListener listener : catalogueListeners) {
+            listener.itemChanged(identifier, version);
+        }
+    }
+
+    private AtomicInteger stockOf(String identifier) {
+        AtomicInteger itemStock = identifier == null ? null : stock.get(identifier);
+        if (itemStock == null) {
+            throw new IllegalArgumentException("Item with identifier " + identifier + " does not exist in the inventory.");
+        }
+        return itemStock;
+    }
+
+    private ReentrantLock stripeFor(String identifier) {
+        return stripes[stripeIndexFor(identifier)];
+    }
+
+    private int stripeIndexFor(String identifier) {
+        return Math.floorMod(Objects.hashCode(identifier), stripes.length);
+    }
+}
\ No newline at end of file
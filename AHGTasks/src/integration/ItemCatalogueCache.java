@@ -0,0 +1,219 @@
+package integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-through cache of item information in front of a slower {@link InventoryBackend}.
+ *
+ * Items are kept in least-recently-used order, and the least recently used items are evicted when the
+ * cache holds more than its maximum number of items. Unknown items are not cached. The cache is kept in
+ * step with price changes by registering it as a {@link CatalogueListener} on the {@link InventoryStore}:
+ *
+ * <pre>
+ * ItemCatalogueCache cache = new ItemCatalogueCache(backend, 10_000);
+ * store.addCatalogueListener(cache);
+ * ExternalInventorySystem inventorySystem = new ExternalInventorySystem(store, cache);
+ * </pre>
+ *
+ * A changed item is removed. An item that was being loaded while the catalogue changed is returned to its
+ * caller but not cached, so an old price is never stored after the change. The quantity of a cached item
+ * is the stock when it was loaded; sales only use the catalogue information of a looked-up item.
+ */
+public class ItemCatalogueCache implements InventoryBackend, CatalogueListener {
+    private final InventoryBackend backend;
+    private final int maxEntries;
+    private final LinkedHashMap<String, ItemDTO> items;
+    private long catalogueVersion;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates a cache in front of a backend.
+     *
+     * @param backend The backend that items are loaded from on a miss.
+     * @param maxEntries The maximum number of items kept in the cache.
+     * @throws IllegalArgumentException if the maximum is not positive.
+     */
+    public ItemCatalogueCache(InventoryBackend backend, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The cache must hold at least one item.");
+        }
+        this.backend = backend;
+        this.maxEntries = maxEntries;
+        this.items = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets an item from the cache, or loads it from the backend on a miss.
+     *
+     * @param identifier The identifier of the item.
+     * @return The item information, or null if the item does not exist.
+     * @throws DatabaseFailureException if the backend cannot be reached.
+     */
+    @Override
+    public ItemDTO fetchItem(String identifier) throws DatabaseFailureException {
+        long version;
+        synchronized (items) {
+            ItemDTO cached = items.get(identifier);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            version = catalogueVersion;
+        }
+        ItemDTO itemDTO = backend.fetchItem(identifier);
+        if (itemDTO != null) {
+            store(identifier, itemDTO, version);
+        }
+        return itemDTO;
+    }
+
+    /**
+     * Gets several items, loading all misses from the backend with one multi-get.
+     *
+     * @param identifiers The identifiers of the items.
+     * @return The information of every item that exists, by identifier.
+     * @throws DatabaseFailureException if the backend cannot be reached.
+     */
+    @Override
+    public Map<String, ItemDTO> fetchItems(Collection<String> identifiers) throws DatabaseFailureException {
+        Map<String, ItemDTO> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        long version;
+        synchronized (items) {
+            for (String identifier : identifiers) {
+                ItemDTO cached = items.get(identifier);
+                if (cached != null) {
+                    hits++;
+                    found.put(identifier, cached);
+                } else {
+                    misses++;
+                    missing.add(identifier);
+                }
+            }
+            version = catalogueVersion;
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<String, ItemDTO> loaded = backend.fetchItems(missing);
+        for (Map.Entry<String, ItemDTO> item : loaded.entrySet()) {
+            store(item.getKey(), item.getValue(), version);
+        }
+        Map<String, ItemDTO> result = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            ItemDTO itemDTO = found.containsKey(identifier) ? found.get(identifier) : loaded.get(identifier);
+            if (itemDTO != null) {
+                result.put(identifier, itemDTO);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes a changed item from the cache.
+     *
+     * @param identifier The identifier of the changed item.
+     * @param catalogueVersion The version of the catalogue after the change.
+     */
+    @Override
+    public void itemChanged(String identifier, long catalogueVersion) {
+        synchronized (items) {
+            this.catalogueVersion = Math.max(this.catalogueVersion, catalogueVersion);
+            if (items.remove(identifier) != null) {
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Removes all items from the cache. The statistics are kept.
+     */
+    public void clear() {
+        synchronized (items) {
+            items.clear();
+        }
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        synchronized (items) {
+            return hits;
+        }
+    }
+
+    /**
+     * Gets the number of lookups that had to ask the backend.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        synchronized (items) {
+            return misses;
+        }
+    }
+
+    /**
+     * Gets the number of items removed to keep the cache within its size.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        synchronized (items) {
+            return evictions;
+        }
+    }
+
+    /**
+     * Gets the number of cached items removed because their catalogue information changed.
+     *
+     * @return The number of invalidations.
+     */
+    public long getInvalidationCount() {
+        synchronized (items) {
+            return invalidations;
+        }
+    }
+
+    /**
+     * Gets the number of items in the cache.
+     *
+     * @return The number of cached items.
+     */
+    public int size() {
+        synchronized (items) {
+            return items.size();
+        }
+    }
+
+    private void store(String identifier, ItemDTO itemDTO, long loadedAtVersion) {
+        synchronized (items) {
+            if (catalogueVersion != loadedAtVersion) {
+                return;
+            }
+            items.put(identifier, itemDTO);
+            Iterator<ItemDTO> leastRecentlyUsed = items.values().iterator();
+            while (items.size() > maxEntries) {
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                evictions++;
+            }
+        }
+    }
+}
\ No newline at end of file
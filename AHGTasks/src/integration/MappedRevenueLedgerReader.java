@@ -0,0 +1,151 @@
+package integration;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import dto.RevenueRecordDTO;
+import model.Amount;
+import model.Money;
+
+/**
+ * Reads a {@link RevenueLedger} for analytics by mapping it into memory. Records are read straight from
+ * the mapped file, by index, without reading the records before them. Ledgers larger than 2 GB are mapped
+ * in several parts.
+ *
+ * The reader sees the records that were complete when it was created. Every record is checked against its
+ * CRC when it is read; damaged records are skipped by the sums and reported by {@link #isIntact(long)}.
+ */
+public class MappedRevenueLedgerReader {
+    private static final int RECORDS_PER_SEGMENT = Integer.MAX_VALUE / RevenueLedger.RECORD_SIZE;
+
+    private final MappedByteBuffer[] segments;
+    private final long recordCount;
+
+    /**
+     * Maps a ledger file into memory.
+     *
+     * @param file The ledger file.
+     * @throws IOException if the file cannot be read or is not a revenue ledger.
+     */
+    public MappedRevenueLedgerReader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            RevenueLedger.checkHeader(channel, file);
+            recordCount = (channel.size() - RevenueLedger.HEADER_SIZE) / RevenueLedger.RECORD_SIZE;
+            int segmentCount = (int) ((recordCount + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            segments = new MappedByteBuffer[segmentCount];
+            for (int segment = 0; segment < segmentCount; segment++) {
+                long firstRecord = (long) segment * RECORDS_PER_SEGMENT;
+                long records = Math.min(RECORDS_PER_SEGMENT, recordCount - firstRecord);
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                RevenueLedger.HEADER_SIZE + firstRecord * RevenueLedger.RECORD_SIZE,
+                                                records * RevenueLedger.RECORD_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of records in the ledger.
+     *
+     * @return The number of records.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Checks if a record matches its checksum.
+     *
+     * @param index The index of the record, starting at 0.
+     * @return True if the record is intact.
+     * @throws IndexOutOfBoundsException if there is no record with the index.
+     */
+    public boolean isIntact(long index) {
+        return isIntact(segmentOf(index), offsetOf(index), new CRC32());
+    }
+
+    /**
+     * Reads one record.
+     *
+     * @param index The index of the record, starting at 0.
+     * @return The record.
+     * @throws IndexOutOfBoundsException if there is no record with the index.
+     * @throws IllegalStateException if the record is damaged.
+     */
+    public RevenueRecordDTO getRecord(long index) {
+        ByteBuffer segment = segmentOf(index);
+        int offset = offsetOf(index);
+        if (!isIntact(segment, offset, new CRC32())) {
+            throw new IllegalStateException("Revenue ledger record " + index + " is damaged.");
+        }
+        return new RevenueRecordDTO(segment.getLong(offset), RevenueLedger.decodeLaneId(segment, offset + 24),
+                                    Amount.ofMinorUnits(segment.getLong(offset + 8)),
+                                    Amount.ofMinorUnits(segment.getLong(offset + 16)));
+    }
+
+    /**
+     * Sums the sale amounts of all intact records with a timestamp in a period.
+     *
+     * @param fromMillis The start of the period, inclusive, in milliseconds since the epoch.
+     * @param toMillis The end of the period, exclusive, in milliseconds since the epoch.
+     * @return The revenue in the period.
+     */
+    public Amount getRevenueBetween(long fromMillis, long toMillis) {
+        CRC32 checksum = new CRC32();
+        long revenue = 0;
+        for (long index = 0; index < recordCount; index++) {
+            ByteBuffer segment = segmentOf(index);
+            int offset = offsetOf(index);
+            long timestamp = segment.getLong(offset);
+            if (timestamp >= fromMillis && timestamp < toMillis && isIntact(segment, offset, checksum)) {
+                revenue = Money.add(revenue, segment.getLong(offset + 8));
+            }
+        }
+        return Amount.ofMinorUnits(revenue);
+    }
+
+    /**
+     * Sums the sale amounts of all intact records by lane.
+     *
+     * @return The revenue of every lane, by lane identifier, sorted by lane identifier.
+     */
+    public Map<String, Amount> getRevenueByLane() {
+        CRC32 checksum = new CRC32();
+        Map<String, Long> revenueByLane = new TreeMap<>();
+        for (long index = 0; index < recordCount; index++) {
+            ByteBuffer segment = segmentOf(index);
+            int offset = offsetOf(index);
+            if (isIntact(segment, offset, checksum)) {
+                revenueByLane.merge(RevenueLedger.decodeLaneId(segment, offset + 24), segment.getLong(offset + 8), Money::add);
+            }
+        }
+        Map<String, Amount> revenue = new TreeMap<>();
+        for (Map.Entry<String, Long> laneRevenue : revenueByLane.entrySet()) {
+            revenue.put(laneRevenue.getKey(), Amount.ofMinorUnits(laneRevenue.getValue()));
+        }
+        return revenue;
+    }
+
+    private ByteBuffer segmentOf(long index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("There is no revenue ledger record " + index + ".");
+        }
+        return segments[(int) (index / RECORDS_PER_SEGMENT)];
+    }
+
+    private static int offsetOf(long index) {
+        return (int) (index % RECORDS_PER_SEGMENT) * RevenueLedger.RECORD_SIZE;
+    }
+
+    private static boolean isIntact(ByteBuffer segment, int offset, CRC32 checksum) {
+        checksum.reset();
+        checksum.update(segment.slice(offset, RevenueLedger.CHECKED_BYTES));
+        return (int) checksum.getValue() == segment.getInt(offset + RevenueLedger.CHECKED_BYTES);
+    }
+}
\ No newline at end of file
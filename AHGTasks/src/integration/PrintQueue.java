@@ -0,0 +1,158 @@
+package integration;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import dto.ReceiptDTO;
+import utils.LogHandler;
+
+/**
+ * A bounded queue of receipts that are printed by one background writer thread.
+ *
+ * The writer takes all receipts that are waiting at once, formats them into one buffer and writes them
+ * to <code>System.out</code> with a single write and flush. When the queue is full, checkout lanes
+ * that submit receipts wait until there is room, so a slow printer slows the lanes down instead of
+ * filling the memory. When the queue is stopped, every receipt that was accepted is printed before
+ * {@link #stop()} returns.
+ */
+public class PrintQueue {
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<ReceiptDTO> receipts;
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private final ReceiptRenderer renderer = new ReceiptRenderer();
+    private final StringBuilder batchBuffer = new StringBuilder();
+    private final Object printedMonitor = new Object();
+    private final Thread writer;
+    private volatile boolean accepting = true;
+    private long submitted;
+    private long printed;
+
+    /**
+     * Creates a new print queue. The writer thread is started by {@link #start()}.
+     *
+     * @param capacity The number of receipts that can wait to be printed before lanes have to wait.
+     */
+    public PrintQueue(int capacity) {
+        this.receipts = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::writeReceipts, "receipt-printer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Adds a receipt to the queue. If the queue is full, this method waits until there is room.
+     *
+     * @param receiptDTO The receipt to print.
+     * @throws IllegalStateException if the queue has been stopped.
+     */
+    public void submit(ReceiptDTO receiptDTO) {
+        submitLock.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new IllegalStateException("The print queue has been stopped.");
+            }
+            synchronized (printedMonitor) {
+                submitted++;
+            }
+            receipts.put(receiptDTO);
+        } catch (InterruptedException e) {
+            synchronized (printedMonitor) {
+                submitted--;
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to print a receipt.", e);
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until all receipts that were submitted before this call have been printed.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        synchronized (printedMonitor) {
+            long target = submitted;
+            while (printed < target && writer.isAlive()) {
+                printedMonitor.wait(IDLE_POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting receipts, prints all receipts that are still in the queue and stops the writer thread.
+     * Calling this method more than once has no further effect.
+     */
+    public void stop() {
+        submitLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        writer.interrupt();
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeReceipts() {
+        List<ReceiptDTO> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (accepting || !receipts.isEmpty()) {
+            try {
+                ReceiptDTO first = receipts.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                receipts.drainTo(batch, MAX_BATCH_SIZE - 1);
+                printBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // The writer only stops once the queue has been stopped and drained.
+            }
+        }
+    }
+
+    private void printBatch(List<ReceiptDTO> batch) {
+        try {
+            batchBuffer.setLength(0);
+            for (ReceiptDTO receiptDTO : batch) {
+                renderer.appendTo(batchBuffer, receiptDTO);
+            }
+            PrintStream out = System.out;
+            out.print(batchBuffer);
+            out.flush();
+        } catch (RuntimeException e) {
+            LogHandler.logException(e);
+        } finally {
+            synchronized (printedMonitor) {
+                printed += batch.size();
+                printedMonitor.notifyAll();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,71 +1,100 @@
 package integration;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
-import dto.ItemDTO;
 import dto.ReceiptDTO;
-import model.Amount;
 
 /**
  * Simulates a printer that prints a receipt after a sale is completed.
+ *
+ * Receipts are printed synchronously, while the sale is concluded. When the printer is started,
+ * receipts are instead handed to a {@link PrintQueue} and printed in batches by a background thread,
+ * so that slow output does not hold up the checkout lanes.
  */
-public class Printer {
+public class Printer implements IntegrationService {
+    private static final int PRINT_QUEUE_CAPACITY = 1024;
 
-    private static Printer instance;
+    private final ReceiptRenderer renderer = new ReceiptRenderer();
+    private volatile PrintQueue printQueue;
 
     private Printer() {
     }
 
     /**
-     * Checks if an instance of a printer is created and fetches it.
-     * Otherwise, it creates a new instance.
+     * Holds the shared instance. The JVM creates it, exactly once, the first time the holder is used,
+     * and publishes it safely to all threads without any further locking.
+     */
+    private static class InstanceHolder {
+        private static final Printer INSTANCE = new Printer();
+    }
+
+    /**
+     * Gets the shared instance of the printer, creating it the first time it is needed.
      */
     public static Printer getInstance() {
-        if (instance == null) {
-            instance = new Printer();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
     
+    /**
+     * Starts printing receipts in the background. Receipts that are printed after this call
+     * are queued and this method returns as soon as they are accepted by the queue.
+     */
+    @Override
+    public synchronized void start() {
+        if (printQueue == null) {
+            PrintQueue queue = new PrintQueue(PRINT_QUEUE_CAPACITY);
+            queue.start();
+            printQueue = queue;
+        }
+    }
+
+    /**
+     * Prints all queued receipts and goes back to printing receipts synchronously.
+     */
+    @Override
+    public synchronized void stop() {
+        PrintQueue queue = printQueue;
+        if (queue != null) {
+            printQueue = null;
+            queue.stop();
+        }
+    }
+
+    /**
+     * Waits until all receipts that have been queued so far are printed.
+     * Returns at once if the printer prints synchronously.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        PrintQueue queue = printQueue;
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
     /**
      * Prints a formatted receipt using the provided receipt information.
+     * Receipts from different checkout lanes are printed one at a time, so their lines are not mixed.
      *
      * @param receiptDTO The receipt information to be printed.
      */
     public void printReceipt(ReceiptDTO receiptDTO) {
+        PrintQueue queue = printQueue;
+        if (queue != null) {
+            try {
+                queue.submit(receiptDTO);
+                return;
+            } catch (IllegalStateException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            }
+        }
         printReceiptDetails(receiptDTO);
     }
 
     private void printReceiptDetails(ReceiptDTO receiptDTO) {
-        System.out.println("------------------------ Begin receipt ------------------------");
-        
-        LocalDateTime dateAndTime = receiptDTO.getDateAndTime();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        String formattedDateAndTime = dateAndTime.format(formatter);
-        
-        System.out.println("Time of Sale: " + formattedDateAndTime);
-        System.out.println();
-
-        for (ItemDTO itemDTO : receiptDTO.getSoldItems()) {
-                String name = itemDTO.getName();
-                int quantity = itemDTO.getQuantity();
-                Amount price = itemDTO.getPrice();
-                Amount totalItemPrice = price.multiply(quantity);  
-
-                System.out.printf("%s %d x %.2f %.2f SEK%n", name, quantity, price.getAmount(), totalItemPrice.getAmount());
+        synchronized (renderer) {
+            System.out.print(renderer.render(receiptDTO));
         }
-
-        System.out.println();
-        System.out.println("Total: " + receiptDTO.getTotalPrice());
-        System.out.println("Discount: -" + receiptDTO.getDiscountAmount());
-        System.out.println("Total after discount: " + receiptDTO.getTotalPriceAfterDiscount());
-        System.out.println("VAT: " + receiptDTO.getTotalVAT());
-        System.out.println();
-        System.out.println("Cash: " + receiptDTO.getAmountPaid());
-        System.out.println("Change: " + receiptDTO.getChange());
-        System.out.println("------------------------ End receipt ------------------------");
-        System.out.println();
-        System.out.println("Change to give the customer: " + receiptDTO.getChange());
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package integration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.Amount;
+import model.MixAndMatchPromotion;
+import model.MultiBuyPromotion;
+import model.PercentagePromotion;
+import model.PromotionEngine;
+import model.PromotionRule;
+
+/**
+ * Loads promotion rules from a text file. Every line holds one rule, with fields separated by
+ * whitespace. Empty lines and lines starting with <code>#</code> are ignored. The rule types are:
+ *
+ * <pre>
+ * percent  &lt;id&gt; &lt;item&gt; &lt;percentage&gt;
+ * multibuy &lt;id&gt; &lt;item&gt; &lt;buy quantity&gt; &lt;pay quantity&gt;
+ * mixmatch &lt;id&gt; &lt;group quantity&gt; &lt;group price&gt; &lt;item&gt; [&lt;item&gt; ...]
+ * </pre>
+ */
+public final class PromotionRuleLoader {
+
+    private PromotionRuleLoader() {
+    }
+
+    /**
+     * Loads the rules in a file and compiles them into an engine.
+     *
+     * @param file The promotion file.
+     * @return The engine holding all rules in the file.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line is not a valid rule. The message names the line.
+     */
+    public static PromotionEngine load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return new PromotionEngine(readRules(reader));
+        }
+    }
+
+    /**
+     * Reads the rules from a reader, one rule per line.
+     *
+     * @param reader The reader to read from.
+     * @return The rules, in the order they were read.
+     * @throws IOException if the reader fails.
+     * @throws IllegalArgumentException if a line is not a valid rule. The message names the line.
+     */
+    public static List<PromotionRule> readRules(BufferedReader reader) throws IOException {
+        List<PromotionRule> rules = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(parseRule(trimmed.split("\\s+")));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid promotion on line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    private static PromotionRule parseRule(String[] fields) {
+        switch (fields[0]) {
+            case "percent":
+                requireFields(fields, 4);
+                return new PercentagePromotion(fields[1], fields[2], Double.parseDouble(fields[3]));
+            case "multibuy":
+                requireFields(fields, 5);
+                return new MultiBuyPromotion(fields[1], fields[2], Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+            case "mixmatch":
+                if (fields.length < 5) {
+                    throw new IllegalArgumentException("mixmatch needs a group quantity, a price and at least one item.");
+                }
+                return new MixAndMatchPromotion(fields[1], Arrays.asList(fields).subList(4, fields.length),
+                                                Integer.parseInt(fields[2]), new Amount(Double.parseDouble(fields[3])));
+            default:
+                throw new IllegalArgumentException("Unknown promotion type " + fields[0] + ".");
+        }
+    }
+
+    private static void requireFields(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException(fields[0] + " needs " + (count - 1) + " fields, but has " + (fields.length - 1) + ".");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package integration;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import dto.ItemDTO;
+import dto.ReceiptDTO;
+import model.Amount;
+import model.Money;
+
+/**
+ * Formats receipts as text. All lines of a receipt are written into one buffer, which is reused
+ * for every receipt, so that the receipt can be printed with a single call.
+ *
+ * A renderer is not thread-safe. Each printing thread must use its own renderer.
+ */
+public class ReceiptRenderer {
+    private static final DateTimeFormatter DATE_AND_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+
+    /**
+     * Formats a receipt into the renderer's buffer.
+     *
+     * @param receiptDTO The receipt information to format.
+     * @return The formatted receipt. The buffer is reused, so its contents are only valid until the next call.
+     */
+    public CharSequence render(ReceiptDTO receiptDTO) {
+        buffer.setLength(0);
+        return appendTo(buffer, receiptDTO);
+    }
+
+    /**
+     * Formats a receipt and appends it to a builder.
+     *
+     * @param builder The builder to append the receipt to.
+     * @param receiptDTO The receipt information to format.
+     * @return The builder.
+     */
+    public StringBuilder appendTo(StringBuilder builder, ReceiptDTO receiptDTO) {
+        line(builder, "------------------------ Begin receipt ------------------------");
+        builder.append("Time of Sale: ");
+        DATE_AND_TIME_FORMAT.formatTo(receiptDTO.getDateAndTime(), builder);
+        newLine(builder);
+        newLine(builder);
+
+        List<ItemDTO> soldItems = receiptDTO.getSoldItems();
+        for (ItemDTO itemDTO : soldItems) {
+            long unitPrice = itemDTO.getPrice().getMinorUnits();
+            int quantity = itemDTO.getQuantity();
+            builder.append(itemDTO.getName()).append(' ').append(quantity).append(" x ");
+            Money.appendTo(builder, unitPrice).append(' ');
+            Money.appendTo(builder, Money.multiply(unitPrice, quantity)).append(" SEK");
+            newLine(builder);
+        }
+
+        newLine(builder);
+        amountLine(builder, "Total: ", receiptDTO.getTotalPrice());
+        amountLine(builder, "Discount: -", receiptDTO.getDiscountAmount());
+        amountLine(builder, "Total after discount: ", receiptDTO.getTotalPriceAfterDiscount());
+        amountLine(builder, "VAT: ", receiptDTO.getTotalVAT());
+        newLine(builder);
+        amountLine(builder, "Cash: ", receiptDTO.getAmountPaid());
+        amountLine(builder, "Change: ", receiptDTO.getChange());
+        line(builder, "------------------------ End receipt ------------------------");
+        newLine(builder);
+        amountLine(builder, "Change to give the customer: ", receiptDTO.getChange());
+        return builder;
+    }
+
+    private static void amountLine(StringBuilder builder, String label, Amount amount) {
+        builder.append(label);
+        Money.appendTo(builder, amount.getMinorUnits());
+        newLine(builder);
+    }
+
+    private static void line(StringBuilder builder, String text) {
+        builder.append(text);
+        newLine(builder);
+    }
+
+    private static void newLine(StringBuilder builder) {
+        builder.append(LINE_SEPARATOR);
+    }
+}
\ No newline at end of file
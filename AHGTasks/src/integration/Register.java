@@ -1,14 +1,31 @@
 package integration;
 
+import dto.RegisterSnapshotDTO;
 import model.Amount;
+import model.Money;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents a register that tracks the store's accumulated revenue.
+ *
+ * The register is shared by all checkout lanes. Each lane has its own cash drawer, which counts the
+ * lane's revenue in ore. Drawers are updated without locking, and a drawer used by many threads
+ * spreads its updates over several cells, so lanes never wait for each other when a sale is paid.
  */
-public class Register {
+public class Register implements IntegrationService {
+    /**
+     * The drawer that is used when revenue is added without a lane identifier.
+     */
+    public static final String DEFAULT_DRAWER = "default";
 
-    private static Register instance;
-    private Amount amount;
+    private static final AtomicReference<Register> instance = new AtomicReference<>();
+    private final long initialAmount;
+    private final Map<String, LongAdder> drawers = new ConcurrentHashMap<>();
 
     /**
      * Creates a new register initialized with a starting amount.
@@ -16,27 +33,43 @@ public class Register {
      * @param amount The initial amount of cash in the register.
      */
     public Register(Amount amount) {
-        this.amount = amount;
+        this.initialAmount = amount.getMinorUnits();
     }
 
     /**
-     * Checks if an instance of a register is created and fetches it.
-     * Otherwise, it creates a new instance.
+     * Gets the shared register, creating it with the specified initial amount the first time it is needed.
+     * If several threads create the register at the same time, exactly one of them wins and all threads
+     * get the same register, so no revenue is ever added to a register that is thrown away.
+     *
+     * @param initialAmount The initial amount of cash, used only if the register does not exist yet.
      */
     public static Register getInstance(Amount initialAmount) {
-        if (instance == null) {
-            instance = new Register(initialAmount);
+        Register current = instance.get();
+        if (current == null) {
+            instance.compareAndSet(null, new Register(initialAmount));
+            current = instance.get();
         }
-        return instance;
+        return current;
     }
 
     /**
-     * Updates the register by adding the total price of a completed sale.
+     * Updates the register by adding the total price of a completed sale to the default drawer.
      *
      * @param totalPrice The total sale price to add to the register.
      */
     public void updateRegister(Amount totalPrice) {
-        this.amount = this.amount.add(totalPrice);
+        updateRegister(DEFAULT_DRAWER, totalPrice);
+    }
+
+    /**
+     * Updates the register by adding the total price of a completed sale to a lane's drawer.
+     *
+     * @param laneId The identifier of the lane where the sale was paid.
+     * @param totalPrice The total sale price to add to the register.
+     */
+    public void updateRegister(String laneId, Amount totalPrice) {
+        long minorUnits = totalPrice.getMinorUnits();
+        drawerOf(laneId).add(minorUnits);
     }
 
     /**
@@ -45,6 +78,47 @@ public class Register {
      * @return The total amount of money in the register
      */
     public Amount getAmount() {
-        return amount;
+        long total = initialAmount;
+        for (LongAdder drawer : drawers.values()) {
+            total = Money.add(total, drawer.sum());
+        }
+        return Amount.ofMinorUnits(total);
+    }
+
+    /**
+     * Retrieves the revenue in one lane's drawer.
+     *
+     * @param laneId The identifier of the lane.
+     * @return The revenue paid at the lane, or zero if nothing has been paid there.
+     */
+    public Amount getDrawerAmount(String laneId) {
+        LongAdder drawer = drawers.get(laneId);
+        return Amount.ofMinorUnits(drawer == null ? 0 : drawer.sum());
+    }
+
+    /**
+     * Takes a snapshot of the register. Every drawer is read once, and the total of the snapshot is
+     * calculated from exactly those values, so the drawers and the total always agree with each other.
+     * A sale that is paid while the snapshot is taken is either fully included or not included at all.
+     *
+     * @return The snapshot.
+     */
+    public RegisterSnapshotDTO getSnapshot() {
+        Map<String, Amount> drawerAmounts = new HashMap<>();
+        long total = initialAmount;
+        for (Map.Entry<String, LongAdder> drawer : drawers.entrySet()) {
+            long drawerAmount = drawer.getValue().sum();
+            drawerAmounts.put(drawer.getKey(), Amount.ofMinorUnits(drawerAmount));
+            total = Money.add(total, drawerAmount);
+        }
+        return new RegisterSnapshotDTO(Amount.ofMinorUnits(initialAmount), drawerAmounts, Amount.ofMinorUnits(total));
+    }
+
+    private LongAdder drawerOf(String laneId) {
+        LongAdder drawer = drawers.get(laneId);
+        if (drawer == null) {
+            drawer = drawers.computeIfAbsent(laneId, newLane -> new LongAdder());
+        }
+        return drawer;
     }
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package integration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import dto.RevenueRecordDTO;
+import model.Amount;
+import model.Money;
+
+/**
+ * An append-only binary ledger of revenue, with one fixed-width record per completed sale.
+ *
+ * The file starts with a header (int magic, short version, short record size), followed by records of this layout:
+ * <pre>
+ * long     timestamp, in milliseconds since the epoch
+ * long     sale amount, in ore
+ * long     running total, in ore
+ * byte[20] lane identifier, UTF-8, padded with zeros
+ * int      CRC32 of the 44 bytes above
+ * </pre>
+ * Since every record has the same size, the last total is found by reading the last record only.
+ * Incomplete or damaged records at the end of the file, left by a crash while writing, are removed
+ * when the ledger is opened. {@link MappedRevenueLedgerReader} reads the ledger for analytics.
+ */
+public class RevenueLedger implements Closeable {
+    static final int MAGIC = 0x52564C47;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 48;
+    static final int LANE_ID_BYTES = 20;
+    static final int CHECKED_BYTES = RECORD_SIZE - Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private long endPosition;
+    private long lastTotal;
+
+    /**
+     * Opens a ledger for appending, creating the file if it does not exist.
+     * Incomplete or damaged records at the end of an existing ledger are removed.
+     *
+     * @param file The ledger file.
+     * @throws IOException if the file cannot be opened or is not a revenue ledger.
+     */
+    public RevenueLedger(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE);
+                header.flip();
+                writeFully(header, 0);
+                channel.force(true);
+                endPosition = HEADER_SIZE;
+            } else {
+                checkHeader(channel, file);
+                endPosition = HEADER_SIZE + (size - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+                while (endPosition > HEADER_SIZE && !readRecord(endPosition - RECORD_SIZE)) {
+                    endPosition -= RECORD_SIZE;
+                }
+                if (endPosition > HEADER_SIZE) {
+                    lastTotal = record.getLong(16);
+                }
+                if (size > endPosition) {
+                    channel.truncate(endPosition);
+                    channel.force(true);
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the revenue of a completed sale. The running total is the last total plus the sale amount.
+     *
+     * @param timestamp The time the sale was completed, in milliseconds since the epoch.
+     * @param laneId The lane where the sale was completed. Only the first 20 bytes of its UTF-8 form are stored.
+     * @param saleAmount The revenue of the sale.
+     * @return The written record.
+     * @throws IOException if the record cannot be written.
+     */
+    public synchronized RevenueRecordDTO append(long timestamp, String laneId, Amount saleAmount) throws IOException {
+        long runningTotal = Money.add(lastTotal, saleAmount.getMinorUnits());
+        return append(timestamp, laneId, saleAmount.getMinorUnits(), runningTotal);
+    }
+
+    /**
+     * Appends a record with a running total that is already known, for example when an older log is converted.
+     *
+     * @param revenueRecord The record to append.
+     * @throws IOException if the record cannot be written.
+     */
+    public synchronized void append(RevenueRecordDTO revenueRecord) throws IOException {
+        append(revenueRecord.getTimestamp(), revenueRecord.getLaneId(), revenueRecord.getSaleAmount().getMinorUnits(),
+               revenueRecord.getRunningTotal().getMinorUnits());
+    }
+
+    /**
+     * Gets the running total of the last record.
+     *
+     * @return The total revenue so far, or zero if the ledger is empty.
+     */
+    public synchronized Amount getLastTotal() {
+        return Amount.ofMinorUnits(lastTotal);
+    }
+
+    /**
+     * Gets the number of records in the ledger.
+     *
+     * @return The number of records.
+     */
+    public synchronized long getRecordCount() {
+        return (endPosition - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * Forces all appended records to disk.
+     *
+     * @throws IOException if the records cannot be forced.
+     */
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Forces all appended records to disk and closes the ledger.
+     *
+     * @throws IOException if the ledger cannot be forced or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    static void checkHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Read until the header is complete.
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getShort(4) != VERSION
+                || header.getShort(6) != RECORD_SIZE) {
+            throw new IOException(file + " is not a revenue ledger.");
+        }
+    }
+
+    static String decodeLaneId(ByteBuffer buffer, int offset) {
+        int length = 0;
+        while (length < LANE_ID_BYTES && buffer.get(offset + length) != 0) {
+            length++;
+        }
+        byte[] laneId = new byte[length];
+        buffer.get(offset, laneId);
+        return new String(laneId, StandardCharsets.UTF_8);
+    }
+
+    private RevenueRecordDTO append(long timestamp, String laneId, long saleAmount, long runningTotal) throws IOException {
+        record.clear();
+        record.putLong(timestamp).putLong(saleAmount).putLong(runningTotal);
+        byte[] laneBytes = encodeLaneId(laneId);
+        record.put(laneBytes);
+        for (int i = laneBytes.length; i < LANE_ID_BYTES; i++) {
+            record.put((byte) 0);
+        }
+        checksum.reset();
+        checksum.update(record.array(), 0, CHECKED_BYTES);
+        record.putInt((int) checksum.getValue());
+        record.flip();
+
+        writeFully(record, endPosition);
+        endPosition += RECORD_SIZE;
+        lastTotal = runningTotal;
+        return new RevenueRecordDTO(timestamp, new String(laneBytes, StandardCharsets.UTF_8),
+                                    Amount.ofMinorUnits(saleAmount), Amount.ofMinorUnits(runningTotal));
+    }
+
+    private static byte[] encodeLaneId(String laneId) {
+        String stored = laneId == null ? "" : laneId;
+        byte[] bytes = stored.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > LANE_ID_BYTES) {
+            stored = stored.substring(0, stored.offsetByCodePoints(stored.length(), -1));
+            bytes = stored.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    private boolean readRecord(long position) throws IOException {
+        record.clear();
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) < 0) {
+                return false;
+            }
+        }
+        checksum.reset();
+        checksum.update(record.array(), 0, CHECKED_BYTES);
+        return (int) checksum.getValue() == record.getInt(CHECKED_BYTES);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
\ No newline at end of file
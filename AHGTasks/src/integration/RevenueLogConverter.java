@@ -0,0 +1,79 @@
+package integration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import dto.RevenueRecordDTO;
+import model.Amount;
+
+/**
+ * Converts a text revenue log, with lines like <code>Added 150.00 SEK, total revenue so far: 450.00 SEK</code>,
+ * into a {@link RevenueLedger}. The amounts are converted to ore exactly. The text log holds no time or lane,
+ * so the converted records have timestamp 0 and an empty lane identifier. Lines that are not revenue entries,
+ * such as a line cut short by a crash, are skipped and counted.
+ */
+public class RevenueLogConverter {
+    private static final String ADDED = "Added ";
+    private static final String TOTAL = " SEK, total revenue so far: ";
+    private static final String END = " SEK";
+
+    private int skippedLines;
+
+    /**
+     * Appends every entry of a text log to a ledger, in the order of the log.
+     *
+     * @param textLog The text log to convert.
+     * @param ledger The ledger file to append to. It is created if it does not exist.
+     * @return The number of converted entries.
+     * @throws IOException if the text log cannot be read or the ledger cannot be written.
+     */
+    public int convert(Path textLog, Path ledger) throws IOException {
+        skippedLines = 0;
+        int converted = 0;
+        try (BufferedReader reader = Files.newBufferedReader(textLog, StandardCharsets.UTF_8);
+             RevenueLedger revenueLedger = new RevenueLedger(ledger)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                RevenueRecordDTO revenueRecord = parse(line.trim());
+                if (revenueRecord == null) {
+                    skippedLines++;
+                    continue;
+                }
+                revenueLedger.append(revenueRecord);
+                converted++;
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Gets the number of lines in the last conversion that were not revenue entries.
+     *
+     * @return The number of skipped lines.
+     */
+    public int getSkippedLines() {
+        return skippedLines;
+    }
+
+    private static RevenueRecordDTO parse(String line) {
+        int totalStart = line.indexOf(TOTAL);
+        if (!line.startsWith(ADDED) || totalStart < 0 || !line.endsWith(END)) {
+            return null;
+        }
+        try {
+            long added = toMinorUnits(line.substring(ADDED.length(), totalStart));
+            long total = toMinorUnits(line.substring(totalStart + TOTAL.length(), line.length() - END.length()));
+            return new RevenueRecordDTO(0, "", Amount.ofMinorUnits(added), Amount.ofMinorUnits(total));
+        } catch (ArithmeticException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long toMinorUnits(String kronor) {
+        return new BigDecimal(kronor.trim().replace(',', '.')).movePointRight(2).longValueExact();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,350 @@
+package integration;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import dto.ItemDTO;
+import model.Amount;
+
+/**
+ * An append-only binary journal of sale events, written before a completed sale is sent to the
+ * register, accounting, inventory and printer. If the application stops half-way through concluding
+ * a sale, the journal still tells which sales were paid, and {@link SaleJournalReplayer} can rebuild
+ * the register and inventory from it.
+ *
+ * The file starts with a header, followed by records of this layout:
+ * <pre>
+ * int   length of the body
+ * body: byte type, long sale id, long timestamp, event fields
+ * int   CRC32 of the body
+ * </pre>
+ * A record that is cut short or does not match its checksum marks the end of the journal. Such a torn
+ * tail, left by a crash while writing, is removed when the journal is opened again.
+ *
+ * Events are appended with a single write. Only the payment event, which completes a sale, is forced
+ * to disk before it returns. Lanes that pay at the same time share one force (group commit): while one
+ * lane forces the file, the others wait, and the next force covers all of them at once.
+ */
+public class SaleJournal implements Closeable {
+    static final int MAGIC = 0x534A4E4C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final byte SALE_INITIATED = 1;
+    static final byte ITEM_REGISTERED = 2;
+    static final byte DISCOUNT_APPLIED = 3;
+    static final byte SALE_PAID = 4;
+
+    private static final int MIN_BODY_SIZE = 1 + 8 + 8;
+    private static final int MAX_BODY_SIZE = 16 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Object appendLock = new Object();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final Condition forced = forceLock.newCondition();
+    private final AtomicLong nextSaleId;
+    private volatile long writtenPosition;
+    private long durablePosition;
+    private boolean forcing;
+    private long forceCount;
+
+    /**
+     * Opens a journal for appending, creating the file if it does not exist.
+     * A torn tail at the end of an existing journal is removed.
+     *
+     * @param file The journal file.
+     * @throws IOException if the file cannot be opened or is not a sale journal.
+     */
+    public SaleJournal(Path file) throws IOException {
+        MaxSaleIdVisitor maxSaleId = new MaxSaleIdVisitor();
+        long validLength = Files.exists(file) && Files.size(file) > 0 ? read(file, maxSaleId) : 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (validLength == 0) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                writeFully(header, 0);
+                channel.force(true);
+                validLength = HEADER_SIZE;
+            } else if (channel.size() > validLength) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.writtenPosition = validLength;
+        this.durablePosition = validLength;
+        this.nextSaleId = new AtomicLong(maxSaleId.maxSaleId + 1);
+    }
+
+    /**
+     * Records that a sale was initiated and gives the sale its identifier.
+     *
+     * @param laneId The lane where the sale was initiated.
+     * @return The identifier of the new sale, used for all its further events.
+     * @throws UncheckedIOException if the event cannot be written.
+     */
+    public long recordSaleInitiated(String laneId) {
+        long saleId = nextSaleId.getAndIncrement();
+        append(SALE_INITIATED, saleId, body -> body.writeUTF(laneId));
+        return saleId;
+    }
+
+    /**
+     * Records that an item was registered in a sale.
+     *
+     * @param saleId The identifier of the sale.
+     * @param itemIdentifier The identifier of the registered item.
+     * @param quantity The number of units that were registered.
+     * @throws UncheckedIOException if the event cannot be written.
+     */
+    public void recordItemRegistered(long saleId, String itemIdentifier, int quantity) {
+        append(ITEM_REGISTERED, saleId, body -> {
+            body.writeUTF(itemIdentifier);
+            body.writeInt(quantity);
+        });
+    }
+
+    /**
+     * Records that a discount was applied to a sale.
+     *
+     * @param saleId The identifier of the sale.
+     * @param customerID The customer the discount was applied for, or null.
+     * @param discount The total discount of the sale.
+     * @throws UncheckedIOException if the event cannot be written.
+     */
+    public void recordDiscountApplied(long saleId, String customerID, Amount discount) {
+        append(DISCOUNT_APPLIED, saleId, body -> {
+            body.writeUTF(customerID == null ? "" : customerID);
+            body.writeLong(discount.getMinorUnits());
+        });
+    }
+
+    /**
+     * Records that a sale was paid, and waits until the record, and every record before it, is stored on disk.
+     *
+     * @param saleId The identifier of the sale.
+     * @param laneId The lane where the sale was paid.
+     * @param total The total price of the sale after discount.
+     * @param payment The amount paid by the customer.
+     * @param soldItems The sold items, with their quantities.
+     * @throws UncheckedIOException if the event cannot be written or forced to disk.
+     */
+    public void recordSalePaid(long saleId, String laneId, Amount total, Amount payment, List<ItemDTO> soldItems) {
+        long end = append(SALE_PAID, saleId, body -> {
+            body.writeUTF(laneId);
+            body.writeLong(total.getMinorUnits());
+            body.writeLong(payment.getMinorUnits());
+            body.writeInt(soldItems.size());
+            for (ItemDTO soldItem : soldItems) {
+                body.writeUTF(soldItem.getItemIdentifier());
+                body.writeInt(soldItem.getQuantity());
+            }
+        });
+        awaitDurable(end);
+    }
+
+    /**
+     * Gets the number of times the journal has been forced to disk. With group commit,
+     * this is usually lower than the number of paid sales when many lanes pay at the same time.
+     *
+     * @return The number of forces.
+     */
+    public long getForceCount() {
+        forceLock.lock();
+        try {
+            return forceCount;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Forces all written records to disk and closes the journal.
+     *
+     * @throws IOException if the journal cannot be forced or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads a journal from the start and passes every intact record to a visitor.
+     * Reading stops at the end of the file, or at the first record that is cut short or damaged.
+     *
+     * @param file The journal file.
+     * @param visitor The visitor to receive the events.
+     * @return The length of the intact part of the journal, in bytes.
+     * @throws IOException if the file cannot be read or is not a sale journal.
+     */
+    public static long read(Path file, SaleJournalVisitor visitor) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            long fileSize = Files.size(file);
+            if (fileSize < HEADER_SIZE) {
+                return 0;
+            }
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a sale journal.");
+            }
+            long position = HEADER_SIZE;
+            CRC32 checksum = new CRC32();
+            byte[] body = new byte[256];
+            while (position + Integer.BYTES <= fileSize) {
+                int bodySize = in.readInt();
+                if (bodySize < MIN_BODY_SIZE || bodySize > MAX_BODY_SIZE
+                        || position + Integer.BYTES + bodySize + Integer.BYTES > fileSize) {
+                    break;
+                }
+                if (body.length < bodySize) {
+                    body = new byte[Math.max(bodySize, body.length * 2)];
+                }
+                in.readFully(body, 0, bodySize);
+                int storedChecksum = in.readInt();
+                checksum.reset();
+                checksum.update(body, 0, bodySize);
+                if ((int) checksum.getValue() != storedChecksum) {
+                    break;
+                }
+                dispatch(new DataInputStream(new ByteArrayInputStream(body, 0, bodySize)), visitor);
+                position += Integer.BYTES + bodySize + Integer.BYTES;
+            }
+            return position;
+        } catch (EOFException e) {
+            throw new IOException(file + " ended unexpectedly.", e);
+        }
+    }
+
+    private static void dispatch(DataInputStream body, SaleJournalVisitor visitor) throws IOException {
+        byte type = body.readByte();
+        long saleId = body.readLong();
+        long timestamp = body.readLong();
+        switch (type) {
+            case SALE_INITIATED:
+                visitor.saleInitiated(saleId, timestamp, body.readUTF());
+                break;
+            case ITEM_REGISTERED:
+                visitor.itemRegistered(saleId, timestamp, body.readUTF(), body.readInt());
+                break;
+            case DISCOUNT_APPLIED:
+                visitor.discountApplied(saleId, timestamp, body.readUTF(), body.readLong());
+                break;
+            case SALE_PAID:
+                String laneId = body.readUTF();
+                long total = body.readLong();
+                long payment = body.readLong();
+                int lines = body.readInt();
+                Map<String, Integer> soldQuantities = new LinkedHashMap<>();
+                for (int i = 0; i < lines; i++) {
+                    soldQuantities.merge(body.readUTF(), body.readInt(), Integer::sum);
+                }
+                visitor.salePaid(saleId, timestamp, laneId, total, payment, soldQuantities);
+                break;
+            default:
+                throw new IOException("Unknown journal record type " + type + ".");
+        }
+    }
+
+    private interface BodyWriter {
+        void write(DataOutputStream body) throws IOException;
+    }
+
+    private long append(byte type, long saleId, BodyWriter bodyWriter) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream record = new DataOutputStream(bytes);
+            record.writeInt(0);
+            record.writeByte(type);
+            record.writeLong(saleId);
+            record.writeLong(System.currentTimeMillis());
+            bodyWriter.write(record);
+            record.writeInt(0);
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            int bodySize = buffer.capacity() - 2 * Integer.BYTES;
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.array(), Integer.BYTES, bodySize);
+            buffer.putInt(0, bodySize);
+            buffer.putInt(Integer.BYTES + bodySize, (int) checksum.getValue());
+
+            synchronized (appendLock) {
+                long position = writtenPosition;
+                writeFully(buffer, position);
+                writtenPosition = position + buffer.capacity();
+                return writtenPosition;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the sale journal.", e);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void awaitDurable(long end) {
+        forceLock.lock();
+        try {
+            while (durablePosition < end) {
+                if (forcing) {
+                    forced.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                long target = writtenPosition;
+                forceLock.unlock();
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not force the sale journal to disk.", e);
+                } finally {
+                    forceLock.lock();
+                    forcing = false;
+                    forced.signalAll();
+                }
+                durablePosition = Math.max(durablePosition, target);
+                forceCount++;
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    private static class MaxSaleIdVisitor implements SaleJournalVisitor {
+        private long maxSaleId;
+
+        @Override
+        public void saleInitiated(long saleId, long timestamp, String laneId) {
+            maxSaleId = Math.max(maxSaleId, saleId);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package integration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.Amount;
+import model.Money;
+
+/**
+ * Rebuilds the register and the inventory from a {@link SaleJournal} at startup.
+ *
+ * The journal is read once, from start to end. Only paid sales are replayed; a sale that was initiated
+ * but never paid did not change the register or the inventory. The revenue of each lane and the sold
+ * quantity of each item are summed while reading and applied once at the end, so the time of a replay
+ * grows with the size of the journal and not with the number of items in the inventory.
+ */
+public class SaleJournalReplayer {
+    private final Register register;
+    private final ExternalInventorySystem inventorySystem;
+    private final Map<String, Long> revenueByLane = new HashMap<>();
+    private final Map<String, Integer> soldQuantities = new HashMap<>();
+    private int paidSales;
+    private int skippedItems;
+
+    /**
+     * Creates a replayer that rebuilds the specified register and inventory.
+     *
+     * @param register The register to add the revenue of paid sales to.
+     * @param inventorySystem The inventory to remove sold quantities from.
+     */
+    public SaleJournalReplayer(Register register, ExternalInventorySystem inventorySystem) {
+        this.register = register;
+        this.inventorySystem = inventorySystem;
+    }
+
+    /**
+     * Replays all paid sales in a journal. Items that are no longer in the inventory are skipped.
+     * A missing journal is treated as an empty one.
+     *
+     * @param journal The journal file.
+     * @return The number of paid sales that were replayed.
+     * @throws IOException if the journal cannot be read.
+     */
+    public int replay(Path journal) throws IOException {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+        revenueByLane.clear();
+        soldQuantities.clear();
+        paidSales = 0;
+        skippedItems = 0;
+
+        SaleJournal.read(journal, new SaleJournalVisitor() {
+            @Override
+            public void salePaid(long saleId, long timestamp, String laneId, long totalInMinorUnits,
+                                 long paymentInMinorUnits, Map<String, Integer> quantities) {
+                paidSales++;
+                revenueByLane.merge(laneId, totalInMinorUnits, Money::add);
+                for (Map.Entry<String, Integer> soldQuantity : quantities.entrySet()) {
+                    if (inventorySystem.checkIfItemIdentifierValid(soldQuantity.getKey())) {
+                        soldQuantities.merge(soldQuantity.getKey(), soldQuantity.getValue(), Integer::sum);
+                    } else {
+                        skippedItems++;
+                    }
+                }
+            }
+        });
+
+        for (Map.Entry<String, Long> laneRevenue : revenueByLane.entrySet()) {
+            register.updateRegister(laneRevenue.getKey(), Amount.ofMinorUnits(laneRevenue.getValue()));
+        }
+        inventorySystem.removeSoldQuantities(soldQuantities);
+        return paidSales;
+    }
+
+    /**
+     * Gets the number of sold items in the last replay that were skipped because they are no longer in the inventory.
+     *
+     * @return The number of skipped items.
+     */
+    public int getSkippedItems() {
+        return skippedItems;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package integration;
+
+import java.util.Map;
+
+/**
+ * Receives the events of a {@link SaleJournal} when the journal is read, in the order they were written.
+ * Every method does nothing by default, so a visitor only implements the events it needs.
+ */
+public interface SaleJournalVisitor {
+    /**
+     * Called for a sale that was initiated.
+     *
+     * @param saleId The identifier the journal gave the sale.
+     * @param timestamp The time of the event, in milliseconds since the epoch.
+     * @param laneId The lane where the sale was initiated.
+     */
+    default void saleInitiated(long saleId, long timestamp, String laneId) {
+    }
+
+    /**
+     * Called for an item that was registered in a sale.
+     *
+     * @param saleId The identifier of the sale.
+     * @param timestamp The time of the event, in milliseconds since the epoch.
+     * @param itemIdentifier The identifier of the registered item.
+     * @param quantity The number of units that were registered.
+     */
+    default void itemRegistered(long saleId, long timestamp, String itemIdentifier, int quantity) {
+    }
+
+    /**
+     * Called for a discount that was applied to a sale.
+     *
+     * @param saleId The identifier of the sale.
+     * @param timestamp The time of the event, in milliseconds since the epoch.
+     * @param customerID The customer the discount was applied for, or an empty string if there was none.
+     * @param discountInMinorUnits The total discount of the sale, in ore.
+     */
+    default void discountApplied(long saleId, long timestamp, String customerID, long discountInMinorUnits) {
+    }
+
+    /**
+     * Called for a sale that was paid. This is the event that completes a sale.
+     *
+     * @param saleId The identifier of the sale.
+     * @param timestamp The time of the event, in milliseconds since the epoch.
+     * @param laneId The lane where the sale was paid.
+     * @param totalInMinorUnits The total price of the sale after discount, in ore.
+     * @param paymentInMinorUnits The amount paid by the customer, in ore.
+     * @param soldQuantities The sold quantity of each item, by item identifier.
+     */
+    default void salePaid(long saleId, long timestamp, String laneId, long totalInMinorUnits,
+                          long paymentInMinorUnits, Map<String, Integer> soldQuantities) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package integration;
+
+import model.Amount;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the integration services of the application and manages their lifecycle.
+ *
+ * The services are started in parallel, so that slow services do not delay each other when a server
+ * with many lanes starts up. They are stopped one at a time, in the reverse order of registration.
+ * A registry can be started and stopped once.
+ */
+public class ServiceRegistry {
+    private final ExternalInventorySystem inventorySystem;
+    private final ExternalAccountingSystem accountingSystem;
+    private final Register register;
+    private final Printer printer;
+    private final List<IntegrationService> services;
+    private final List<IntegrationService> startedServices = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * Creates a registry holding the shared instances of the integration services.
+     */
+    public ServiceRegistry() {
+        this(ExternalInventorySystem.getInstance(), ExternalAccountingSystem.getInstance(),
+             Register.getInstance(new Amount(0)), Printer.getInstance());
+    }
+
+    /**
+     * Creates a registry holding the specified integration services.
+     *
+     * @param inventorySystem The inventory system.
+     * @param accountingSystem The accounting system.
+     * @param register The register.
+     * @param printer The printer.
+     */
+    public ServiceRegistry(ExternalInventorySystem inventorySystem, ExternalAccountingSystem accountingSystem,
+                           Register register, Printer printer) {
+        this.inventorySystem = inventorySystem;
+        this.accountingSystem = accountingSystem;
+        this.register = register;
+        this.printer = printer;
+        this.services = List.of(inventorySystem, accountingSystem, register, printer);
+    }
+
+    /**
+     * Starts all services in parallel and waits until they are started.
+     * If any service fails to start, the services that did start are stopped again.
+     *
+     * @throws IllegalStateException if the registry has already been started, or if a service fails to start.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("The services have already been started.");
+        }
+        ExecutorService starters = Executors.newFixedThreadPool(services.size(), runnable -> {
+            Thread thread = new Thread(runnable, "service-starter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<?>[] startups = new CompletableFuture<?>[services.size()];
+            for (int i = 0; i < services.size(); i++) {
+                IntegrationService service = services.get(i);
+                startups[i] = CompletableFuture.runAsync(() -> {
+                    service.start();
+                    startedServices.add(service);
+                }, starters);
+            }
+            CompletableFuture.allOf(startups).join();
+        } catch (CompletionException e) {
+            stopServices(startedServices);
+            throw new IllegalStateException("Could not start the integration services.", e.getCause());
+        } finally {
+            starters.shutdown();
+        }
+    }
+
+    /**
+     * Stops all started services, in the reverse order of registration.
+     * Calling this method more than once has no further effect.
+     */
+    public void stop() {
+        if (stopped.compareAndSet(false, true)) {
+            stopServices(startedServices);
+        }
+    }
+
+    private void stopServices(List<IntegrationService> servicesToStop) {
+        for (int i = services.size() - 1; i >= 0; i--) {
+            IntegrationService service = services.get(i);
+            if (servicesToStop.remove(service)) {
+                service.stop();
+            }
+        }
+    }
+
+    /**
+     * Gets the inventory system.
+     *
+     * @return The inventory system.
+     */
+    public ExternalInventorySystem getInventorySystem() {
+        return inventorySystem;
+    }
+
+    /**
+     * Gets the accounting system.
+     *
+     * @return The accounting system.
+     */
+    public ExternalAccountingSystem getAccountingSystem() {
+        return accountingSystem;
+    }
+
+    /**
+     * Gets the register.
+     *
+     * @return The register.
+     */
+    public Register getRegister() {
+        return register;
+    }
+
+    /**
+     * Gets the printer.
+     *
+     * @return The printer.
+     */
+    public Printer getPrinter() {
+        return printer;
+    }
+}
\ No newline at end of file
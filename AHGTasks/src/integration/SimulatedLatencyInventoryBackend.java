@@ -0,0 +1,74 @@
+package integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An inventory backend that waits a fixed time on every call before asking another backend, to simulate
+ * the round trip to a remote inventory database in tests and benchmarks. A multi-get is one round trip.
+ */
+public class SimulatedLatencyInventoryBackend implements InventoryBackend {
+    private final InventoryBackend backend;
+    private final long latencyMillis;
+    private final AtomicInteger callCount = new AtomicInteger();
+
+    /**
+     * Creates a backend with a simulated latency.
+     *
+     * @param backend The backend that answers the lookups.
+     * @param latencyMillis The time every call takes, in milliseconds.
+     */
+    public SimulatedLatencyInventoryBackend(InventoryBackend backend, long latencyMillis) {
+        this.backend = backend;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Looks up one item after one simulated round trip.
+     *
+     * @param identifier The identifier of the item.
+     * @return The item information, or null if the item does not exist.
+     * @throws DatabaseFailureException if the wait is interrupted or the backend fails.
+     */
+    @Override
+    public ItemDTO fetchItem(String identifier) throws DatabaseFailureException {
+        roundTrip();
+        return backend.fetchItem(identifier);
+    }
+
+    /**
+     * Looks up several items after one simulated round trip.
+     *
+     * @param identifiers The identifiers of the items.
+     * @return The information of every item that exists, by identifier.
+     * @throws DatabaseFailureException if the wait is interrupted or the backend fails.
+     */
+    @Override
+    public Map<String, ItemDTO> fetchItems(Collection<String> identifiers) throws DatabaseFailureException {
+        roundTrip();
+        return backend.fetchItems(identifiers);
+    }
+
+    /**
+     * Gets the number of round trips made so far.
+     *
+     * @return The number of calls.
+     */
+    public int getCallCount() {
+        return callCount.get();
+    }
+
+    private void roundTrip() throws DatabaseFailureException {
+        callCount.incrementAndGet();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseFailureException("Interrupted while waiting for the inventory database.");
+        }
+    }
+}
\ No newline at end of file
@@ -20,6 +20,16 @@ public class Amount {
         this.amount = amount;
     }
 
+    /**
+     * Creates a new Amount from a whole number of ore.
+     * 
+     * @param ore The monetary value in ore.
+     * @return The corresponding Amount.
+     */
+    public static Amount ofMinorUnits(long ore) {
+        return new Amount(Money.toKronor(ore));
+    }
+
     /**
      * Gets the numeric value of this amount.
      * 
@@ -29,6 +39,15 @@ public class Amount {
         return amount;
     }
 
+    /**
+     * Gets the value of this amount as a whole number of ore, rounded half up.
+     * 
+     * @return The monetary value in ore.
+     */
+    public long getMinorUnits() {
+        return Money.fromKronor(amount);
+    }
+
     /**
      * Adds another Amount to this one and returns the result as a new Amount.
      * 
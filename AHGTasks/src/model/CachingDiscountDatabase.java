@@ -0,0 +1,261 @@
+package model;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import dto.ItemDTO;
+
+/**
+ * A DiscountDatabase that remembers the discounts of customers it has looked up in another, slower,
+ * DiscountDatabase, such as a remote loyalty system.
+ *
+ * At most a fixed number of customers are remembered; when the cache is full, the customer that was
+ * used least recently is removed. A remembered discount expires after a time to live. Customers without
+ * a discount are remembered too, usually for a shorter time, so unknown customers are not looked up
+ * again on every recalculation. Item and total discounts are passed on to the other database unchanged.
+ *
+ * The cache can be shared by all checkout lanes. A lookup in the other database is made without holding
+ * the cache's lock, so a slow lookup does not stop other lanes from using the cache.
+ */
+public class CachingDiscountDatabase implements DiscountDatabase {
+    private final DiscountDatabase database;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, CachedDiscount> customerDiscounts;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Creates a cache where discounts and unknown customers are remembered for the same time.
+     *
+     * @param database The database to look discounts up in.
+     * @param maxEntries The largest number of customers to remember.
+     * @param ttlMillis The time a looked up discount is remembered.
+     */
+    public CachingDiscountDatabase(DiscountDatabase database, int maxEntries, long ttlMillis) {
+        this(database, maxEntries, ttlMillis, ttlMillis, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache with separate times to live for discounts and for unknown customers.
+     *
+     * @param database The database to look discounts up in.
+     * @param maxEntries The largest number of customers to remember.
+     * @param ttlMillis The time a customer's discount is remembered.
+     * @param negativeTtlMillis The time a customer without discount is remembered.
+     * @param clock The clock used for expiry, in nanoseconds, like <code>System::nanoTime</code>.
+     */
+    public CachingDiscountDatabase(DiscountDatabase database, int maxEntries, long ttlMillis, long negativeTtlMillis,
+                                   LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The cache must be able to hold at least one customer.");
+        }
+        this.database = database;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.clock = clock;
+        this.customerDiscounts = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets the item discount from the other database, without caching.
+     *
+     * @param items all the items which are in the current sale.
+     * @return the item discount.
+     */
+    @Override
+    public Amount getDiscountFromItems(List<ItemDTO> items) {
+        return database.getDiscountFromItems(items);
+    }
+
+    /**
+     * Tells if the item discount of the other database adds up line by line.
+     *
+     * @return The answer of the other database.
+     */
+    @Override
+    public boolean hasPerLineItemDiscounts() {
+        return database.hasPerLineItemDiscounts();
+    }
+
+    /**
+     * Gets the discount of one line from the other database, without caching.
+     *
+     * @param item The line, with its quantity.
+     * @return The discount of the line.
+     */
+    @Override
+    public Amount getDiscountFromItem(ItemDTO item) {
+        return database.getDiscountFromItem(item);
+    }
+
+    /**
+     * Gets the discounts of several lines from the other database, without caching.
+     *
+     * @param items The lines, with their quantities.
+     * @return The discount of every line, in the order of the lines.
+     */
+    @Override
+    public List<Amount> getDiscountsFromLines(List<ItemDTO> items) {
+        return database.getDiscountsFromLines(items);
+    }
+
+    /**
+     * Gets the total discount from the other database, without caching.
+     *
+     * @param total the total price of the entire sale.
+     * @return the total discount.
+     */
+    @Override
+    public Amount getDiscountFromTotal(Amount total) {
+        return database.getDiscountFromTotal(total);
+    }
+
+    /**
+     * Gets the discount of a customer, from the cache if it is remembered and has not expired,
+     * otherwise from the other database.
+     *
+     * @param customerID The customer to get the discount for.
+     * @return The customer's discount.
+     */
+    @Override
+    public Amount getDiscountFromCustomerID(String customerID) {
+        if (customerID == null) {
+            return database.getDiscountFromCustomerID(null);
+        }
+        synchronized (customerDiscounts) {
+            CachedDiscount cached = customerDiscounts.get(customerID);
+            if (cached != null) {
+                if (cached.expiresAt - clock.getAsLong() > 0) {
+                    hits++;
+                    return cached.discount;
+                }
+                customerDiscounts.remove(customerID);
+                expirations++;
+            }
+            misses++;
+        }
+        return load(customerID);
+    }
+
+    /**
+     * Looks up customers in advance, for example the most frequent loyalty customers when the store opens,
+     * so that their first sale does not wait for the other database.
+     *
+     * @param customerIDs The customers to look up, most important first. Only as many as the cache can hold are loaded.
+     * @return The number of customers that were loaded.
+     */
+    public int warmUp(Collection<String> customerIDs) {
+        int loaded = 0;
+        for (String customerID : customerIDs) {
+            if (loaded == maxEntries) {
+                break;
+            }
+            if (customerID != null) {
+                load(customerID);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Forgets all remembered customers.
+     */
+    public void clear() {
+        synchronized (customerDiscounts) {
+            customerDiscounts.clear();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that were answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        synchronized (customerDiscounts) {
+            return hits;
+        }
+    }
+
+    /**
+     * Gets the number of lookups that had to ask the other database.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        synchronized (customerDiscounts) {
+            return misses;
+        }
+    }
+
+    /**
+     * Gets the number of customers that were removed to make room for others.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        synchronized (customerDiscounts) {
+            return evictions;
+        }
+    }
+
+    /**
+     * Gets the number of remembered discounts that had expired when they were asked for.
+     *
+     * @return The number of expirations.
+     */
+    public long getExpirationCount() {
+        synchronized (customerDiscounts) {
+            return expirations;
+        }
+    }
+
+    /**
+     * Gets the number of customers that are currently remembered.
+     *
+     * @return The size of the cache.
+     */
+    public int size() {
+        synchronized (customerDiscounts) {
+            return customerDiscounts.size();
+        }
+    }
+
+    private Amount load(String customerID) {
+        Amount discount = database.getDiscountFromCustomerID(customerID);
+        boolean unknownCustomer = discount == null || discount.getAmount() == 0;
+        long expiresAt = clock.getAsLong() + (unknownCustomer ? negativeTtlNanos : ttlNanos);
+        synchronized (customerDiscounts) {
+            customerDiscounts.put(customerID, new CachedDiscount(discount, expiresAt));
+            Iterator<Map.Entry<String, CachedDiscount>> leastRecentlyUsed = customerDiscounts.entrySet().iterator();
+            while (customerDiscounts.size() > maxEntries) {
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                evictions++;
+            }
+        }
+        return discount;
+    }
+
+    private static class CachedDiscount {
+        private final Amount discount;
+        private final long expiresAt;
+
+        CachedDiscount(Amount discount, long expiresAt) {
+            this.discount = discount;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
\ No newline at end of file
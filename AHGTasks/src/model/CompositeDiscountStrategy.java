@@ -1,14 +1,34 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import utils.LogHandler;
 
 /**
  * CompositeDiscountStrategy allows combining multiple DiscountStrategy
  * implementations. Each strategy is applied to the given Sale, and
  * their individual discounts are summed up to compute the total discount.
+ *
+ * In parallel mode the strategies are evaluated at the same time on an executor, so a sale waits
+ * for the slowest strategy instead of for all of them in turn. Each of them reads its own read-only
+ * copy of the sale, so the lane can go on changing the sale. Strategies that follow the lines of the
+ * sale as a {@link SaleLineListener} are evaluated on the calling thread instead, where the sale
+ * changes. A strategy that fails contributes no discount, and so does a strategy that does not answer
+ * within the timeout, which is then cancelled.
  */
 public class CompositeDiscountStrategy implements DiscountStrategy {
     private List<DiscountStrategy> strategies;
+    private Executor executor;
+    private long timeoutMillis;
+    private volatile DiscountMemo memo;
 
     /**
      * Constructs a CompositeDiscountStrategy with the specified list of
@@ -20,20 +40,114 @@ public class CompositeDiscountStrategy implements DiscountStrategy {
         this.strategies = strategies;
     }
 
+    /**
+     * Constructs a CompositeDiscountStrategy that evaluates the strategies in parallel.
+     * The strategies must only read the sale, and should stop when they are interrupted.
+     *
+     * @param strategies the list of discount strategies to apply.
+     * @param executor the executor the strategies are evaluated on, preferably with a bounded number of threads.
+     * @param timeoutMillis the longest time to wait for each strategy before its discount is taken as zero.
+     */
+    public CompositeDiscountStrategy(List<DiscountStrategy> strategies, Executor executor, long timeoutMillis) {
+        this.strategies = strategies;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
 
     /**
      * Calculates the total discount by summing the discounts from each strategy
-     * in the list.
+     * in the list. If the sale has not changed since the last calculation, the
+     * last total is returned without asking the strategies again.
      *
      * @param sale current sale to which the discount will be applied
      * @return an Amount representing the total discount
      */
     @Override
     public Amount calculateDiscount(Sale sale) {
-        double totalDiscount = 0;
+        DiscountMemo lastDiscount = memo;
+        if (DiscountMemo.isFor(lastDiscount, sale)) {
+            return lastDiscount.getDiscount();
+        }
+        long version = sale.getVersion();
+        if (executor != null) {
+            return calculateInParallel(sale, version);
+        }
+        long totalDiscount = 0;
+        for (DiscountStrategy strategy : strategies) {
+            totalDiscount = Money.add(totalDiscount, strategy.calculateDiscount(sale).getMinorUnits());
+        }
+        Amount discount = Amount.ofMinorUnits(totalDiscount);
+        memo = DiscountMemo.forSale(sale, version, discount);
+        return discount;
+    }
+
+    private Amount calculateInParallel(Sale sale, long version) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Sale snapshot = null;
+        List<FutureTask<Amount>> discounts = new ArrayList<>(strategies.size());
+        List<DiscountStrategy> onCallingThread = new ArrayList<>();
         for (DiscountStrategy strategy : strategies) {
-            totalDiscount += strategy.calculateDiscount(sale).getAmount();
+            if (strategy instanceof SaleLineListener) {
+                onCallingThread.add(strategy);
+                continue;
+            }
+            if (snapshot == null) {
+                snapshot = sale.snapshot();
+            }
+            Sale strategySale = snapshot;
+            FutureTask<Amount> discount = new FutureTask<>(() -> strategy.calculateDiscount(strategySale));
+            discounts.add(discount);
+            try {
+                executor.execute(discount);
+            } catch (RejectedExecutionException e) {
+                discount.cancel(false);
+                LogHandler.logException(e);
+            }
+        }
+
+        long totalDiscount = 0;
+        boolean complete = true;
+        for (DiscountStrategy strategy : onCallingThread) {
+            totalDiscount = Money.add(totalDiscount, strategy.calculateDiscount(sale).getMinorUnits());
+        }
+        for (FutureTask<Amount> discount : discounts) {
+            Amount strategyDiscount = await(discount, deadline);
+            if (strategyDiscount == null) {
+                complete = false;
+            } else {
+                totalDiscount = Money.add(totalDiscount, strategyDiscount.getMinorUnits());
+            }
+        }
+        Amount discount = Amount.ofMinorUnits(totalDiscount);
+        if (complete) {
+            memo = DiscountMemo.forSale(sale, version, discount);
+        }
+        return discount;
+    }
+
+    private static Amount await(FutureTask<Amount> discount, long deadline) {
+        try {
+            return discount.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The strategy is given up on, so that it does not keep a thread of the executor busy.
+            discount.cancel(true);
+            LogHandler.logException(e);
+        } catch (ExecutionException e) {
+            logFailure(e);
+        } catch (InterruptedException e) {
+            discount.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (CancellationException e) {
+            // The executor did not take the strategy, which has already been logged.
+        }
+        return null;
+    }
+
+    private static void logFailure(Throwable failure) {
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof Exception) {
+            LogHandler.logException((Exception) cause);
         }
-        return new Amount(totalDiscount);
     }
 }
\ No newline at end of file
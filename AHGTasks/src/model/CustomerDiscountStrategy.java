@@ -4,6 +4,8 @@ package model;
 public class CustomerDiscountStrategy implements DiscountStrategy {
     private String customerID;
     private DiscountDatabase discountDatabase;
+    private volatile DiscountMemo percentageMemo;
+    private volatile DiscountMemo memo;
 
     /**
      * Creates a class which efficiently stores the customer ID with the discount they have. 
@@ -19,19 +21,38 @@ public class CustomerDiscountStrategy implements DiscountStrategy {
     /**
      * Calculates discount using the customer discount strategy, taking the total price from a sale,
      * and removing a percentage of the price based on the customers discount,
+     * The result is reused while the sale is unchanged, and the customer's percentage is only
+     * looked up again when the customer changes.
      * 
      * @param sale Is the current sale we are deducting the price from.
      * @return The total price after the customers discount.
      */
     @Override
     public Amount calculateDiscount(Sale sale) {
+        DiscountMemo lastDiscount = memo;
+        if (DiscountMemo.isFor(lastDiscount, sale)) {
+            return lastDiscount.getDiscount();
+        }
+        long version = sale.getVersion();
         String id = sale.getCustomerID();
         if (id == null || discountDatabase == null) {
             return new Amount(0);
         }
 
         Amount total = sale.calculateTotalPrice();
+        Amount percentage = percentageFor(id);
+        Amount discount = new Amount(total.getAmount() * percentage.getAmount());
+        memo = DiscountMemo.forSale(sale, version, discount);
+        return discount;
+    }
+
+    private Amount percentageFor(String id) {
+        DiscountMemo lastPercentage = percentageMemo;
+        if (lastPercentage != null && lastPercentage.matches(id, 0)) {
+            return lastPercentage.getDiscount();
+        }
         Amount percentage = discountDatabase.getDiscountFromCustomerID(id);
-        return new Amount(total.getAmount() * percentage.getAmount());
+        percentageMemo = new DiscountMemo(id, 0, percentage);
+        return percentage;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package model;
 
 import dto.ItemDTO;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /*
@@ -11,4 +13,47 @@ public interface DiscountDatabase {
     Amount getDiscountFromItems(List<ItemDTO> items); 
     Amount getDiscountFromTotal(Amount total);        
     Amount getDiscountFromCustomerID(String customerID); 
+
+    /**
+     * Tells if the item discount of a sale is always the sum of the discounts of its lines, so that
+     * it can be kept up to date one line at a time with {@link #getDiscountFromItem(ItemDTO)}.
+     * A database with thresholds, caps or discounts on the whole basket must return false,
+     * which is the default; its item discount is then always asked for the whole sale.
+     *
+     * @return True if the item discount adds up line by line, false otherwise.
+     */
+    default boolean hasPerLineItemDiscounts() {
+        return false;
+    }
+
+    /**
+     * Gets the discount of a single line of a sale. Only used if {@link #hasPerLineItemDiscounts()} is true.
+     *
+     * By default this adapts {@link #getDiscountFromItems(List)} by asking for a list holding only
+     * the line. A database can override it with a direct lookup.
+     *
+     * @param item The line, with its quantity.
+     * @return The discount of the line.
+     */
+    default Amount getDiscountFromItem(ItemDTO item) {
+        return getDiscountFromItems(Collections.singletonList(item));
+    }
+
+    /**
+     * Gets the discounts of several lines of a sale at once, for example every line of a basket that is
+     * looked at for the first time. Only used if {@link #hasPerLineItemDiscounts()} is true.
+     *
+     * By default every line is looked up with {@link #getDiscountFromItem(ItemDTO)}. A database with a
+     * remote back end should override it with one request for all lines.
+     *
+     * @param items The lines, with their quantities.
+     * @return The discount of every line, in the order of the lines.
+     */
+    default List<Amount> getDiscountsFromLines(List<ItemDTO> items) {
+        List<Amount> discounts = new ArrayList<>(items.size());
+        for (ItemDTO item : items) {
+            discounts.add(getDiscountFromItem(item));
+        }
+        return discounts;
+    }
 }
\ No newline at end of file
@@ -20,6 +20,16 @@ public class DiscountDatabaseImpl implements DiscountDatabase {
         return new Amount(discount);
     }
 
+    /**
+     * The demo discount is a fixed amount for every line, so it adds up line by line.
+     *
+     * @return true.
+     */
+    @Override
+    public boolean hasPerLineItemDiscounts() {
+        return true;
+    }
+
     /**
      * A demo function which takes a 10% discount if the total price is more than 500kr, otherwise
      * the discount is 0kr.
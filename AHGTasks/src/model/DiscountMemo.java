@@ -0,0 +1,69 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * A discount that was calculated for a key in a certain state, identified by a stamp. Discount strategies
+ * keep their last result in a memo, so that asking again for an unchanged input costs nothing. A memo is
+ * immutable, so a strategy used by several lanes can replace its memo without locking.
+ */
+final class DiscountMemo {
+    private final Object key;
+    private final long stamp;
+    private final Amount discount;
+
+    /**
+     * Creates a memo of a discount.
+     *
+     * @param key The input the discount was calculated for, for example a sale.
+     * @param stamp The state of the input, for example the version of the sale.
+     * @param discount The calculated discount.
+     */
+    DiscountMemo(Object key, long stamp, Amount discount) {
+        this.key = key;
+        this.stamp = stamp;
+        this.discount = discount;
+    }
+
+    /**
+     * Creates a memo of a discount calculated for a sale at the specified version.
+     *
+     * @param sale The sale the discount was calculated for.
+     * @param version The version of the sale when the calculation started.
+     * @param discount The calculated discount.
+     */
+    static DiscountMemo forSale(Sale sale, long version, Amount discount) {
+        return new DiscountMemo(sale, version, discount);
+    }
+
+    /**
+     * Checks if a memo holds the discount of a sale in its current version.
+     *
+     * @param memo The memo to check, or null.
+     * @param sale The sale.
+     * @return True if the memo can be used for the sale.
+     */
+    static boolean isFor(DiscountMemo memo, Sale sale) {
+        return memo != null && memo.key == sale && memo.stamp == sale.getVersion();
+    }
+
+    /**
+     * Checks if this memo was calculated for the specified key and stamp.
+     *
+     * @param key The input.
+     * @param stamp The state of the input.
+     * @return True if both match.
+     */
+    boolean matches(Object key, long stamp) {
+        return this.stamp == stamp && Objects.equals(this.key, key);
+    }
+
+    /**
+     * Gets the memoized discount.
+     *
+     * @return The discount.
+     */
+    Amount getDiscount() {
+        return discount;
+    }
+}
\ No newline at end of file
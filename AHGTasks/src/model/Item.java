@@ -13,6 +13,10 @@ public class Item {
     private VAT vatRate;
     private int quantity;
     private String name;
+    private long unitPrice;
+    private long unitVAT;
+    private long unitPriceWithVAT;
+    private Amount priceWithVAT;
 
     /**
      * Creates a new Item based on a given ItemDTO and quantity.
@@ -27,6 +31,10 @@ public class Item {
         this.vatRate = itemDTO.getVatRate();
         this.name = itemDTO.getName();
         this.quantity = quantity;
+        this.unitPrice = price.getMinorUnits();
+        this.unitVAT = Money.multiply(unitPrice, vatRate.getRate(), Money.DEFAULT_ROUNDING);
+        this.unitPriceWithVAT = Money.add(unitPrice, unitVAT);
+        this.priceWithVAT = Amount.ofMinorUnits(unitPriceWithVAT);
     }
 
     /**
@@ -47,13 +55,13 @@ public class Item {
     }
 
     /**
-     * Calculates and returns the price of this item including VAT.
+     * Returns the price of this item including VAT.
+     * The price is calculated once, when the item is created.
      *
      * @return The price including VAT.
      */
     public Amount getPriceWithVAT() {
-        double priceWithVAT = price.getAmount() * (1 + vatRate.getRate());
-        return new Amount(priceWithVAT);
+        return priceWithVAT;
     }
 
     /**
@@ -62,8 +70,16 @@ public class Item {
      * @return Total price with VAT.
      */
     public Amount getTotalPriceWithVAT() {
-        double totalPriceWithVAT = getPriceWithVAT().getAmount() * quantity;
-        return new Amount(totalPriceWithVAT);
+        return Amount.ofMinorUnits(getTotalPriceWithVATInMinorUnits());
+    }
+
+    /**
+     * Calculates the total price (with VAT) for all units of this item, in ore.
+     * 
+     * @return Total price with VAT in ore.
+     */
+    public long getTotalPriceWithVATInMinorUnits() {
+        return Money.multiply(unitPriceWithVAT, quantity);
     }
 
     /**
@@ -72,10 +88,41 @@ public class Item {
      * @return Total VAT amount.
      */
     public Amount getTotalVAT() {
-        double vatPerItem = price.getAmount() * vatRate.getRate();
-        double totalVAT = vatPerItem * quantity;
-        return new Amount(totalVAT);
-    }   
+        return Amount.ofMinorUnits(getTotalVATInMinorUnits());
+    }
+
+    /**
+     * Calculates the total VAT amount for this item based on quantity, in ore.
+     * 
+     * @return Total VAT amount in ore.
+     */
+    public long getTotalVATInMinorUnits() {
+        return Money.multiply(unitVAT, quantity);
+    }
+
+    /**
+     * Gets the price (excluding VAT) of one unit of this item, in ore.
+     * @return The unit price in ore.
+     */
+    public long getUnitPriceInMinorUnits() {
+        return unitPrice;
+    }
+
+    /**
+     * Gets the VAT of one unit of this item, in ore.
+     * @return The unit VAT in ore.
+     */
+    public long getUnitVATInMinorUnits() {
+        return unitVAT;
+    }
+
+    /**
+     * Gets the price (including VAT) of one unit of this item, in ore.
+     * @return The unit price with VAT in ore.
+     */
+    public long getUnitPriceWithVATInMinorUnits() {
+        return unitPriceWithVAT;
+    }
 
     /**
      * Creates a DTO representation of this item.
@@ -102,6 +149,14 @@ public class Item {
         return price;
     }
 
+    /**
+     * Gets the VAT rate of this item.
+     * @return The VAT rate.
+     */
+    public VAT getVatRate() {
+        return vatRate;
+    }
+
     /**
      * Gets the current quantity of this item.
      * @return The quantity.
@@ -1,14 +1,26 @@
 package model;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import dto.ItemDTO;
 
 /*
  * A strategy which discounts the price of items depending on the discount of the individual item.
+ *
+ * The first time the discount of a sale is calculated, the strategy looks at every line once and then
+ * listens to the sale. If the database's item discounts add up line by line, only a line that is added
+ * or changed is looked up again after that, so the discount is kept up to date at a cost that does not
+ * grow with the size of the basket. Otherwise the discount of the whole sale is asked for again, but
+ * only after the sale has changed.
  */
-public class ItemBasedDiscountStrategy implements DiscountStrategy {
+public class ItemBasedDiscountStrategy implements DiscountStrategy, SaleLineListener {
     private DiscountDatabase discountDatabase;
+    private Sale boundSale;
+    private Map<String, Long> lineDiscounts = new HashMap<>();
+    private long totalDiscount;
+    private boolean changed;
 
     /**
      * Constructor of the item based discount strategy. 
@@ -25,8 +37,79 @@ public class ItemBasedDiscountStrategy implements DiscountStrategy {
      * @return an amount, which is discount to be deducted from the total price.
      */
     @Override
-    public Amount calculateDiscount(Sale sale) {
-        List<ItemDTO> itemDTOs = sale.getListOfItemDTOs();
-        return discountDatabase.getDiscountFromItems(itemDTOs);
+    public synchronized Amount calculateDiscount(Sale sale) {
+        if (sale != boundSale) {
+            bind(sale);
+        } else if (changed) {
+            totalDiscount = discountDatabase.getDiscountFromItems(sale.getListOfItemDTOs()).getMinorUnits();
+            changed = false;
+        }
+        return Amount.ofMinorUnits(totalDiscount);
+    }
+
+    /**
+     * Adds the discount of a new line to the discount of the sale.
+     *
+     * @param sale The sale that changed.
+     * @param line The new line.
+     */
+    @Override
+    public synchronized void lineAdded(Sale sale, ItemDTO line) {
+        if (sale == boundSale) {
+            lineChanged(line);
+        }
+    }
+
+    /**
+     * Replaces the discount of a changed line in the discount of the sale.
+     *
+     * @param sale The sale that changed.
+     * @param line The changed line.
+     * @param previousQuantity The quantity of the line before the change.
+     */
+    @Override
+    public synchronized void quantityChanged(Sale sale, ItemDTO line, int previousQuantity) {
+        if (sale == boundSale) {
+            lineChanged(line);
+        }
+    }
+
+    private void bind(Sale sale) {
+        if (boundSale != null) {
+            boundSale.removeSaleLineListener(this);
+        }
+        boundSale = sale;
+        lineDiscounts.clear();
+        totalDiscount = 0;
+        changed = false;
+        List<ItemDTO> lines = sale.getListOfItemDTOs();
+        if (discountDatabase.hasPerLineItemDiscounts()) {
+            List<Amount> discounts = lines.isEmpty() ? List.of() : discountDatabase.getDiscountsFromLines(lines);
+            for (int i = 0; i < lines.size(); i++) {
+                long lineDiscount = discounts.get(i).getMinorUnits();
+                lineDiscounts.put(lines.get(i).getItemIdentifier(), lineDiscount);
+                totalDiscount = Money.add(totalDiscount, lineDiscount);
+            }
+        } else {
+            totalDiscount = discountDatabase.getDiscountFromItems(lines).getMinorUnits();
+        }
+        sale.addSaleLineListener(this);
+    }
+
+    private void lineChanged(ItemDTO line) {
+        if (discountDatabase.hasPerLineItemDiscounts()) {
+            updateLine(line);
+        } else {
+            changed = true;
+        }
+    }
+
+    private void updateLine(ItemDTO line) {
+        long lineDiscount = discountDatabase.getDiscountFromItem(line).getMinorUnits();
+        Long previousDiscount = lineDiscounts.put(line.getItemIdentifier(), lineDiscount);
+        totalDiscount = Money.add(totalDiscount, lineDiscount);
+        if (previousDiscount != null) {
+            totalDiscount = Money.subtract(totalDiscount, previousDiscount);
+        }
     }
 }
\ No newline at end of file
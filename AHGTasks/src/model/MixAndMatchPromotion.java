@@ -0,0 +1,97 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A promotion of the kind "any 3 of these items for 50 kr". Units of all the listed items count
+ * towards the groups, and the most expensive units are grouped first, so the customer always gets
+ * the largest discount the promotion allows.
+ */
+public class MixAndMatchPromotion extends PromotionRule {
+    private final int groupQuantity;
+    private final long groupPrice;
+
+    /**
+     * Creates a mix-and-match promotion.
+     *
+     * @param id The unique identifier of the promotion.
+     * @param itemIdentifiers The identifiers of the items that can be combined.
+     * @param groupQuantity The number of units in a group.
+     * @param groupPrice The price, including VAT, of a complete group.
+     * @throws IllegalArgumentException if the group is empty or the price is negative.
+     */
+    public MixAndMatchPromotion(String id, Collection<String> itemIdentifiers, int groupQuantity, Amount groupPrice) {
+        super(id, itemIdentifiers);
+        if (groupQuantity <= 0 || groupPrice.getMinorUnits() < 0) {
+            throw new IllegalArgumentException("Promotion " + id + " must have a positive group size and a price.");
+        }
+        this.groupQuantity = groupQuantity;
+        this.groupPrice = groupPrice.getMinorUnits();
+    }
+
+    /**
+     * Gives the difference between the price of the grouped units and the group price as discount.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The discount in ore.
+     */
+    @Override
+    public long calculateDiscount(Map<String, Item> lines) {
+        Map<String, Integer> groupedUnits = groupUnits(lines);
+        long units = 0;
+        long groupedPrice = 0;
+        for (Map.Entry<String, Integer> grouped : groupedUnits.entrySet()) {
+            units += grouped.getValue();
+            long unitPrice = lines.get(grouped.getKey()).getUnitPriceWithVATInMinorUnits();
+            groupedPrice = Money.add(groupedPrice, Money.multiply(unitPrice, grouped.getValue()));
+        }
+        long groups = units / groupQuantity;
+        return Math.max(0, Money.subtract(groupedPrice, Money.multiply(groupPrice, groups)));
+    }
+
+    /**
+     * Uses the units of the complete groups, the most expensive first.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The units used, by item identifier.
+     */
+    @Override
+    public Map<String, Integer> getUnitsUsed(Map<String, Item> lines) {
+        return groupUnits(lines);
+    }
+
+    private Map<String, Integer> groupUnits(Map<String, Item> lines) {
+        List<Item> matchingLines = new ArrayList<>();
+        long units = 0;
+        for (String itemIdentifier : getItemIdentifiers()) {
+            Item line = lines.get(itemIdentifier);
+            if (line != null) {
+                matchingLines.add(line);
+                units += line.getQuantity();
+            }
+        }
+        long groups = units / groupQuantity;
+        if (groups == 0) {
+            return Collections.emptyMap();
+        }
+
+        matchingLines.sort((first, second) -> Long.compare(second.getUnitPriceWithVATInMinorUnits(),
+                                                            first.getUnitPriceWithVATInMinorUnits()));
+        long unitsToGroup = groups * groupQuantity;
+        Map<String, Integer> groupedUnits = new LinkedHashMap<>();
+        for (Item line : matchingLines) {
+            int grouped = (int) Math.min(unitsToGroup, line.getQuantity());
+            groupedUnits.put(line.getIdentifier(), grouped);
+            unitsToGroup -= grouped;
+            if (unitsToGroup == 0) {
+                break;
+            }
+        }
+        return groupedUnits;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package model;
+
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic on monetary values stored as a whole number of ore in a <code>long</code>.
+ *
+ * All operations work on primitive values and allocate nothing, which makes them suitable for
+ * totals that are updated on every scan. Conversions from fractional values round by an explicit
+ * {@link RoundingMode}; when no mode is given, {@link RoundingMode#HALF_UP} is used.
+ */
+public final class Money {
+    /**
+     * The number of ore in one krona.
+     */
+    public static final long ORE_PER_KRONA = 100;
+
+    /**
+     * The rounding mode used when no other mode is specified.
+     */
+    public static final RoundingMode DEFAULT_ROUNDING = RoundingMode.HALF_UP;
+
+    private static final double SNAP_PRECISION = 1_000_000.0;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount in kronor to ore, rounding half up.
+     *
+     * @param kronor The amount in kronor.
+     * @return The amount in ore.
+     */
+    public static long fromKronor(double kronor) {
+        return fromKronor(kronor, DEFAULT_ROUNDING);
+    }
+
+    /**
+     * Converts an amount in kronor to ore, using the specified rounding mode.
+     *
+     * @param kronor The amount in kronor.
+     * @param roundingMode How to round fractions of an ore.
+     * @return The amount in ore.
+     */
+    public static long fromKronor(double kronor, RoundingMode roundingMode) {
+        return round(kronor * ORE_PER_KRONA, roundingMode);
+    }
+
+    /**
+     * Converts an amount in ore to kronor.
+     *
+     * @param ore The amount in ore.
+     * @return The amount in kronor.
+     */
+    public static double toKronor(long ore) {
+        return (double) ore / ORE_PER_KRONA;
+    }
+
+    /**
+     * Adds two amounts in ore.
+     *
+     * @throws ArithmeticException if the result overflows.
+     */
+    public static long add(long ore, long otherOre) {
+        return Math.addExact(ore, otherOre);
+    }
+
+    /**
+     * Subtracts an amount in ore from another.
+     *
+     * @throws ArithmeticException if the result overflows.
+     */
+    public static long subtract(long ore, long otherOre) {
+        return Math.subtractExact(ore, otherOre);
+    }
+
+    /**
+     * Multiplies an amount in ore by a whole number, for example a quantity. The result is exact.
+     *
+     * @throws ArithmeticException if the result overflows.
+     */
+    public static long multiply(long ore, long factor) {
+        return Math.multiplyExact(ore, factor);
+    }
+
+    /**
+     * Multiplies an amount in ore by a fractional factor, for example a VAT or discount rate,
+     * and rounds the result to whole ore using the specified rounding mode.
+     *
+     * @param ore The amount in ore.
+     * @param factor The multiplier.
+     * @param roundingMode How to round fractions of an ore.
+     * @return The rounded product in ore.
+     */
+    public static long multiply(long ore, double factor, RoundingMode roundingMode) {
+        return round(ore * factor, roundingMode);
+    }
+
+    /**
+     * Appends an amount in ore to a builder, formatted with two decimals (for example <code>12.50</code>).
+     *
+     * @param builder The builder to append to.
+     * @param ore The amount in ore.
+     * @return The same builder.
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long ore) {
+        if (ore < 0) {
+            builder.append('-');
+        }
+        long absoluteOre = Math.abs(ore);
+        long fraction = absoluteOre % ORE_PER_KRONA;
+        builder.append(absoluteOre / ORE_PER_KRONA).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+
+    /**
+     * Rounds a fractional number of ore to a whole number of ore. The value is first snapped to
+     * millionths of an ore, so that binary representation errors (such as 2990.0000000000005)
+     * do not decide the direction of the rounding.
+     */
+    private static long round(double ore, RoundingMode roundingMode) {
+        double value = Math.rint(ore * SNAP_PRECISION) / SNAP_PRECISION;
+        double rounded;
+        switch (roundingMode) {
+            case UP:
+                rounded = value >= 0 ? Math.ceil(value) : Math.floor(value);
+                break;
+            case DOWN:
+                rounded = value >= 0 ? Math.floor(value) : Math.ceil(value);
+                break;
+            case CEILING:
+                rounded = Math.ceil(value);
+                break;
+            case FLOOR:
+                rounded = Math.floor(value);
+                break;
+            case HALF_UP:
+                rounded = value >= 0 ? Math.floor(value + 0.5) : Math.ceil(value - 0.5);
+                break;
+            case HALF_DOWN:
+                rounded = value >= 0 ? Math.ceil(value - 0.5) : Math.floor(value + 0.5);
+                break;
+            case HALF_EVEN:
+                rounded = Math.rint(value);
+                break;
+            case UNNECESSARY:
+                if (value != Math.rint(value)) {
+                    throw new ArithmeticException("Rounding necessary for " + ore + " ore.");
+                }
+                rounded = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported rounding mode: " + roundingMode);
+        }
+        if (rounded > Long.MAX_VALUE || rounded < Long.MIN_VALUE) {
+            throw new ArithmeticException("Amount out of range: " + ore + " ore.");
+        }
+        return (long) rounded;
+    }
+}
\ No newline at end of file
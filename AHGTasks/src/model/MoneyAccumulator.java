@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * A mutable running total of money, stored as a whole number of ore.
+ *
+ * Adding to the accumulator does not allocate any objects. The accumulator is not thread-safe;
+ * it is meant to be owned by a single sale, register or observer.
+ */
+public class MoneyAccumulator {
+    private long totalOre;
+
+    /**
+     * Creates a new accumulator starting at zero.
+     */
+    public MoneyAccumulator() {
+    }
+
+    /**
+     * Creates a new accumulator starting at the specified amount.
+     *
+     * @param initialAmount The amount to start from.
+     */
+    public MoneyAccumulator(Amount initialAmount) {
+        this.totalOre = initialAmount.getMinorUnits();
+    }
+
+    /**
+     * Adds an amount in ore to the total.
+     *
+     * @param ore The amount to add, in ore.
+     */
+    public void add(long ore) {
+        totalOre = Money.add(totalOre, ore);
+    }
+
+    /**
+     * Adds an amount to the total.
+     *
+     * @param amount The amount to add.
+     */
+    public void add(Amount amount) {
+        add(amount.getMinorUnits());
+    }
+
+    /**
+     * Subtracts an amount in ore from the total.
+     *
+     * @param ore The amount to subtract, in ore.
+     */
+    public void subtract(long ore) {
+        totalOre = Money.subtract(totalOre, ore);
+    }
+
+    /**
+     * Replaces the total with the specified amount.
+     *
+     * @param amount The new total.
+     */
+    public void set(Amount amount) {
+        totalOre = amount.getMinorUnits();
+    }
+
+    /**
+     * Gets the current total.
+     *
+     * @return The total in ore.
+     */
+    public long getMinorUnits() {
+        return totalOre;
+    }
+
+    /**
+     * Creates an Amount holding the current total.
+     *
+     * @return The total as an Amount.
+     */
+    public Amount toAmount() {
+        return Amount.ofMinorUnits(totalOre);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A promotion of the kind "buy 3, pay for 2" on one item. Every complete group of units
+ * is charged as the smaller number of units; units that do not fill a group pay full price.
+ */
+public class MultiBuyPromotion extends PromotionRule {
+    private final String itemIdentifier;
+    private final int buyQuantity;
+    private final int payQuantity;
+
+    /**
+     * Creates a multi-buy promotion.
+     *
+     * @param id The unique identifier of the promotion.
+     * @param itemIdentifier The identifier of the discounted item.
+     * @param buyQuantity The number of units in a group.
+     * @param payQuantity The number of units charged for a group.
+     * @throws IllegalArgumentException if the quantities do not give a discount.
+     */
+    public MultiBuyPromotion(String id, String itemIdentifier, int buyQuantity, int payQuantity) {
+        super(id, Collections.singleton(itemIdentifier));
+        if (payQuantity < 0 || buyQuantity <= payQuantity) {
+            throw new IllegalArgumentException("Promotion " + id + " must charge for fewer units than are bought.");
+        }
+        this.itemIdentifier = itemIdentifier;
+        this.buyQuantity = buyQuantity;
+        this.payQuantity = payQuantity;
+    }
+
+    /**
+     * Gives the free units of every complete group as discount.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The discount in ore.
+     */
+    @Override
+    public long calculateDiscount(Map<String, Item> lines) {
+        Item line = lines.get(itemIdentifier);
+        if (line == null) {
+            return 0;
+        }
+        long freeUnits = (long) (line.getQuantity() / buyQuantity) * (buyQuantity - payQuantity);
+        return Money.multiply(line.getUnitPriceWithVATInMinorUnits(), freeUnits);
+    }
+
+    /**
+     * Uses the units of the complete groups; units that do not fill a group are left for other promotions.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The units used, by item identifier.
+     */
+    @Override
+    public Map<String, Integer> getUnitsUsed(Map<String, Item> lines) {
+        Item line = lines.get(itemIdentifier);
+        if (line == null || line.getQuantity() < buyQuantity) {
+            return Collections.emptyMap();
+        }
+        return Collections.singletonMap(itemIdentifier, line.getQuantity() / buyQuantity * buyQuantity);
+    }
+}
\ No newline at end of file
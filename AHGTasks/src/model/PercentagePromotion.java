@@ -0,0 +1,44 @@
+package model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A promotion that takes a percentage off the price of every unit of one item.
+ */
+public class PercentagePromotion extends PromotionRule {
+    private final String itemIdentifier;
+    private final double fraction;
+
+    /**
+     * Creates a percentage promotion.
+     *
+     * @param id The unique identifier of the promotion.
+     * @param itemIdentifier The identifier of the discounted item.
+     * @param percentage The percentage taken off, between 0 and 100.
+     * @throws IllegalArgumentException if the percentage is out of range.
+     */
+    public PercentagePromotion(String id, String itemIdentifier, double percentage) {
+        super(id, Collections.singleton(itemIdentifier));
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("Promotion " + id + " must have a percentage between 0 and 100.");
+        }
+        this.itemIdentifier = itemIdentifier;
+        this.fraction = percentage / 100;
+    }
+
+    /**
+     * Takes the percentage off the total price, including VAT, of the item's line.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The discount in ore.
+     */
+    @Override
+    public long calculateDiscount(Map<String, Item> lines) {
+        Item line = lines.get(itemIdentifier);
+        if (line == null) {
+            return 0;
+        }
+        return Money.multiply(line.getTotalPriceWithVATInMinorUnits(), fraction, Money.DEFAULT_ROUNDING);
+    }
+}
\ No newline at end of file
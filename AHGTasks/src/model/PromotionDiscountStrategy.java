@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * A discount strategy that gives the discounts of the active promotions, as evaluated by a
+ * {@link PromotionEngine}. The result is reused while the sale is unchanged.
+ */
+public class PromotionDiscountStrategy implements DiscountStrategy {
+    private final PromotionEngine promotionEngine;
+    private volatile DiscountMemo memo;
+
+    /**
+     * Creates a strategy that uses the specified engine.
+     *
+     * @param promotionEngine The engine holding the active promotions.
+     */
+    public PromotionDiscountStrategy(PromotionEngine promotionEngine) {
+        this.promotionEngine = promotionEngine;
+    }
+
+    /**
+     * Calculates the promotion discount of all items in the sale.
+     *
+     * @param sale The current sale the discount will be applied on.
+     * @return The promotion discount of the sale.
+     */
+    @Override
+    public Amount calculateDiscount(Sale sale) {
+        DiscountMemo lastDiscount = memo;
+        if (DiscountMemo.isFor(lastDiscount, sale)) {
+            return lastDiscount.getDiscount();
+        }
+        long version = sale.getVersion();
+        Amount discount = Amount.ofMinorUnits(promotionEngine.calculateDiscount(sale.getLines()));
+        memo = DiscountMemo.forSale(sale, version, discount);
+        return discount;
+    }
+}
\ No newline at end of file
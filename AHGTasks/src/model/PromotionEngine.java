@@ -0,0 +1,187 @@
+package model;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates a set of promotion rules against baskets. The rules are compiled once into an index from
+ * item identifier to the rules that mention the item, so evaluating a basket only looks at the rules
+ * for the items in it, however many promotions are active.
+ *
+ * Every unit in the basket is discounted by one rule at most. The rule that gives the largest discount
+ * is applied first and takes the units it uses out of the basket; the other rules are then evaluated
+ * on the units that are left, until no rule gives a discount. The sum is also limited to the price of
+ * the basket. The engine is immutable after it is created and can be shared by all lanes.
+ */
+public class PromotionEngine {
+    private static final int[] NO_RULES = new int[0];
+
+    private final PromotionRule[] rules;
+    private final Map<String, int[]> rulesByItem;
+
+    /**
+     * Compiles a set of rules into an engine.
+     *
+     * @param rules The active promotion rules.
+     * @throws IllegalArgumentException if two rules have the same identifier.
+     */
+    public PromotionEngine(Collection<? extends PromotionRule> rules) {
+        this.rules = rules.toArray(new PromotionRule[0]);
+        Set<String> ids = new HashSet<>();
+        Map<String, List<Integer>> indexes = new HashMap<>();
+        for (int ruleIndex = 0; ruleIndex < this.rules.length; ruleIndex++) {
+            PromotionRule rule = this.rules[ruleIndex];
+            if (!ids.add(rule.getId())) {
+                throw new IllegalArgumentException("Promotion " + rule.getId() + " is defined more than once.");
+            }
+            for (String itemIdentifier : rule.getItemIdentifiers()) {
+                indexes.computeIfAbsent(itemIdentifier, identifier -> new ArrayList<>()).add(ruleIndex);
+            }
+        }
+        this.rulesByItem = new HashMap<>(indexes.size() * 2);
+        for (Map.Entry<String, List<Integer>> index : indexes.entrySet()) {
+            rulesByItem.put(index.getKey(), index.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Gets the number of rules in the engine.
+     *
+     * @return The number of rules.
+     */
+    public int getRuleCount() {
+        return rules.length;
+    }
+
+    /**
+     * Gets the rules that apply to an item.
+     *
+     * @param itemIdentifier The identifier of the item.
+     * @return The rules mentioning the item, in the order they were given.
+     */
+    public List<PromotionRule> getRulesFor(String itemIdentifier) {
+        int[] ruleIndexes = rulesByItem.getOrDefault(itemIdentifier, NO_RULES);
+        List<PromotionRule> itemRules = new ArrayList<>(ruleIndexes.length);
+        for (int ruleIndex : ruleIndexes) {
+            itemRules.add(rules[ruleIndex]);
+        }
+        return Collections.unmodifiableList(itemRules);
+    }
+
+    /**
+     * Calculates the total promotion discount of a basket.
+     *
+     * @param lines The lines of the basket.
+     * @return The discount in ore, at most the price of the basket.
+     */
+    public long calculateDiscount(Collection<Item> lines) {
+        Map<String, Item> linesByItem = new LinkedHashMap<>(lines.size() * 2);
+        for (Item line : lines) {
+            linesByItem.put(line.getIdentifier(), line);
+        }
+        return calculateDiscount(linesByItem);
+    }
+
+    /**
+     * Calculates the total promotion discount of a basket. Only the rules that mention an item in the
+     * basket are evaluated, and a rule is only evaluated again if another rule took units of its items.
+     * The lines are read, never copied or changed.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The discount in ore, at most the price of the basket.
+     */
+    public long calculateDiscount(Map<String, Item> lines) {
+        BitSet matchingRules = new BitSet();
+        long basketPrice = 0;
+        for (Item line : lines.values()) {
+            basketPrice = Money.add(basketPrice, line.getTotalPriceWithVATInMinorUnits());
+            for (int ruleIndex : rulesByItem.getOrDefault(line.getIdentifier(), NO_RULES)) {
+                matchingRules.set(ruleIndex);
+            }
+        }
+
+        RemainingLines remaining = new RemainingLines(lines);
+        Map<Integer, Long> ruleDiscounts = new HashMap<>();
+        long discount = 0;
+        while (!matchingRules.isEmpty()) {
+            int bestRule = -1;
+            long bestDiscount = 0;
+            for (int ruleIndex = matchingRules.nextSetBit(0); ruleIndex >= 0; ruleIndex = matchingRules.nextSetBit(ruleIndex + 1)) {
+                Long ruleDiscount = ruleDiscounts.get(ruleIndex);
+                if (ruleDiscount == null) {
+                    ruleDiscount = rules[ruleIndex].calculateDiscount(remaining);
+                    ruleDiscounts.put(ruleIndex, ruleDiscount);
+                }
+                if (ruleDiscount > bestDiscount) {
+                    bestRule = ruleIndex;
+                    bestDiscount = ruleDiscount;
+                }
+            }
+            if (bestRule < 0) {
+                break;
+            }
+            discount = Money.add(discount, bestDiscount);
+            matchingRules.clear(bestRule);
+            for (Map.Entry<String, Integer> used : rules[bestRule].getUnitsUsed(remaining).entrySet()) {
+                remaining.take(used.getKey(), used.getValue());
+                for (int ruleIndex : rulesByItem.getOrDefault(used.getKey(), NO_RULES)) {
+                    ruleDiscounts.remove(ruleIndex);
+                }
+            }
+        }
+        return Math.min(discount, basketPrice);
+    }
+
+    /**
+     * The lines of a basket without the units that rules have already used. Only the lines that
+     * rules took units from are copied; all other lines are read from the basket.
+     */
+    private static final class RemainingLines extends AbstractMap<String, Item> {
+        private final Map<String, Item> basket;
+        private final Map<String, Item> changedLines = new HashMap<>();
+
+        private RemainingLines(Map<String, Item> basket) {
+            this.basket = basket;
+        }
+
+        private void take(String itemIdentifier, int units) {
+            Item line = get(itemIdentifier);
+            if (line == null || units <= 0) {
+                return;
+            }
+            int left = line.getQuantity() - Math.min(units, line.getQuantity());
+            changedLines.put(itemIdentifier, left == 0 ? null : new Item(line.getDTO(), left));
+        }
+
+        @Override
+        public Item get(Object itemIdentifier) {
+            return changedLines.containsKey(itemIdentifier) ? changedLines.get(itemIdentifier) : basket.get(itemIdentifier);
+        }
+
+        @Override
+        public boolean containsKey(Object itemIdentifier) {
+            return get(itemIdentifier) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Item>> entrySet() {
+            Map<String, Item> lines = new LinkedHashMap<>();
+            for (String itemIdentifier : basket.keySet()) {
+                Item line = get(itemIdentifier);
+                if (line != null) {
+                    lines.put(itemIdentifier, line);
+                }
+            }
+            return Collections.unmodifiableMap(lines).entrySet();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A promotion that gives a discount on certain items. A rule names the items it applies to, so that a
+ * {@link PromotionEngine} only evaluates the rules for items that are actually in the basket.
+ */
+public abstract class PromotionRule {
+    private final String id;
+    private final Set<String> itemIdentifiers;
+
+    /**
+     * Creates a rule that applies to the specified items.
+     *
+     * @param id The unique identifier of the promotion.
+     * @param itemIdentifiers The identifiers of the items the promotion applies to.
+     * @throws IllegalArgumentException if the rule has no identifier or no items.
+     */
+    protected PromotionRule(String id, Collection<String> itemIdentifiers) {
+        if (id == null || id.isEmpty()) {
+            throw new IllegalArgumentException("A promotion must have an identifier.");
+        }
+        if (itemIdentifiers == null || itemIdentifiers.isEmpty()) {
+            throw new IllegalArgumentException("Promotion " + id + " must apply to at least one item.");
+        }
+        this.id = id;
+        this.itemIdentifiers = Collections.unmodifiableSet(new LinkedHashSet<>(itemIdentifiers));
+    }
+
+    /**
+     * Gets the unique identifier of the promotion.
+     *
+     * @return The promotion identifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the identifiers of the items the promotion applies to.
+     *
+     * @return The item identifiers.
+     */
+    public Set<String> getItemIdentifiers() {
+        return itemIdentifiers;
+    }
+
+    /**
+     * Calculates the discount of this promotion for a basket.
+     *
+     * @param lines The lines of the basket, by item identifier. The basket may contain items that the
+     *              promotion does not apply to.
+     * @return The discount in ore, never negative.
+     */
+    public abstract long calculateDiscount(Map<String, Item> lines);
+
+    /**
+     * Gets the units the promotion uses to give its discount for a basket. A {@link PromotionEngine}
+     * takes these units out of the basket before it evaluates other promotions, so no unit is
+     * discounted by two promotions. By default every unit of the items the promotion applies to is used.
+     *
+     * @param lines The lines of the basket, by item identifier.
+     * @return The number of units used, by item identifier.
+     */
+    public Map<String, Integer> getUnitsUsed(Map<String, Item> lines) {
+        Map<String, Integer> unitsUsed = new HashMap<>();
+        for (String itemIdentifier : itemIdentifiers) {
+            Item line = lines.get(itemIdentifier);
+            if (line != null) {
+                unitsUsed.put(itemIdentifier, line.getQuantity());
+            }
+        }
+        return unitsUsed;
+    }
+}
\ No newline at end of file
@@ -7,7 +7,11 @@ import utils.RevenueObserver;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents an ongoing sale containing multiple items and payment details.
@@ -16,11 +20,17 @@ import java.util.List;
  */
 public class Sale {
     private LocalDateTime timeAndDate;
-    private List<Item> saleItems = new ArrayList<>();
+    private Map<String, Item> saleItems = new LinkedHashMap<>();
+    private MoneyAccumulator runningTotalPrice = new MoneyAccumulator();
+    private MoneyAccumulator runningTotalNetPrice = new MoneyAccumulator();
+    private MoneyAccumulator runningTotalVAT = new MoneyAccumulator();
     private Amount amountPaid;
     private Amount totalDiscount = new Amount(0);
     private String customerID;
     private List<RevenueObserver> revenueObservers = new ArrayList<>();
+    private List<SaleLineListener> lineListeners = new CopyOnWriteArrayList<>();
+    private long version;
+    private boolean readOnly;
 
     /**
      * Creates a new Sale instance with the current time.
@@ -29,13 +39,53 @@ public class Sale {
         this.timeAndDate = LocalDateTime.now();
     }
 
-    private Item findItemByIdentifier(String itemIdentifier) {
-        for (Item currentSaleItem : saleItems) {
-            if (currentSaleItem.getIdentifier().equals(itemIdentifier)) {
-                return currentSaleItem;
-            }
+    /**
+     * Creates a read-only copy of the sale as it is now. Later changes of the sale do not show in the copy,
+     * so the copy can be read on another thread while the sale goes on. The copy has the same version,
+     * customer and discount as the sale, but no observers or listeners. Changing the copy throws an
+     * IllegalStateException.
+     *
+     * @return The copy.
+     */
+    Sale snapshot() {
+        Sale copy = new Sale();
+        copy.timeAndDate = timeAndDate;
+        for (Item item : saleItems.values()) {
+            Item copiedItem = new Item(item.getDTO(), item.getQuantity());
+            copy.saleItems.put(copiedItem.getIdentifier(), copiedItem);
+            copy.updateRunningTotals(copiedItem, copiedItem.getQuantity());
+        }
+        copy.amountPaid = amountPaid;
+        copy.totalDiscount = totalDiscount;
+        copy.customerID = customerID;
+        copy.version = version;
+        copy.readOnly = true;
+        return copy;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("A copy of a sale cannot be changed.");
         }
-        return null;
+    }
+
+    /**
+     * Looks up a registered item by its identifier. The items are indexed on their identifier
+     * in insertion order, so the lookup does not depend on the number of items in the sale
+     * while the receipt still lists the items in the order they were registered.
+     */
+    private Item findItemByIdentifier(String itemIdentifier) {
+        return saleItems.get(itemIdentifier);
+    }
+
+    /**
+     * Adds the contribution of newly registered units of an item to the running totals,
+     * so that the totals never have to be recomputed from all items in the sale.
+     */
+    private void updateRunningTotals(Item item, int addedQuantity) {
+        runningTotalNetPrice.add(Money.multiply(item.getUnitPriceInMinorUnits(), addedQuantity));
+        runningTotalVAT.add(Money.multiply(item.getUnitVATInMinorUnits(), addedQuantity));
+        runningTotalPrice.add(Money.multiply(item.getUnitPriceWithVATInMinorUnits(), addedQuantity));
     }
 
     private boolean addItemToSaleEdgeCaseCheck(ItemDTO itemDTO, int quantity) {
@@ -59,19 +109,25 @@ public class Sale {
      * @throws IllegalArgumentException if quantity is invalid or less than allowed.
      */
     public ItemDTO addItemToSale(ItemDTO itemDTO, int quantity) {
+        checkWritable();
         if (addItemToSaleEdgeCaseCheck(itemDTO, quantity)) {
             throw new IllegalArgumentException("Invalid quantity: " + quantity + " for item: " + itemDTO.getItemIdentifier());
         }
 
         Item itemFound = findItemByIdentifier(itemDTO.getItemIdentifier());
         if (itemFound != null) {
-            itemFound.increaseQuantity(quantity);
-            return itemFound.getDTO();
+            return addQuantity(itemFound, quantity);
         }
 
         Item newItem = new Item(itemDTO, quantity);
-        saleItems.add(newItem);
-        return newItem.getDTO();
+        saleItems.put(newItem.getIdentifier(), newItem);
+        updateRunningTotals(newItem, quantity);
+        version++;
+        ItemDTO line = newItem.getDTO();
+        for (SaleLineListener listener : lineListeners) {
+            listener.lineAdded(this, line);
+        }
+        return line;
     }
 
     /**
@@ -93,6 +149,7 @@ public class Sale {
      * @throws IllegalArgumentException if the item is not found.
      */
     public ItemDTO increaseQuantity(String itemIdentifier, int quantity) {
+        checkWritable();
         Item item = findItemByIdentifier(itemIdentifier);
         if (item == null) {
             throw new IllegalArgumentException("Item with identifier " + itemIdentifier + " not found in the sale.");
@@ -100,8 +157,19 @@ public class Sale {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity to increase must be positive.");
         }
+        return addQuantity(item, quantity);
+    }
+
+    private ItemDTO addQuantity(Item item, int quantity) {
+        int previousQuantity = item.getQuantity();
         item.increaseQuantity(quantity);
-        return item.getDTO();
+        updateRunningTotals(item, quantity);
+        version++;
+        ItemDTO line = item.getDTO();
+        for (SaleLineListener listener : lineListeners) {
+            listener.quantityChanged(this, line, previousQuantity);
+        }
+        return line;
     }
     
     /**
@@ -116,29 +184,32 @@ public class Sale {
     }
 
     /**
-     * Calculates the total price (including VAT) for all items in the sale.
+     * Gets the total price (including VAT) for all items in the sale.
+     * The total is kept up to date as items are registered, so this does not depend on the number of items.
      * 
      * @return The total amount.
      */
     public Amount calculateTotalPrice() {
-        double total = 0;
-        for (Item currentItem : saleItems) {
-            total += currentItem.getTotalPriceWithVAT().getAmount();
-        }
-        return new Amount(total);
+        return runningTotalPrice.toAmount();
     }
 
     /**
-     * Calculates the total VAT for all items in the sale.
+     * Gets the total price (excluding VAT) for all items in the sale.
+     * 
+     * @return The total amount without VAT.
+     */
+    public Amount calculateTotalNetPrice() {
+        return runningTotalNetPrice.toAmount();
+    }
+
+    /**
+     * Gets the total VAT for all items in the sale.
+     * The total is kept up to date as items are registered, so this does not depend on the number of items.
      * 
      * @return Total VAT amount.
      */
     public Amount calculateTotalVAT() {
-        double totalVAT = 0;
-        for (Item currentItem : saleItems) {
-            totalVAT += currentItem.getTotalVAT().getAmount();
-        }
-        return new Amount(totalVAT);
+        return runningTotalVAT.toAmount();
     }
 
     /**
@@ -147,7 +218,11 @@ public class Sale {
      * @return Final total after discounts.
      */
     public Amount calculateTotalPriceAfterDiscount() {
-        return calculateTotalPrice().subtract(getTotalDiscount());
+        return Amount.ofMinorUnits(calculateTotalPriceAfterDiscountInMinorUnits());
+    }
+
+    private long calculateTotalPriceAfterDiscountInMinorUnits() {
+        return Money.subtract(calculateTotalPrice().getMinorUnits(), getTotalDiscount().getMinorUnits());
     }
 
 
@@ -158,6 +233,7 @@ public class Sale {
      * @param discountStrategy The discount strategy to use for calculation.
      */
     public void calculateDiscounts(DiscountStrategy discountStrategy) {
+        checkWritable();
         if (discountStrategy != null) {
             this.totalDiscount = discountStrategy.calculateDiscount(this);
         } else {
@@ -172,13 +248,14 @@ public class Sale {
      * @throws IllegalArgumentException is thrown if the customer gives a payment which is less than the total price.
      */
     public void pay(Amount paidAmount) {
-        Amount totalPriceAfterDiscount = calculateTotalPriceAfterDiscount();
-        if (paidAmount.getAmount() < totalPriceAfterDiscount.getAmount()) {
+        checkWritable();
+        long totalPriceAfterDiscount = calculateTotalPriceAfterDiscountInMinorUnits();
+        if (paidAmount.getMinorUnits() < totalPriceAfterDiscount) {
             throw new IllegalArgumentException("Payment is less than the total price. Payment rejected.");
         }
         this.amountPaid = paidAmount;
 
-        notifyObservers(totalPriceAfterDiscount);
+        notifyObservers(Amount.ofMinorUnits(totalPriceAfterDiscount));
     }
 
     /**
@@ -187,8 +264,8 @@ public class Sale {
      * @return The change amount.
      */
     public Amount calculateChange() {
-        double change = amountPaid.getAmount() - calculateTotalPriceAfterDiscount().getAmount();
-        return new Amount(change);
+        long change = Money.subtract(amountPaid.getMinorUnits(), calculateTotalPriceAfterDiscountInMinorUnits());
+        return Amount.ofMinorUnits(change);
     }
 
     /**
@@ -228,7 +305,7 @@ public class Sale {
      */
     public List<ItemDTO> getListOfItemDTOs() {
         List<ItemDTO> itemDTOs = new ArrayList<>();
-        for (Item currentItem : saleItems) {
+        for (Item currentItem : saleItems.values()) {
             itemDTOs.add(currentItem.getDTO());
         }
         return itemDTOs;
@@ -241,7 +318,17 @@ public class Sale {
      * @return List of Item objects.
      */
     public List<Item> getItems() {
-        return new ArrayList<>(saleItems);
+        return new ArrayList<>(saleItems.values());
+    }
+
+    /**
+     * Gets a read-only view of the lines of the sale, by item identifier. The view is not a copy, so it
+     * follows the sale and must only be read by the thread that changes the sale.
+     *
+     * @return The lines of the sale.
+     */
+    Map<String, Item> getLines() {
+        return Collections.unmodifiableMap(saleItems);
     }
 
     /**
@@ -257,7 +344,20 @@ public class Sale {
      * @param customerID the ID of the customer of the current sale.
      */
     public void setCustomerID(String customerID) {
+        checkWritable();
         this.customerID = customerID;
+        version++;
+    }
+
+    /**
+     * Gets the version of the sale. The version changes every time an item is added or its quantity
+     * changes, and when the customer is set, so two equal versions mean that the basket and the
+     * customer are unchanged. Discount strategies use it to reuse earlier results.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -277,6 +377,24 @@ public class Sale {
         revenueObservers.add(observer);
     }
 
+    /**
+     * Adds a listener that is told about every line that is added to the sale and every quantity that changes.
+     *
+     * @param listener The listener to add.
+     */
+    public void addSaleLineListener(SaleLineListener listener) {
+        lineListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener that was added with {@link #addSaleLineListener(SaleLineListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeSaleLineListener(SaleLineListener listener) {
+        lineListeners.remove(listener);
+    }
+
     /**
      * A function which gives the revenue values for the observer views.
      * 
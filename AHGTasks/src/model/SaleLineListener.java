@@ -0,0 +1,26 @@
+package model;
+
+import dto.ItemDTO;
+
+/**
+ * Receives the changes of the lines in a sale as they happen, so that a listener can keep
+ * a result up to date by looking only at the line that changed.
+ */
+public interface SaleLineListener {
+    /**
+     * Called when a new item is added to the sale.
+     *
+     * @param sale The sale that changed.
+     * @param line The new line, with its quantity.
+     */
+    void lineAdded(Sale sale, ItemDTO line);
+
+    /**
+     * Called when the quantity of an item already in the sale changes.
+     *
+     * @param sale The sale that changed.
+     * @param line The changed line, with its new quantity.
+     * @param previousQuantity The quantity of the line before the change.
+     */
+    void quantityChanged(Sale sale, ItemDTO line, int previousQuantity);
+}
\ No newline at end of file
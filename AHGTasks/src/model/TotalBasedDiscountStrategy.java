@@ -3,6 +3,7 @@ package model;
 // Total-based discount
 public class TotalBasedDiscountStrategy implements DiscountStrategy {
     private DiscountDatabase discountDatabase;
+    private volatile DiscountMemo memo;
 
     /**
      * Constructs the discount strategy by taking the discount databas.
@@ -15,13 +16,21 @@ public class TotalBasedDiscountStrategy implements DiscountStrategy {
     /**
      * Calculates the discount of a sale by taking the whole price and discounting based on if the total price exceeds a certain limit.
      * For this example we set that if the total exceeds 500kr, the discount is 10%.
+     * The discount only depends on the total, so it is only calculated again when the total changes.
      * @param sale The current sale the discount will be applied on.
      * @return the price of the sale after discount.
      */
     @Override
     public Amount calculateDiscount(Sale sale) {
         Amount total = sale.calculateTotalPrice();
+        long totalInMinorUnits = total.getMinorUnits();
+        DiscountMemo lastDiscount = memo;
+        if (lastDiscount != null && lastDiscount.matches(null, totalInMinorUnits)) {
+            return lastDiscount.getDiscount();
+        }
         Amount percentage = discountDatabase.getDiscountFromTotal(total);
-        return new Amount(total.getAmount() * percentage.getAmount());
+        Amount discount = new Amount(total.getAmount() * percentage.getAmount());
+        memo = new DiscountMemo(null, totalInMinorUnits, discount);
+        return discount;
     }
 }
\ No newline at end of file
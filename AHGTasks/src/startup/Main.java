@@ -1,25 +1,88 @@
 package startup;
 
 import controller.Controller;
+import integration.SaleJournal;
+import integration.SaleJournalReplayer;
+import integration.ServiceRegistry;
+import utils.AsyncLogWriter;
+import utils.LogHandler;
 import view.View;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * The entry point of the application.
  * This class is responsible for initializing the application by creating instances of
  * the Controller and View classes, which handle the application logic and user interface respectively.
  */
 public class Main {
+    private static final String LOG_FILE = "error_log.txt";
+    private static final int LOG_CAPACITY = 1024;
 
     /**
      * Main method that serves as the starting point of the application.
-     * It creates a new Controller instance and passes it to the View.
+     * It starts the integration services, creates a new Controller instance and passes it to the View.
+     * The services are stopped and the View is closed when the View is done.
      * This starts the application's flow by setting up the necessary components
      * for the user interface and the business logic.
      *
-     * @param args Command-line arguments (not used in this implementation).
+     * Errors are logged by a background writer, so that a failing system does not slow down the lanes
+     * that report the errors. All logged errors are written before the application exits.
+     *
+     * If the path of a sale journal is given, the register and inventory are first rebuilt from
+     * the sales in the journal, and all new sales are written to it.
+     *
+     * @param args Command-line arguments. The first, optional, argument is the path of the sale journal.
      */
     public static void main(String[] args) {
-        Controller ctrl = new Controller();
-        new View(ctrl);
+        LogHandler.enableAsyncLogging(new AsyncLogWriter(Paths.get(LOG_FILE), LOG_CAPACITY));
+        try {
+            run(args);
+        } finally {
+            LogHandler.disableAsyncLogging();
+        }
+    }
+
+    private static void run(String[] args) {
+        ServiceRegistry services = new ServiceRegistry();
+        SaleJournal saleJournal = null;
+        if (args != null && args.length > 0) {
+            Path journalFile = Paths.get(args[0]);
+            try {
+                new SaleJournalReplayer(services.getRegister(), services.getInventorySystem()).replay(journalFile);
+                saleJournal = new SaleJournal(journalFile);
+            } catch (IOException e) {
+                LogHandler.logException(e);
+                System.out.println("[FATAL ERROR] The sale journal could not be opened: " + e.getMessage());
+                return;
+            }
+        }
+
+        services.start();
+        View view = null;
+        try {
+            Controller ctrl = new Controller(services);
+            ctrl.setSaleJournal(saleJournal);
+            view = new View(ctrl);
+        } finally {
+            services.stop();
+            if (view != null) {
+                view.close();
+            }
+            closeJournal(saleJournal);
+        }
+    }
+
+    private static void closeJournal(SaleJournal saleJournal) {
+        if (saleJournal == null) {
+            return;
+        }
+        try {
+            saleJournal.close();
+        } catch (IOException e) {
+            LogHandler.logException(e);
+        }
     }
 }
\ No newline at end of file
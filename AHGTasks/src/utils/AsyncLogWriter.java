@@ -0,0 +1,355 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes log records to the error log on one background writer thread, so that the threads
+ * that log an exception never wait for the disk.
+ *
+ * Records wait in a ring buffer of fixed size. When the buffer is full, new records are dropped
+ * instead of making the logging thread wait, and the number of dropped records is written to the
+ * log once there is room again. Repeats of the same exception within the rate limit window of a
+ * record that was taken are not buffered at all; only their number is written with the next record
+ * of that exception, or when the writer is closed. The writer keeps the log file open and writes
+ * every batch of records with one write and flush. When the writer is closed, every record that was
+ * accepted is written before {@link #close()} returns.
+ */
+public class AsyncLogWriter implements Closeable {
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final int MAX_TRACKED_EXCEPTIONS = 1024;
+
+    private final Path logFile;
+    private final LogRecord[] ring;
+    private final long[] ringRepeats;
+    private final long rateLimitMillis;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition recordsAvailable = lock.newCondition();
+    private final Condition recordsWritten = lock.newCondition();
+    // Ordered by the start of the window, so the exceptions that were taken longest ago come first.
+    private final Map<String, Repeats> repeats = new LinkedHashMap<>();
+    private final StringBuilder batchBuffer = new StringBuilder();
+    private final Thread writer;
+    private Writer out;
+    private long head;
+    private long tail;
+    private long written;
+    private long dropped;
+    private long droppedReported;
+    private long suppressed;
+    private long untrackedRepeats;
+    private boolean accepting = true;
+
+    private static class Repeats {
+        private long windowStart;
+        private long count;
+
+        private Repeats(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+
+    /**
+     * Creates a new writer that appends to a log file, with a rate limit window of one second.
+     * The writer thread is started by {@link #start()}.
+     *
+     * @param logFile The file to append the records to.
+     * @param capacity The number of records that can wait to be written before new records are dropped.
+     */
+    public AsyncLogWriter(Path logFile, int capacity) {
+        this(logFile, capacity, Duration.ofSeconds(1), Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a new writer that appends to a log file. The writer thread is started by {@link #start()}.
+     *
+     * @param logFile The file to append the records to.
+     * @param capacity The number of records that can wait to be written before new records are dropped.
+     * @param rateLimitWindow The time after a record of an exception during which repeats of the exception are
+     *                        only counted. A zero window writes every record.
+     * @param clock The clock that repeats of an exception are timed with.
+     * @throws IllegalArgumentException if the capacity is not positive or the window is negative.
+     */
+    public AsyncLogWriter(Path logFile, int capacity, Duration rateLimitWindow, Clock clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        if (rateLimitWindow.isNegative()) {
+            throw new IllegalArgumentException("The rate limit window must not be negative.");
+        }
+        this.logFile = logFile;
+        this.ring = new LogRecord[capacity];
+        this.ringRepeats = new long[capacity];
+        this.rateLimitMillis = rateLimitWindow.toMillis();
+        this.clock = clock;
+        this.writer = new Thread(this::writeRecords, "error-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Adds a record to the ring buffer without waiting. The record is dropped if the buffer is full,
+     * and only counted if it repeats an exception that was taken within the rate limit window.
+     *
+     * @param record The record to write.
+     * @return False if the writer has been closed and the record was not taken, true otherwise.
+     */
+    public boolean submit(LogRecord record) {
+        lock.lock();
+        try {
+            if (!accepting) {
+                return false;
+            }
+            String exceptionKey = record.getExceptionKey();
+            long now = clock.millis();
+            Repeats exceptionRepeats = repeats.get(exceptionKey);
+            if (exceptionRepeats != null && now - exceptionRepeats.windowStart < rateLimitMillis) {
+                exceptionRepeats.count++;
+                suppressed++;
+                return true;
+            }
+            if (tail - head == ring.length) {
+                // A dropped record opens no window, so the next repeat of its exception is still taken.
+                dropped++;
+                return true;
+            }
+            int slot = (int) (tail % ring.length);
+            ring[slot] = record;
+            ringRepeats[slot] = openWindow(exceptionKey, exceptionRepeats, now);
+            tail++;
+            recordsAvailable.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all records that were taken before this call have been written.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        lock.lock();
+        try {
+            long target = tail;
+            while (written < target && writer.isAlive()) {
+                recordsWritten.await(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of records that were dropped because the ring buffer was full.
+     *
+     * @return The number of dropped records.
+     */
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of records that were only counted because they repeated an exception
+     * within the rate limit window.
+     *
+     * @return The number of suppressed records.
+     */
+    public long getSuppressedCount() {
+        lock.lock();
+        try {
+            return suppressed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops taking records, writes every record that is still in the ring buffer together with the
+     * number of repeats that were not written yet, and stops the writer thread.
+     * Calling this method more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            accepting = false;
+            recordsAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writer.getState() == Thread.State.NEW) {
+            // The writer was never started, so the closing thread writes the records instead.
+            writeRecords();
+            return;
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens a new rate limit window for an exception whose record was taken.
+     *
+     * @return The number of repeats of the exception that were counted since its previous record.
+     */
+    private long openWindow(String exceptionKey, Repeats exceptionRepeats, long now) {
+        long earlierRepeats = 0;
+        if (exceptionRepeats != null) {
+            earlierRepeats = exceptionRepeats.count;
+            repeats.remove(exceptionKey);
+        }
+        Iterator<Repeats> oldest = repeats.values().iterator();
+        while (repeats.size() >= MAX_TRACKED_EXCEPTIONS) {
+            untrackedRepeats += oldest.next().count;
+            oldest.remove();
+        }
+        Repeats window = new Repeats(now);
+        repeats.put(exceptionKey, window);
+        return earlierRepeats;
+    }
+
+    private void writeRecords() {
+        boolean running = true;
+        while (running) {
+            LogRecord[] batch;
+            long[] batchRepeats;
+            long newlyDropped;
+            lock.lock();
+            try {
+                while (head == tail && accepting) {
+                    recordsAvailable.await(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                running = accepting;
+                int size = (int) (tail - head);
+                batch = new LogRecord[size];
+                batchRepeats = new long[size];
+                for (int i = 0; i < size; i++) {
+                    int slot = (int) (head % ring.length);
+                    batch[i] = ring[slot];
+                    batchRepeats[i] = ringRepeats[slot];
+                    ring[slot] = null;
+                    head++;
+                }
+                newlyDropped = dropped - droppedReported;
+                droppedReported = dropped;
+            } catch (InterruptedException e) {
+                // The writer only stops once it has been closed and the ring buffer is empty.
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            batchBuffer.setLength(0);
+            for (int i = 0; i < batch.length; i++) {
+                batch[i].appendTo(batchBuffer, batchRepeats[i]);
+            }
+            appendDropped(newlyDropped);
+            if (!running) {
+                appendRemainingRepeats();
+            }
+            writeBatch(batch.length, !running);
+        }
+    }
+
+    private void appendDropped(long count) {
+        if (count > 0) {
+            batchBuffer.append("=== ").append(count).append(" LOG ENTRIES DROPPED, THE LOG BUFFER WAS FULL ===")
+                       .append(System.lineSeparator()).append(System.lineSeparator());
+        }
+    }
+
+    private void appendRemainingRepeats() {
+        lock.lock();
+        try {
+            for (Map.Entry<String, Repeats> exceptionRepeats : repeats.entrySet()) {
+                if (exceptionRepeats.getValue().count > 0) {
+                    batchBuffer.append("=== ").append(exceptionRepeats.getValue().count).append(" REPEATS NOT LOGGED: ")
+                               .append(exceptionRepeats.getKey()).append(" ===")
+                               .append(System.lineSeparator()).append(System.lineSeparator());
+                    exceptionRepeats.getValue().count = 0;
+                }
+            }
+            if (untrackedRepeats > 0) {
+                batchBuffer.append("=== ").append(untrackedRepeats)
+                           .append(" REPEATS NOT LOGGED OF EXCEPTIONS THAT WERE NO LONGER TRACKED ===")
+                           .append(System.lineSeparator()).append(System.lineSeparator());
+                untrackedRepeats = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeBatch(int records, boolean last) {
+        try {
+            if (batchBuffer.length() > 0) {
+                if (out == null) {
+                    out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                                                  StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                out.append(batchBuffer);
+                out.flush();
+            }
+            if (last) {
+                closeQuietly();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write to log file: " + e.getMessage());
+            closeQuietly();
+        } finally {
+            lock.lock();
+            try {
+                written += records;
+                recordsWritten.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } catch (IOException e) {
+            // The file is opened again for the next batch.
+        }
+        out = null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+package utils;
+
+import model.Amount;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A revenue observer that passes revenue on to other observers from one background consumer thread,
+ * so that a completed payment does not wait for slow observers such as a file writer.
+ *
+ * Revenue events are put on a bounded queue and delivered to every observer in the order they were
+ * reported, together with the lane they were reported for. When the queue is full, the
+ * {@link OverflowPolicy} decides whether the reporting lane waits for room or the event is dropped
+ * and counted. An observer that throws does not stop the delivery to the other observers; the
+ * failure is logged and counted. When the bus is closed, every accepted event is
+ * delivered before {@link #close()} returns, and revenue reported after that is delivered on the
+ * reporting thread, so no revenue is lost during shutdown.
+ */
+public class AsyncRevenueObserverBus implements RevenueObserver, Closeable {
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * What happens to a revenue event that is reported while the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** The reporting thread waits until there is room in the queue. */
+        BLOCK,
+        /** The event is not delivered, and counted as dropped. */
+        DROP
+    }
+
+    private final BlockingQueue<RevenueEvent> events;
+    private final OverflowPolicy overflowPolicy;
+    private final List<RevenueObserver> observers = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private final Object deliveredMonitor = new Object();
+    private final Thread consumer;
+    private volatile boolean accepting = true;
+    private long submitted;
+    private long delivered;
+    private long dropped;
+    private long failedDeliveries;
+
+    /**
+     * Creates a new bus. The consumer thread is started by {@link #start()}.
+     *
+     * @param capacity The number of revenue events that can wait to be delivered.
+     * @param overflowPolicy What to do with an event when the queue is full.
+     */
+    public AsyncRevenueObserverBus(int capacity, OverflowPolicy overflowPolicy) {
+        this.events = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.consumer = new Thread(this::deliverEvents, "revenue-observer-bus");
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * Starts the consumer thread.
+     */
+    public void start() {
+        consumer.start();
+    }
+
+    /**
+     * Adds an observer that revenue is delivered to.
+     *
+     * @param observer The observer to add.
+     */
+    public void addObserver(RevenueObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Removes an observer. Events that are already being delivered may still reach it.
+     *
+     * @param observer The observer to remove.
+     */
+    public void removeObserver(RevenueObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Puts the revenue of a completed sale on the queue, to be delivered to all observers.
+     *
+     * @param revenue The revenue from the latest sale.
+     */
+    @Override
+    public void newRevenue(Amount revenue) {
+        newRevenue(null, revenue);
+    }
+
+    /**
+     * Puts the revenue of a sale completed at a lane on the queue, to be delivered to all observers with its lane.
+     *
+     * @param laneId The lane where the sale was completed, or null if it is not known.
+     * @param revenue The revenue from the latest sale.
+     */
+    @Override
+    public void newRevenue(String laneId, Amount revenue) {
+        RevenueEvent event = new RevenueEvent(laneId, revenue);
+        submitLock.readLock().lock();
+        try {
+            if (accepting) {
+                enqueue(event);
+                return;
+            }
+        } finally {
+            submitLock.readLock().unlock();
+        }
+        deliver(event);
+    }
+
+    /**
+     * Waits until all revenue events that were accepted before this call have been delivered.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        synchronized (deliveredMonitor) {
+            long target = submitted;
+            while (delivered < target && consumer.isAlive()) {
+                deliveredMonitor.wait(IDLE_POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Stops queueing revenue, delivers all events that are still in the queue and stops the consumer thread.
+     * Calling this method more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        submitLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        // The consumer is not interrupted: an observer that writes through a FileChannel would lose its channel.
+        // It sees that the bus is closed within one poll timeout and stops once the queue is empty.
+        boolean interrupted = false;
+        while (consumer.isAlive()) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (!events.isEmpty()) {
+            // The consumer was never started, so the remaining events are delivered here.
+            List<RevenueEvent> remaining = new ArrayList<>();
+            events.drainTo(remaining);
+            deliverBatch(remaining);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of revenue events dropped because the queue was full.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEvents() {
+        synchronized (deliveredMonitor) {
+            return dropped;
+        }
+    }
+
+    /**
+     * Gets the number of times an observer threw while revenue was delivered to it.
+     *
+     * @return The number of failed deliveries.
+     */
+    public long getFailedDeliveries() {
+        synchronized (deliveredMonitor) {
+            return failedDeliveries;
+        }
+    }
+
+    private void enqueue(RevenueEvent event) {
+        synchronized (deliveredMonitor) {
+            submitted++;
+        }
+        boolean queued;
+        try {
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                events.put(event);
+                queued = true;
+            } else {
+                queued = events.offer(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            synchronized (deliveredMonitor) {
+                submitted--;
+                dropped++;
+            }
+        }
+    }
+
+    private void deliverEvents() {
+        List<RevenueEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (accepting || !events.isEmpty()) {
+            try {
+                RevenueEvent first = events.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                events.drainTo(batch, MAX_BATCH_SIZE - 1);
+                deliverBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // The consumer only stops once the bus has been closed and drained.
+            }
+        }
+    }
+
+    private void deliverBatch(List<RevenueEvent> batch) {
+        try {
+            for (RevenueEvent event : batch) {
+                deliver(event);
+            }
+        } finally {
+            synchronized (deliveredMonitor) {
+                delivered += batch.size();
+                deliveredMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void deliver(RevenueEvent event) {
+        for (RevenueObserver observer : observers) {
+            try {
+                if (event.laneId != null) {
+                    observer.newRevenue(event.laneId, event.revenue);
+                } else {
+                    observer.newRevenue(event.revenue);
+                }
+            } catch (RuntimeException e) {
+                synchronized (deliveredMonitor) {
+                    failedDeliveries++;
+                }
+                LogHandler.logException(e);
+            }
+        }
+    }
+
+    private static class RevenueEvent {
+        private final String laneId;
+        private final Amount revenue;
+
+        RevenueEvent(String laneId, Amount revenue) {
+            this.laneId = laneId;
+            this.revenue = revenue;
+        }
+    }
+}
\ No newline at end of file
@@ -4,30 +4,86 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Handles logging of system errors to a file.
+ *
+ * By default every exception is written to the log before {@link #logException(Exception)} returns.
+ * With {@link #enableAsyncLogging(AsyncLogWriter)} the exceptions are handed to a background writer
+ * instead, so that a burst of failures does not slow down the threads that report them.
  */
 public class LogHandler {
     private static final String LOG_FILE = "error_log.txt";
 
+    private static volatile AsyncLogWriter asyncWriter;
+    private static Thread shutdownHook;
+
     /**
-     * Function which logs errors in a document, specifiying when eror occured, 
+     * Function which logs errors in a document, specifiying when eror occured,
      * which exception occured and the message which follows it.
      * @param e the exception which is logged.
      */
     public static void logException(Exception e) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_FILE, true))) {
-            writer.println("=== ERROR LOG ENTRY ===");
-            writer.println("Time: " + LocalDateTime.now());
-            writer.println("Exception: " + e.getClass().getSimpleName());
-            writer.println("Message: " + e.getMessage());
-            for (StackTraceElement element : e.getStackTrace()) {
-                writer.println("    at " + element.toString());
+        logException(e, Map.of());
+    }
+
+    /**
+     * Logs an exception together with named fields that describe what the application was doing,
+     * for example the identifier of the item that was being registered.
+     *
+     * @param e the exception which is logged.
+     * @param fields the fields written with the exception, in iteration order.
+     */
+    public static void logException(Exception e, Map<String, ?> fields) {
+        LogRecord record = new LogRecord(LocalDateTime.now(), e, fields);
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null && writer.submit(record)) {
+            return;
+        }
+        StringBuilder entry = new StringBuilder();
+        record.appendTo(entry, 0);
+        try (PrintWriter out = new PrintWriter(new FileWriter(LOG_FILE, true))) {
+            out.print(entry);
+            if (out.checkError()) {
+                throw new IOException("The log entry could not be written.");
             }
-            writer.println("========================\n");
         } catch (IOException ioException) {
             System.err.println("Failed to write to log file: " + ioException.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Starts a background writer and sends all exceptions that are logged from now on to it.
+     * The writer is closed, and all its records written, when the application shuts down.
+     * A writer that was enabled before is closed first.
+     *
+     * @param writer The writer to send the exceptions to. It is started by this method.
+     */
+    public static synchronized void enableAsyncLogging(AsyncLogWriter writer) {
+        disableAsyncLogging();
+        writer.start();
+        shutdownHook = new Thread(writer::close, "error-log-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        asyncWriter = writer;
+    }
+
+    /**
+     * Closes the background writer, after all its records have been written, and writes exceptions
+     * that are logged from now on directly to the log file again. Has no effect if no writer is enabled.
+     */
+    public static synchronized void disableAsyncLogging() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer == null) {
+            return;
+        }
+        asyncWriter = null;
+        writer.close();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The application is already shutting down, and the hook has closed the writer.
+        }
+        shutdownHook = null;
+    }
+}
@@ -0,0 +1,103 @@
+package utils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One entry of the error log: the time, the exception and any number of named fields
+ * that describe what the application was doing when the exception occurred.
+ */
+public final class LogRecord {
+    private static final String ENTRY_START = "=== ERROR LOG ENTRY ===";
+    private static final String ENTRY_END = "========================";
+
+    private final LocalDateTime time;
+    private final Exception exception;
+    private final Map<String, String> fields;
+
+    /**
+     * Creates a new log record.
+     *
+     * @param time The time the exception was logged.
+     * @param exception The exception to log.
+     * @param fields The named fields of the record, written in iteration order.
+     * @throws NullPointerException if the exception is null.
+     */
+    public LogRecord(LocalDateTime time, Exception exception, Map<String, ?> fields) {
+        this.time = time;
+        this.exception = Objects.requireNonNull(exception, "The exception to log must not be null.");
+        Map<String, String> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            copy.put(field.getKey(), String.valueOf(field.getValue()));
+        }
+        this.fields = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Gets the time the exception was logged.
+     *
+     * @return The time of the record.
+     */
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the logged exception.
+     *
+     * @return The exception.
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    /**
+     * Gets the named fields of the record.
+     *
+     * @return An unmodifiable map of the fields, in the order they are written.
+     */
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets a key that is the same for exceptions of the same class, with the same message,
+     * thrown from the same place. It is used to recognise repeats of an exception.
+     *
+     * @return The key of the exception.
+     */
+    public String getExceptionKey() {
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        String origin = stackTrace.length > 0 ? stackTrace[0].toString() : "";
+        return exception.getClass().getName() + '|' + exception.getMessage() + '|' + origin;
+    }
+
+    /**
+     * Appends the record to a buffer in the format of the error log.
+     *
+     * @param buffer The buffer to append to.
+     * @param suppressed The number of repeats of the exception that were left out of the log before this record.
+     */
+    void appendTo(StringBuilder buffer, long suppressed) {
+        String lineSeparator = System.lineSeparator();
+        buffer.append(ENTRY_START).append(lineSeparator);
+        buffer.append("Time: ").append(time).append(lineSeparator);
+        buffer.append("Exception: ").append(exception.getClass().getSimpleName()).append(lineSeparator);
+        buffer.append("Message: ").append(exception.getMessage()).append(lineSeparator);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            // Every field stays on one line, so the log can still be read line by line.
+            buffer.append(field.getKey()).append(": ")
+                  .append(field.getValue().replace("\r", "\\r").replace("\n", "\\n")).append(lineSeparator);
+        }
+        if (suppressed > 0) {
+            buffer.append("Suppressed repeats: ").append(suppressed).append(lineSeparator);
+        }
+        for (StackTraceElement element : exception.getStackTrace()) {
+            buffer.append("    at ").append(element).append(lineSeparator);
+        }
+        buffer.append(ENTRY_END).append(lineSeparator).append(lineSeparator);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,366 @@
+package utils;
+
+import model.Amount;
+import model.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Writes revenue log entries to a file that is kept open between entries.
+ *
+ * Every entry is formatted into a reused buffer and written with one write on a {@link FileChannel}
+ * opened for appending, so other readers of the file see it at once. When the data is forced to the disk
+ * is decided by a {@link SyncPolicy}. The log is rotated by a {@link RotationPolicy}: the current file is
+ * renamed to <code>&lt;name&gt;.&lt;date&gt;.&lt;n&gt;</code> and a new file is started. Rotation happens
+ * just before an entry is written, so the current file always ends with the latest total, which
+ * {@link #readLastEntry(Path)} finds without reading the whole file.
+ */
+public class RevenueLogWriter implements Closeable {
+    private static final String ADDED = "Added ";
+    private static final String TOTAL = " SEK, total revenue so far: ";
+    private static final String END = " SEK" + System.lineSeparator();
+    private static final int READ_CHUNK_SIZE = 4096;
+    private static final int MAX_ENTRY_LENGTH = 64 * 1024;
+
+    /**
+     * Decides when written entries are forced to the disk.
+     */
+    public static final class SyncPolicy {
+        private final int everyEvents;
+        private final long everyMillis;
+
+        private SyncPolicy(int everyEvents, long everyMillis) {
+            this.everyEvents = everyEvents;
+            this.everyMillis = everyMillis;
+        }
+
+        /**
+         * Forces every entry to the disk before the write returns.
+         *
+         * @return The policy.
+         */
+        public static SyncPolicy everyEvent() {
+            return new SyncPolicy(1, 0);
+        }
+
+        /**
+         * Forces the entries to the disk after every <code>count</code> entries.
+         *
+         * @param count The number of entries between forces.
+         * @return The policy.
+         */
+        public static SyncPolicy everyEvents(int count) {
+            if (count <= 0) {
+                throw new IllegalArgumentException("The number of entries between forces must be positive.");
+            }
+            return new SyncPolicy(count, 0);
+        }
+
+        /**
+         * Forces the entries to the disk when an entry is written at least <code>millis</code> after the last force.
+         *
+         * @param millis The least time between forces, in milliseconds.
+         * @return The policy.
+         */
+        public static SyncPolicy everyMillis(long millis) {
+            if (millis <= 0) {
+                throw new IllegalArgumentException("The time between forces must be positive.");
+            }
+            return new SyncPolicy(0, millis);
+        }
+
+        /**
+         * Never forces entries, leaving it to the operating system, except when the writer is closed.
+         *
+         * @return The policy.
+         */
+        public static SyncPolicy never() {
+            return new SyncPolicy(0, 0);
+        }
+    }
+
+    /**
+     * Decides when the log is rotated to a new file.
+     */
+    public static final class RotationPolicy {
+        private final long maxBytes;
+        private final boolean daily;
+
+        private RotationPolicy(long maxBytes, boolean daily) {
+            this.maxBytes = maxBytes;
+            this.daily = daily;
+        }
+
+        /**
+         * Never rotates the log.
+         *
+         * @return The policy.
+         */
+        public static RotationPolicy none() {
+            return new RotationPolicy(0, false);
+        }
+
+        /**
+         * Rotates the log when the next entry would make the file larger than <code>maxBytes</code>.
+         *
+         * @param maxBytes The largest size of a log file.
+         * @return The policy.
+         */
+        public static RotationPolicy bySize(long maxBytes) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("The largest size of a log file must be positive.");
+            }
+            return new RotationPolicy(maxBytes, false);
+        }
+
+        /**
+         * Rotates the log on the first entry of every new day.
+         *
+         * @return The policy.
+         */
+        public static RotationPolicy daily() {
+            return new RotationPolicy(0, true);
+        }
+    }
+
+    private final Path file;
+    private final SyncPolicy syncPolicy;
+    private final RotationPolicy rotationPolicy;
+    private final Clock clock;
+    private final StringBuilder line = new StringBuilder(80);
+    private ByteBuffer buffer = ByteBuffer.allocate(128);
+    private FileChannel channel;
+    private LocalDate fileDate;
+    private int unsyncedEntries;
+    private long lastSyncMillis;
+    private long syncCount;
+    private int rotationCount;
+
+    /**
+     * Opens a log file for appending, creating it if it does not exist.
+     *
+     * @param file The log file.
+     * @param syncPolicy When entries are forced to the disk.
+     * @param rotationPolicy When the log is rotated.
+     * @throws IOException if the file cannot be opened.
+     */
+    public RevenueLogWriter(Path file, SyncPolicy syncPolicy, RotationPolicy rotationPolicy) throws IOException {
+        this(file, syncPolicy, rotationPolicy, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Opens a log file for appending, using the specified clock for the time between forces and for the date.
+     *
+     * @param file The log file.
+     * @param syncPolicy When entries are forced to the disk.
+     * @param rotationPolicy When the log is rotated.
+     * @param clock The clock to read the time from.
+     * @throws IOException if the file cannot be opened.
+     */
+    public RevenueLogWriter(Path file, SyncPolicy syncPolicy, RotationPolicy rotationPolicy, Clock clock) throws IOException {
+        this.file = file;
+        this.syncPolicy = syncPolicy;
+        this.rotationPolicy = rotationPolicy;
+        this.clock = clock;
+        open();
+        if (channel.size() > 0) {
+            Instant lastModified = Files.getLastModifiedTime(file).toInstant();
+            fileDate = LocalDate.ofInstant(lastModified, clock.getZone());
+        }
+        this.lastSyncMillis = clock.millis();
+    }
+
+    /**
+     * Writes one log entry with the latest revenue and the total revenue so far.
+     *
+     * @param added The revenue of the latest sale.
+     * @param total The total revenue so far.
+     * @throws IOException if the entry cannot be written.
+     */
+    public synchronized void writeEntry(Amount added, Amount total) throws IOException {
+        if (channel == null) {
+            throw new IOException("The revenue log " + file + " is closed.");
+        }
+        line.setLength(0);
+        line.append(ADDED);
+        Money.appendTo(line, added.getMinorUnits()).append(TOTAL);
+        Money.appendTo(line, total.getMinorUnits()).append(END);
+        encodeLine();
+
+        long now = clock.millis();
+        rotateIfNeeded(LocalDate.ofInstant(Instant.ofEpochMilli(now), clock.getZone()), buffer.remaining());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        unsyncedEntries++;
+        if (isSyncDue(now)) {
+            sync(now);
+        }
+    }
+
+    /**
+     * Forces all written entries to the disk.
+     *
+     * @throws IOException if the entries cannot be forced.
+     */
+    public synchronized void sync() throws IOException {
+        if (channel != null && unsyncedEntries > 0) {
+            sync(clock.millis());
+        }
+    }
+
+    /**
+     * Gets the number of times entries have been forced to the disk.
+     *
+     * @return The number of forces.
+     */
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Gets the number of times the log has been rotated.
+     *
+     * @return The number of rotations.
+     */
+    public synchronized int getRotationCount() {
+        return rotationCount;
+    }
+
+    /**
+     * Forces all written entries to the disk and closes the file. Calling this method more than once has no further effect.
+     *
+     * @throws IOException if the file cannot be forced or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            sync();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Reads the last entry of a log file without reading the rest of it. The file is read backwards from
+     * its end, a few kilobytes at a time, until the start of the last line is found, so the time it takes
+     * does not depend on the size of the file.
+     *
+     * @param file The log file.
+     * @return The last line of the file without its line separator, or null if the file is empty or does not exist.
+     * @throws IOException if the file cannot be read.
+     */
+    public static String readLastEntry(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = reader.size();
+            ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK_SIZE);
+            long position = end;
+            while (position > 0 && end - position <= MAX_ENTRY_LENGTH) {
+                int length = (int) Math.min(READ_CHUNK_SIZE, position);
+                position -= length;
+                readFully(reader, chunk, position, length);
+                for (int i = length - 1; i >= 0; i--) {
+                    byte value = chunk.get(i);
+                    if (value != '\n' && value != '\r') {
+                        continue;
+                    }
+                    long separator = position + i;
+                    if (separator == end - 1) {
+                        end = separator;
+                    } else {
+                        return readRange(reader, separator + 1, end);
+                    }
+                }
+            }
+            return end == 0 ? null : readRange(reader, position, end);
+        }
+    }
+
+    private static String readRange(FileChannel reader, long start, long end) throws IOException {
+        int length = (int) Math.min(end - start, MAX_ENTRY_LENGTH);
+        ByteBuffer entry = ByteBuffer.allocate(length);
+        readFully(reader, entry, end - length, length);
+        return new String(entry.array(), 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void readFully(FileChannel reader, ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (reader.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("The file ended while it was being read.");
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void encodeLine() {
+        if (buffer.capacity() < line.length()) {
+            buffer = ByteBuffer.allocate(line.length() * 2);
+        }
+        buffer.clear();
+        for (int i = 0; i < line.length(); i++) {
+            buffer.put((byte) line.charAt(i));
+        }
+        buffer.flip();
+    }
+
+    private boolean isSyncDue(long now) {
+        if (syncPolicy.everyEvents > 0) {
+            return unsyncedEntries >= syncPolicy.everyEvents;
+        }
+        return syncPolicy.everyMillis > 0 && now - lastSyncMillis >= syncPolicy.everyMillis;
+    }
+
+    private void sync(long now) throws IOException {
+        channel.force(false);
+        unsyncedEntries = 0;
+        lastSyncMillis = now;
+        syncCount++;
+    }
+
+    private void rotateIfNeeded(LocalDate today, int entryLength) throws IOException {
+        long size = channel.size();
+        boolean rotate = size > 0 && (rotationPolicy.maxBytes > 0 && size + entryLength > rotationPolicy.maxBytes
+                                      || rotationPolicy.daily && fileDate != null && !fileDate.equals(today));
+        if (rotate) {
+            LocalDate rotatedDate = fileDate != null ? fileDate : today;
+            sync();
+            channel.close();
+            Files.move(file, rotatedFile(rotatedDate));
+            open();
+            rotationCount++;
+        }
+        fileDate = today;
+    }
+
+    private Path rotatedFile(LocalDate date) {
+        String prefix = file.getFileName() + "." + date + ".";
+        int sequence = 1;
+        Path rotated = file.resolveSibling(prefix + sequence);
+        while (Files.exists(rotated)) {
+            sequence++;
+            rotated = file.resolveSibling(prefix + sequence);
+        }
+        return rotated;
+    }
+}
\ No newline at end of file
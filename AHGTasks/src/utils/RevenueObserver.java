@@ -12,4 +12,15 @@ public interface RevenueObserver {
      * @param revenue The revenue from the latest sale.
      */
     void newRevenue(Amount revenue);
+
+    /**
+     * Called when a sale is completed at a known checkout lane. Observers that do not need the lane
+     * get the revenue through {@link #newRevenue(Amount)}.
+     *
+     * @param laneId The lane where the sale was completed.
+     * @param revenue The revenue from the latest sale.
+     */
+    default void newRevenue(String laneId, Amount revenue) {
+        newRevenue(revenue);
+    }
 }
\ No newline at end of file
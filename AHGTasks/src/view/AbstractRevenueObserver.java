@@ -1,6 +1,7 @@
 package view;
 
 import model.Amount;
+import model.MoneyAccumulator;
 import utils.RevenueObserver;
 
 /**
@@ -12,16 +13,18 @@ import utils.RevenueObserver;
 public abstract class AbstractRevenueObserver implements RevenueObserver {
     protected Amount totalRevenue = new Amount(0);
     protected Amount lastRevenue = new Amount(0);
+    private MoneyAccumulator revenueAccumulator = new MoneyAccumulator();
 
     /**
      * Called when new revenue is reported.
      * Updates the last revenue and recalculates the total revenue.
      * Then attempts to display the updated total revenue.
+     * Sales from several checkout lanes may report revenue at the same time, so updates are handled one at a time.
      * 
      * @param revenue The new revenue amount to process.
      */
     @Override
-    public void newRevenue(Amount revenue) {
+    public synchronized void newRevenue(Amount revenue) {
         this.lastRevenue = revenue;
         calculateTotalIncome(revenue);
         showTotalIncome();
@@ -59,6 +62,17 @@ public abstract class AbstractRevenueObserver implements RevenueObserver {
      * @param revenue The amount of revenue to add to the total.
      */
     protected void calculateTotalIncome(Amount revenue) {
-        totalRevenue = totalRevenue.add(revenue);
+        revenueAccumulator.add(revenue);
+        totalRevenue = revenueAccumulator.toAmount();
+    }
+
+    /**
+     * Restores the total accumulated revenue, for example from revenue saved by an earlier run.
+     * 
+     * @param previousRevenue The revenue to continue accumulating from.
+     */
+    protected void restoreTotalRevenue(Amount previousRevenue) {
+        revenueAccumulator.set(previousRevenue);
+        totalRevenue = revenueAccumulator.toAmount();
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package view;
+
+import integration.RevenueLedger;
+import integration.RevenueLogConverter;
+import model.Amount;
+import utils.LogHandler;
+import utils.RevenueObserver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Records the revenue of every completed sale in a binary {@link RevenueLedger}, with the time, the lane
+ * and the total revenue so far.
+ *
+ * When the ledger does not exist yet but a text revenue log from {@link TotalRevenueFileOutput} does, the
+ * text log is converted first, so the total continues from it. The total is recovered from the last record
+ * of the ledger, without reading the rest of it.
+ */
+public class RevenueLedgerOutput implements RevenueObserver, Closeable {
+    private static final String LEDGER_FILE_NAME = "total-revenue-ledger.bin";
+    private static final String TEXT_LOG_FILE_NAME = "total-revenue-log.txt";
+
+    private final Path ledgerFile;
+    private RevenueLedger ledger;
+
+    /**
+     * Opens the default revenue ledger, converting the default text revenue log if there is no ledger yet.
+     */
+    public RevenueLedgerOutput() {
+        this(Paths.get(LEDGER_FILE_NAME), Paths.get(TEXT_LOG_FILE_NAME));
+    }
+
+    /**
+     * Opens a revenue ledger, converting a text revenue log if there is no ledger yet.
+     *
+     * @param ledgerFile The ledger file.
+     * @param textLog The text log to convert, or null if there is none.
+     */
+    public RevenueLedgerOutput(Path ledgerFile, Path textLog) {
+        this.ledgerFile = ledgerFile;
+        try {
+            if (!Files.exists(ledgerFile) && textLog != null && Files.exists(textLog)) {
+                convertTextLog(textLog);
+            }
+            ledger = new RevenueLedger(ledgerFile);
+        } catch (IOException e) {
+            handleErrors(e);
+        }
+    }
+
+    /**
+     * Records revenue from a sale at an unknown lane.
+     *
+     * @param revenue The revenue from the latest sale.
+     */
+    @Override
+    public void newRevenue(Amount revenue) {
+        newRevenue("", revenue);
+    }
+
+    /**
+     * Records revenue from a sale at a lane. If the ledger could not be opened or written before, it is opened again.
+     *
+     * @param laneId The lane where the sale was completed.
+     * @param revenue The revenue from the latest sale.
+     */
+    @Override
+    public synchronized void newRevenue(String laneId, Amount revenue) {
+        try {
+            if (ledger == null) {
+                ledger = new RevenueLedger(ledgerFile);
+            }
+            ledger.append(System.currentTimeMillis(), laneId, revenue);
+        } catch (IOException e) {
+            // A failed write may have closed the channel, so the ledger is opened again for the next sale.
+            closeQuietly();
+            handleErrors(e);
+        }
+    }
+
+    /**
+     * Gets the total revenue so far.
+     *
+     * @return The running total of the last record, or zero if the ledger could not be opened.
+     */
+    public synchronized Amount getTotalRevenue() {
+        return ledger != null ? ledger.getLastTotal() : new Amount(0);
+    }
+
+    /**
+     * Forces the ledger to disk and closes it.
+     *
+     * @throws IOException If the ledger cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (ledger != null) {
+            RevenueLedger openLedger = ledger;
+            ledger = null;
+            openLedger.close();
+        }
+    }
+
+    private void closeQuietly() {
+        if (ledger == null) {
+            return;
+        }
+        try {
+            ledger.close();
+        } catch (IOException e) {
+            // The ledger is already broken; the failure that broke it is logged.
+        }
+        ledger = null;
+    }
+
+    private void convertTextLog(Path textLog) throws IOException {
+        // The log is converted next to the ledger and then moved into place, so a failed conversion is started over.
+        Path convertedLedger = ledgerFile.resolveSibling(ledgerFile.getFileName() + ".converting");
+        Files.deleteIfExists(convertedLedger);
+        new RevenueLogConverter().convert(textLog, convertedLedger);
+        Files.move(convertedLedger, ledgerFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void handleErrors(IOException e) {
+        System.out.println("[LOGGING ERROR] Could not write to revenue ledger.");
+        LogHandler.logException(e);
+    }
+}
\ No newline at end of file
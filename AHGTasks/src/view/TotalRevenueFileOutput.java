@@ -1,11 +1,13 @@
 package view;
 
 import model.Amount;
+import utils.RevenueLogWriter;
+import utils.RevenueLogWriter.RotationPolicy;
+import utils.RevenueLogWriter.SyncPolicy;
 
-import java.io.FileWriter;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 /**
@@ -13,29 +15,78 @@ import java.nio.file.Paths;
  * 
  * Extends {@link AbstractRevenueObserver} to persist revenue updates to a file named "total-revenue-log.txt".
  * It also reads the previous total revenue from the file when initialized, to continue accumulating correctly.
+ * The file is kept open by a {@link RevenueLogWriter} between sales, and closed by {@link #close()}.
  */
-public class TotalRevenueFileOutput extends AbstractRevenueObserver {
+public class TotalRevenueFileOutput extends AbstractRevenueObserver implements Closeable {
     
     private static final String FILE_NAME = "total-revenue-log.txt";
 
+    private final Path file;
+    private final SyncPolicy syncPolicy;
+    private final RotationPolicy rotationPolicy;
+    private RevenueLogWriter writer;
+
     /**
      * Checks the previous revenue which the checkout machine has earned and sets it as revenue which it works with.
+     * Entries are forced to the disk by the operating system, and the log is not rotated.
      */
     public TotalRevenueFileOutput() {
-        totalRevenue = readPreviousRevenue();
+        this(Paths.get(FILE_NAME), SyncPolicy.never(), RotationPolicy.none());
+    }
+
+    /**
+     * Creates a revenue log in the specified file, continuing from the total revenue in it.
+     *
+     * @param file The log file.
+     * @param syncPolicy When entries are forced to the disk.
+     * @param rotationPolicy When the log is rotated to a new file.
+     */
+    public TotalRevenueFileOutput(Path file, SyncPolicy syncPolicy, RotationPolicy rotationPolicy) {
+        this.file = file;
+        this.syncPolicy = syncPolicy;
+        this.rotationPolicy = rotationPolicy;
+        restoreTotalRevenue(readPreviousRevenue());
     }
     
     /**
      * Appends the latest revenue addition and the updated total revenue to the log file.
      * This method is called internally when new revenue is reported.
+     * The file is opened on the first entry, and again on the next entry if writing fails.
      * 
      * @throws IOException If the log file cannot be written to.
      */
     @Override
     protected void doShowTotalIncome() throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(FILE_NAME, true))) {
-            writer.println("Added " + String.format("%.2f", lastRevenue.getAmount()) +
-                        " SEK, total revenue so far: " + String.format("%.2f", totalRevenue.getAmount()) + " SEK");
+        if (writer == null) {
+            writer = new RevenueLogWriter(file, syncPolicy, rotationPolicy);
+        }
+        try {
+            writer.writeEntry(lastRevenue, totalRevenue);
+        } catch (IOException e) {
+            closeWriter();
+            throw e;
+        }
+    }
+
+    /**
+     * Forces the logged revenue to the disk and closes the log file.
+     *
+     * @throws IOException If the log file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            RevenueLogWriter openWriter = writer;
+            writer = null;
+            openWriter.close();
+        }
+    }
+
+    private void closeWriter() {
+        try {
+            close();
+        } catch (IOException e) {
+            // The write already failed; that error is the one reported.
         }
     }
 
@@ -52,15 +103,13 @@ public class TotalRevenueFileOutput extends AbstractRevenueObserver {
     }
 
     /**
-     * Reads the previously earned revenues from past sales.
+     * Reads the previously earned revenues from past sales. Only the last line of the log is read,
+     * so this takes the same time however long the log is.
      */
     private Amount readPreviousRevenue() {
         try {
-            if (!Files.exists(Paths.get(FILE_NAME))) return new Amount(0);
-
-            java.util.List<String> lines = Files.readAllLines(Paths.get(FILE_NAME));
-            if (lines.isEmpty()) return new Amount(0);
-            String lastLine = lines.get(lines.size() - 1);
+            String lastLine = RevenueLogWriter.readLastEntry(file);
+            if (lastLine == null) return new Amount(0);
 
             String[] parts = lastLine.split("total revenue so far: ");
             if (parts.length < 2) return new Amount(0);
@@ -2,11 +2,17 @@ package view;
 
 import controller.Controller;
 import model.Amount;
+import utils.AsyncRevenueObserverBus;
+import utils.AsyncRevenueObserverBus.OverflowPolicy;
 import utils.LogHandler;
 import dto.ItemDTO;
 import exceptions.DatabaseFailureException;
 import exceptions.ItemNotFoundException;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
 /** 
  * The View class represents the user interface part of the application.
  *
@@ -15,10 +21,16 @@ import exceptions.ItemNotFoundException;
  * includes starting a sale, registering items, displaying running totals, 
  * ending the sale, and processing payment.
  * 
- * Exceptions are caught and logged if they occur.
+ * Exceptions are caught and logged if they occur. The revenue ledger the View writes to
+ * stays open until the View is closed. Revenue is written to the ledger by a background
+ * {@link AsyncRevenueObserverBus}, so a payment does not wait for the disk.
  */
-public class View {
+public class View implements Closeable {
+    private static final int REVENUE_QUEUE_CAPACITY = 256;
+
     private Controller controller;
+    private RevenueLedgerOutput revenueLedger;
+    private AsyncRevenueObserverBus revenueBus;
 
     /**
      * Creates a new View instance with a reference to Controller.
@@ -27,7 +39,11 @@ public class View {
     public View(Controller controller) {
         this.controller = controller;
         controller.addRevenueObserver(new TotalRevenueView());
-        controller.addRevenueObserver(new TotalRevenueFileOutput());
+        this.revenueLedger = new RevenueLedgerOutput();
+        this.revenueBus = new AsyncRevenueObserverBus(REVENUE_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+        revenueBus.addObserver(revenueLedger);
+        revenueBus.start();
+        controller.addRevenueObserver(revenueBus);
 
         try {
             simulateSaleExecution();
@@ -37,6 +53,20 @@ public class View {
         }
     }
 
+    /**
+     * Writes all revenue that is still queued to the revenue ledger, then forces the ledger to disk and closes it.
+     */
+    @Override
+    public void close() {
+        revenueBus.close();
+        try {
+            revenueLedger.close();
+        } catch (IOException e) {
+            System.out.println("[LOGGING ERROR] Could not close the revenue ledger.");
+            LogHandler.logException(e);
+        }
+    }
+
     /**
      * Simulates a series of operations in a sale. Adds items and concludes the sale.
      */
@@ -88,10 +118,10 @@ public class View {
             System.out.println("[USER MESSAGE] The item with ID '" + itemIdentifier + "' was not found. Please check the ID and try again.");
         } catch (DatabaseFailureException e) {
             System.out.println("[USER MESSAGE] There is a technical issue accessing the database. Please contact support.");
-            LogHandler.logException(e);
+            LogHandler.logException(e, Map.of("item", itemIdentifier, "lane", Controller.DEFAULT_LANE_ID));
         } catch (IllegalArgumentException e) {
             System.out.println("[USER MESSAGE] Invalid item registration: " + e.getMessage());
-            LogHandler.logException(e);
+            LogHandler.logException(e, Map.of("item", itemIdentifier, "lane", Controller.DEFAULT_LANE_ID));
         }
     }
 
@@ -0,0 +1,320 @@
+package test.controller;
+
+import controller.CheckoutSession;
+import controller.Controller;
+import dto.ItemDTO;
+import dto.ScanDTO;
+import integration.ExternalAccountingSystem;
+import integration.ExternalInventorySystem;
+import integration.Printer;
+import integration.Register;
+import integration.SaleJournal;
+import integration.SaleJournalReplayer;
+import model.Amount;
+import model.MultiBuyPromotion;
+import model.PromotionEngine;
+import model.VAT;
+import utils.RevenueObserver;
+import exceptions.DatabaseFailureException;
+import exceptions.ItemNotFoundException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CheckoutSessionTest {
+    private static final int LANES = 40;
+    private static final int SALES_PER_LANE = 25;
+
+    private final PrintStream originalOut = System.out;
+    private ExternalInventorySystem inventory;
+    private Register register;
+    private Controller controller;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new ExternalInventorySystem(List.of(
+            new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 100_000, "Oatmeal"),
+            new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 100_000, "Bread")));
+        register = new Register(new Amount(0));
+        controller = new Controller(inventory, ExternalAccountingSystem.getInstance(), register, Printer.getInstance());
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void testSessionsHaveSeparateSales() throws ItemNotFoundException, DatabaseFailureException {
+        CheckoutSession firstLane = controller.openSession("lane-1");
+        CheckoutSession secondLane = controller.openSession("lane-2");
+        firstLane.initiateSale();
+        secondLane.initiateSale();
+
+        firstLane.registerItem("1");
+        firstLane.registerItem("1");
+        secondLane.registerItem("2");
+
+        assertEquals("lane-1", firstLane.getLaneId(), "Session should keep its lane identifier.");
+        assertEquals(25.0, firstLane.getRunningTotal().getAmount(), 0.001, "First lane should only contain its own items.");
+        assertEquals(22.4, secondLane.getRunningTotal().getAmount(), 0.001, "Second lane should only contain its own items.");
+    }
+
+    @Test
+    void testObserverIsNotifiedOfSalesInAllSessions() throws ItemNotFoundException, DatabaseFailureException {
+        AtomicInteger notifications = new AtomicInteger();
+        controller.addRevenueObserver(revenue -> notifications.incrementAndGet());
+
+        for (String laneId : new String[] {"lane-1", "lane-2"}) {
+            CheckoutSession session = controller.openSession(laneId);
+            session.initiateSale();
+            session.registerItem("1");
+            session.concludeSale(new Amount(100.0));
+        }
+
+        assertEquals(2, notifications.get(), "The observer should be notified once per completed sale.");
+    }
+
+    @Test
+    void testObserverIsToldTheLaneOfTheSale() throws ItemNotFoundException, DatabaseFailureException {
+        List<String> lanes = new ArrayList<>();
+        controller.addRevenueObserver(new RevenueObserver() {
+            @Override
+            public void newRevenue(Amount revenue) {
+                lanes.add("unknown");
+            }
+
+            @Override
+            public void newRevenue(String laneId, Amount revenue) {
+                lanes.add(laneId);
+            }
+        });
+
+        CheckoutSession session = controller.openSession("lane-7");
+        session.initiateSale();
+        session.registerItem("1");
+        session.concludeSale(new Amount(100.0));
+
+        assertEquals(List.of("lane-7"), lanes, "The observer should be told where the sale was completed.");
+    }
+
+    @Test
+    void testParallelLanesKeepSharedStateConsistent() throws Exception {
+        AtomicInteger notifications = new AtomicInteger();
+        RevenueObserver countingObserver = revenue -> notifications.incrementAndGet();
+        controller.addRevenueObserver(countingObserver);
+
+        ExecutorService lanes = Executors.newFixedThreadPool(LANES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int lane = 0; lane < LANES; lane++) {
+            CheckoutSession session = controller.openSession("lane-" + lane);
+            results.add(lanes.submit(() -> {
+                start.await();
+                for (int sale = 0; sale < SALES_PER_LANE; sale++) {
+                    session.initiateSale();
+                    session.registerItem("1");
+                    session.registerItem("2");
+                    session.registerItem("1");
+                    session.endSale();
+                    session.concludeSale(new Amount(100.0));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        lanes.shutdown();
+
+        int completedSales = LANES * SALES_PER_LANE;
+        assertEquals(completedSales * 47.4, register.getAmount().getAmount(), 0.001, "Every sale should reach the register.");
+        assertEquals(completedSales, notifications.get(), "Every sale should notify the revenue observer.");
+        assertEquals(100_000 - 2 * completedSales, inventory.retrieveItemInformation("1").getQuantity(),
+            "Every sold unit of item 1 should be removed from the inventory.");
+        assertEquals(100_000 - completedSales, inventory.retrieveItemInformation("2").getQuantity(),
+            "Every sold unit of item 2 should be removed from the inventory.");
+    }
+
+    @Test
+    void testPromotionsReplaceFixedItemDiscount() throws ItemNotFoundException, DatabaseFailureException {
+        controller.setPromotionEngine(new PromotionEngine(List.of(new MultiBuyPromotion("m1", "1", 2, 1))));
+        CheckoutSession session = controller.openSession("lane-1");
+        session.initiateSale();
+        session.registerItem("1");
+        session.registerItem("1");
+        session.registerItem("2");
+
+        session.applyDiscount("none");
+
+        assertEquals(12.5, session.getRunningDiscount().getAmount(), 0.001,
+            "Only the promotion should discount the items, not the fixed discount per line.");
+    }
+
+    @Test
+    void testRegisterItemWithQuantityAddsAllUnits() throws ItemNotFoundException, DatabaseFailureException {
+        CheckoutSession session = controller.openSession("lane-1");
+        session.initiateSale();
+
+        session.registerItem("1", 20);
+        ItemDTO line = session.registerItem("1", 4);
+
+        assertEquals(24, line.getQuantity(), "The line should hold every registered unit.");
+        assertEquals(300.0, session.getRunningTotal().getAmount(), 0.001, "The total should include every unit.");
+        assertThrows(IllegalArgumentException.class, () -> session.registerItem("1", 0),
+            "A quantity that is not positive should be rejected.");
+    }
+
+    @Test
+    void testBatchLooksUpEachItemOnceAndCalculatesDiscountOnce() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        ExternalInventorySystem countingInventory = new ExternalInventorySystem(List.of(
+            new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 100_000, "Oatmeal"),
+            new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 100_000, "Bread"))) {
+            @Override
+            public Map<String, ItemDTO> retrieveItemInformation(Collection<String> identifiers)
+                    throws ItemNotFoundException, DatabaseFailureException {
+                lookups.addAndGet(identifiers.size());
+                return super.retrieveItemInformation(identifiers);
+            }
+        };
+        AtomicInteger discountCalculations = new AtomicInteger();
+        CheckoutSession session = new Controller(countingInventory, ExternalAccountingSystem.getInstance(), register,
+                                                 Printer.getInstance()).openSession("lane-1");
+        session.initiateSale();
+        session.setDiscountStrategy(sale -> {
+            discountCalculations.incrementAndGet();
+            return new Amount(0);
+        });
+
+        List<ItemDTO> lines = session.registerItems(List.of(
+            new ScanDTO("2", 1), new ScanDTO("1", 12), new ScanDTO("2", 2), new ScanDTO("1", 12)));
+
+        assertEquals(2, lines.size(), "There should be one line per distinct item.");
+        assertEquals("2", lines.get(0).getItemIdentifier(), "Lines should be in the order the items were first scanned.");
+        assertEquals(3, lines.get(0).getQuantity(), "Scans of the same item should be combined.");
+        assertEquals(24, lines.get(1).getQuantity(), "Scans of the same item should be combined.");
+        assertEquals(2, lookups.get(), "Every distinct item should be looked up once.");
+        assertEquals(1, discountCalculations.get(), "The discount should be calculated once per batch.");
+    }
+
+    @Test
+    void testBatchWithUnknownItemRegistersNothing() throws ItemNotFoundException, DatabaseFailureException {
+        CheckoutSession session = controller.openSession("lane-1");
+        session.initiateSale();
+
+        assertThrows(ItemNotFoundException.class,
+            () -> session.registerItems(List.of(new ScanDTO("1", 2), new ScanDTO("unknown", 1))),
+            "An unknown item should fail the batch.");
+        assertEquals(0.0, session.getRunningTotal().getAmount(), 0.001, "No scan of a failed batch should be registered.");
+    }
+
+    @Test
+    void testBatchWithTooLargeQuantityRegistersNothing() throws ItemNotFoundException, DatabaseFailureException {
+        CheckoutSession session = controller.openSession("lane-1");
+        session.initiateSale();
+        session.registerItem("2", 5);
+        Amount totalBefore = session.getRunningTotal();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> session.registerItems(List.of(new ScanDTO("1", 1), new ScanDTO("2", Integer.MAX_VALUE))),
+            "A quantity that does not fit the line should fail the batch.");
+        assertThrows(IllegalArgumentException.class,
+            () -> session.registerItems(List.of(new ScanDTO("1", Integer.MAX_VALUE), new ScanDTO("1", 1))),
+            "Scans that add up to too large a quantity should fail the batch.");
+        assertEquals(totalBefore.getMinorUnits(), session.getRunningTotal().getMinorUnits(),
+            "No scan of a failed batch should be registered.");
+        assertEquals(5, session.registerItem("2").getQuantity() - 1, "The existing line should be unchanged.");
+    }
+
+    @Test
+    void testAsyncAccountingLowersConcludeSaleLatency() throws Exception {
+        long ledgerLatencyMillis = 5;
+        long ledgerLatencyNanos = TimeUnit.MILLISECONDS.toNanos(ledgerLatencyMillis);
+        ExternalAccountingSystem slowAccounting = new ExternalAccountingSystem(payments -> {
+            try {
+                Thread.sleep(ledgerLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Controller slowController = new Controller(inventory, slowAccounting, register, Printer.getInstance());
+
+        long synchronousP99 = concludeSaleP99(slowController.openSession("sync"));
+        slowAccounting.start();
+        long asynchronousP99;
+        try {
+            asynchronousP99 = concludeSaleP99(slowController.openSession("async"));
+        } finally {
+            slowAccounting.stop();
+        }
+
+        assertTrue(synchronousP99 >= ledgerLatencyNanos, "A synchronous ledger post should be part of concludeSale.");
+        assertTrue(asynchronousP99 < ledgerLatencyNanos, "With the pipeline, concludeSale should not wait for the ledger, "
+            + "but p99 was " + asynchronousP99 + " ns.");
+    }
+
+    private long concludeSaleP99(CheckoutSession session) throws ItemNotFoundException, DatabaseFailureException {
+        int sales = 200;
+        long[] latencies = new long[sales];
+        for (int sale = 0; sale < sales; sale++) {
+            session.initiateSale();
+            session.registerItem("1");
+            session.endSale();
+            long start = System.nanoTime();
+            session.concludeSale(new Amount(100.0));
+            latencies[sale] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[sales * 99 / 100 - 1];
+    }
+
+    @Test
+    void testJournaledSalesCanBeReplayed(@TempDir Path directory) throws Exception {
+        Path journalFile = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(journalFile)) {
+            controller.setSaleJournal(journal);
+            CheckoutSession session = controller.openSession("lane-1");
+            session.initiateSale();
+            session.registerItem("1");
+            session.registerItem("2");
+            session.endSale();
+            session.concludeSale(new Amount(100.0));
+            session.initiateSale();
+            session.registerItem("1");
+        }
+
+        ExternalInventorySystem restartedInventory = new ExternalInventorySystem(List.of(
+            new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 100_000, "Oatmeal"),
+            new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 100_000, "Bread")));
+        Register restartedRegister = new Register(new Amount(0));
+        int replayed = new SaleJournalReplayer(restartedRegister, restartedInventory).replay(journalFile);
+
+        assertEquals(1, replayed, "Only the paid sale should be replayed.");
+        assertEquals(register.getAmount().getAmount(), restartedRegister.getAmount().getAmount(), 0.001,
+            "The replayed register should match the register before the restart.");
+        assertEquals(inventory.retrieveItemInformation("1").getQuantity(), restartedInventory.retrieveItemInformation("1").getQuantity(),
+            "The replayed stock should match the stock before the restart.");
+    }
+}
\ No newline at end of file
@@ -2,7 +2,12 @@ package test.controller;
 
 import controller.Controller;
 import dto.ItemDTO;
+import integration.ExternalAccountingSystem;
+import integration.ExternalInventorySystem;
+import integration.Printer;
+import integration.Register;
 import model.Amount;
+import model.VAT;
 import utils.RevenueObserver;
 import exceptions.DatabaseFailureException;
 import exceptions.ItemNotFoundException;
@@ -12,6 +17,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 
 class ControllerTest {
@@ -231,4 +238,19 @@ class ControllerTest {
 
         assertTrue(observer.notified, "Observer added before sale should still be notified.");
     }
+
+    @Test
+    void testControllerUsesInjectedSystems() throws ItemNotFoundException, DatabaseFailureException {
+        ExternalInventorySystem inventory = new ExternalInventorySystem(List.of(
+            new ItemDTO("sku-1", "Injected item", new Amount(10.0), VAT.VAT_25, 5, "Injected")));
+        Register register = new Register(new Amount(0));
+        Controller injectedController = new Controller(inventory, ExternalAccountingSystem.getInstance(), register, Printer.getInstance());
+
+        injectedController.initiateSale();
+        injectedController.registerItem("sku-1");
+        injectedController.concludeSale(new Amount(20.0));
+
+        assertEquals(12.5, register.getAmount().getAmount(), 0.001, "The injected register should receive the sale total.");
+        assertEquals(4, inventory.retrieveItemInformation("sku-1").getQuantity(), "The injected inventory should be updated.");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package test.exceptions;
+
+import exceptions.AccountingFailureException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountingFailureExceptionTest {
+
+    @Test
+    void testExceptionMessageIsSetCorrectly() {
+        String errorMessage = "Ledger unavailable";
+        AccountingFailureException exception = new AccountingFailureException(errorMessage);
+
+        assertEquals(errorMessage, exception.getMessage(), "Exception message should match the one passed in constructor.");
+    }
+
+    @Test
+    void testCauseIsKept() {
+        IOException cause = new IOException("Connection reset");
+        AccountingFailureException exception = new AccountingFailureException("Ledger unavailable", cause);
+
+        assertSame(cause, exception.getCause(), "Exception should keep the cause passed in constructor.");
+    }
+
+    @Test
+    void testInstanceOfException() {
+        AccountingFailureException exception = new AccountingFailureException("Any message");
+        assertTrue(exception instanceof Exception, "AccountingFailureException should be a subclass of Exception.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package test.integration;
+
+import integration.AccountingPipeline;
+import exceptions.AccountingFailureException;
+import model.Amount;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountingPipelineTest {
+
+    @Test
+    void testFullBatchesArePostedTogether() throws InterruptedException {
+        List<List<Amount>> batches = Collections.synchronizedList(new ArrayList<>());
+        AccountingPipeline pipeline = new AccountingPipeline(batches::add, 100, 10, 60_000, 1, 0);
+        for (int i = 0; i < 30; i++) {
+            pipeline.submit(new Amount(i));
+        }
+        pipeline.start();
+
+        pipeline.flush();
+        pipeline.stop();
+
+        assertEquals(3, batches.size(), "Buffered payments should be posted in full batches.");
+        for (List<Amount> batch : batches) {
+            assertEquals(10, batch.size(), "A batch should not exceed the maximum batch size.");
+        }
+        assertEquals(3, pipeline.getPostedBatches(), "Every posted batch should be counted.");
+    }
+
+    @Test
+    void testIncompleteBatchIsPostedAfterMaxDelay() throws InterruptedException {
+        List<List<Amount>> batches = Collections.synchronizedList(new ArrayList<>());
+        AccountingPipeline pipeline = new AccountingPipeline(batches::add, 100, 10, 20, 1, 0);
+        pipeline.start();
+
+        pipeline.submit(new Amount(1));
+        pipeline.submit(new Amount(2));
+        pipeline.flush();
+
+        assertEquals(1, batches.size(), "An incomplete batch should be posted once the delay has passed.");
+        assertEquals(2, batches.get(0).size(), "The batch should contain the buffered payments.");
+        pipeline.stop();
+    }
+
+    @Test
+    void testRejectedBatchIsRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Amount> posted = Collections.synchronizedList(new ArrayList<>());
+        AccountingPipeline pipeline = new AccountingPipeline(payments -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new AccountingFailureException("Ledger busy");
+            }
+            posted.addAll(payments);
+        }, 100, 10, 0, 5, 1);
+        pipeline.start();
+
+        pipeline.submit(new Amount(42));
+        pipeline.flush();
+        pipeline.stop();
+
+        assertEquals(3, attempts.get(), "The batch should be posted again until the ledger accepts it.");
+        assertEquals(1, posted.size(), "The payment should be posted once it is accepted.");
+        assertTrue(pipeline.getFailedPayments().isEmpty(), "No payment should be given up.");
+    }
+
+    @Test
+    void testPaymentsAreKeptWhenLedgerKeepsFailing() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        AccountingPipeline pipeline = new AccountingPipeline(payments -> {
+            attempts.incrementAndGet();
+            throw new AccountingFailureException("Ledger unavailable");
+        }, 100, 10, 0, 3, 1);
+        pipeline.start();
+
+        pipeline.submit(new Amount(42));
+        pipeline.flush();
+        pipeline.stop();
+
+        assertEquals(3, attempts.get(), "The batch should be attempted the maximum number of times.");
+        assertEquals(1, pipeline.getFailedPayments().size(), "The given up payment should be kept.");
+        assertEquals(42.0, pipeline.getFailedPayments().get(0).getAmount(), "The kept payment should be the one submitted.");
+    }
+
+    @Test
+    void testStopPostsAllAcceptedPayments() {
+        List<Amount> posted = Collections.synchronizedList(new ArrayList<>());
+        AccountingPipeline pipeline = new AccountingPipeline(posted::addAll, 1000, 16, 60_000, 1, 0);
+        pipeline.start();
+        for (int i = 0; i < 500; i++) {
+            pipeline.submit(new Amount(i));
+        }
+
+        pipeline.stop();
+
+        assertEquals(500, posted.size(), "Stopping should post every accepted payment.");
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(new Amount(1)),
+            "A stopped pipeline should not accept payments.");
+    }
+}
\ No newline at end of file
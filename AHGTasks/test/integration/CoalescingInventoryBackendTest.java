@@ -0,0 +1,138 @@
+package test.integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+import integration.CoalescingInventoryBackend;
+import integration.InventoryBackend;
+import integration.InventoryStore;
+import integration.SimulatedLatencyInventoryBackend;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingInventoryBackendTest {
+    private static final int LANES = 16;
+
+    private InventoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InventoryStore();
+        store.addItem(new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 100, "Oatmeal"));
+        store.addItem(new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 100, "Bread"));
+    }
+
+    private <T> List<T> runConcurrently(Callable<T> lookup) throws Exception {
+        ExecutorService lanes = Executors.newFixedThreadPool(LANES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int lane = 0; lane < LANES; lane++) {
+            futures.add(lanes.submit(() -> {
+                start.await();
+                return lookup.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            lanes.shutdown();
+        }
+        return results;
+    }
+
+    @Test
+    void testConcurrentLookupsOfSameItemShareOneCall() throws Exception {
+        SimulatedLatencyInventoryBackend slowBackend = new SimulatedLatencyInventoryBackend(store, 200);
+        CoalescingInventoryBackend coalescing = new CoalescingInventoryBackend(slowBackend);
+
+        List<ItemDTO> results = runConcurrently(() -> coalescing.fetchItem("1"));
+
+        for (ItemDTO result : results) {
+            assertEquals("Oatmeal", result.getName(), "Every lane should get the item.");
+        }
+        assertTrue(slowBackend.getCallCount() < LANES, "Concurrent lookups should share calls, but "
+            + slowBackend.getCallCount() + " calls were made.");
+        assertEquals(LANES, slowBackend.getCallCount() + coalescing.getCoalescedLookups(),
+            "Every lookup should either make a call or share one.");
+    }
+
+    @Test
+    void testLookupAfterCompletedCallAsksAgain() throws DatabaseFailureException {
+        SimulatedLatencyInventoryBackend backend = new SimulatedLatencyInventoryBackend(store, 0);
+        CoalescingInventoryBackend coalescing = new CoalescingInventoryBackend(backend);
+
+        coalescing.fetchItem("1");
+        store.decrementStock("1", 10);
+        ItemDTO item = coalescing.fetchItem("1");
+
+        assertEquals(2, backend.getCallCount(), "A completed call should not be reused.");
+        assertEquals(90, item.getQuantity(), "A new lookup should see the current stock.");
+    }
+
+    @Test
+    void testMultiGetLooksUpMissingItemsInOneCall() throws DatabaseFailureException {
+        SimulatedLatencyInventoryBackend backend = new SimulatedLatencyInventoryBackend(store, 0);
+        CoalescingInventoryBackend coalescing = new CoalescingInventoryBackend(backend);
+
+        Map<String, ItemDTO> items = coalescing.fetchItems(List.of("2", "unknown", "1", "2"));
+
+        assertEquals(List.of("2", "1"), new ArrayList<>(items.keySet()), "Existing items should be returned in order.");
+        assertEquals(1, backend.getCallCount(), "All items should be looked up in one call.");
+    }
+
+    @Test
+    void testFailedCallFailsAllWaitingLookups() throws Exception {
+        InventoryBackend failingBackend = new SimulatedLatencyInventoryBackend(identifier -> {
+            throw new DatabaseFailureException("Failed to connect to the inventory database.");
+        }, 100);
+        CoalescingInventoryBackend coalescing = new CoalescingInventoryBackend(failingBackend);
+
+        List<Boolean> failures = runConcurrently(() -> {
+            try {
+                coalescing.fetchItem("1");
+                return false;
+            } catch (DatabaseFailureException e) {
+                return true;
+            }
+        });
+
+        assertFalse(failures.contains(false), "Every lookup sharing a failed call should fail.");
+    }
+
+    @Test
+    void testCallFailingWithAnErrorFailsAllWaitingLookups() throws Exception {
+        InventoryBackend crashingBackend = new SimulatedLatencyInventoryBackend(identifier -> {
+            throw new AssertionError("The inventory client crashed.");
+        }, 100);
+        CoalescingInventoryBackend coalescing = new CoalescingInventoryBackend(crashingBackend);
+
+        List<Boolean> failures = runConcurrently(() -> {
+            try {
+                coalescing.fetchItems(List.of("1", "2"));
+                return false;
+            } catch (AssertionError e) {
+                return true;
+            }
+        });
+
+        assertFalse(failures.contains(false), "Every lookup sharing a crashed call should fail instead of hanging.");
+    }
+}
\ No newline at end of file
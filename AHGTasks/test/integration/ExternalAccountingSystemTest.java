@@ -4,10 +4,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import integration.ExternalAccountingSystem;
 import model.Amount;
+import exceptions.AccountingFailureException;
 
 public class ExternalAccountingSystemTest {
     @Test
@@ -41,4 +45,48 @@ public class ExternalAccountingSystemTest {
         assertDoesNotThrow(() -> accountingSystem.updateAccountingSystem(null),
             "Should handle null payments gracefully (even if prints 'null').");
     }
+
+    @Test
+    void testPaymentsArePostedToLedger() {
+        List<Amount> posted = new ArrayList<>();
+        ExternalAccountingSystem accountingSystem = new ExternalAccountingSystem(posted::addAll);
+
+        accountingSystem.updateAccountingSystem(new Amount(150.0));
+
+        assertEquals(1, posted.size(), "The payment should be posted to the ledger at once.");
+        assertEquals(150.0, posted.get(0).getAmount(), "The posted payment should be the one sent.");
+    }
+
+    @Test
+    void testStartedSystemPostsPaymentsInBackground() throws InterruptedException {
+        List<Amount> posted = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> postingThreads = Collections.synchronizedList(new ArrayList<>());
+        ExternalAccountingSystem accountingSystem = new ExternalAccountingSystem(payments -> {
+            postingThreads.add(Thread.currentThread());
+            posted.addAll(payments);
+        });
+
+        accountingSystem.start();
+        try {
+            for (int i = 1; i <= 100; i++) {
+                accountingSystem.updateAccountingSystem(new Amount(i));
+            }
+            accountingSystem.flush();
+        } finally {
+            accountingSystem.stop();
+        }
+
+        assertEquals(100, posted.size(), "Every payment should be posted.");
+        assertEquals(1.0, posted.get(0).getAmount(), "Payments should be posted in order.");
+        assertFalse(postingThreads.contains(Thread.currentThread()), "Payments should be posted by a background thread.");
+    }
+
+    @Test
+    void testLedgerFailureDoesNotFailTheSale() {
+        ExternalAccountingSystem accountingSystem = new ExternalAccountingSystem(payments -> {
+            throw new AccountingFailureException("Ledger unavailable");
+        });
+        assertDoesNotThrow(() -> accountingSystem.updateAccountingSystem(new Amount(150.0)),
+            "A ledger failure should be logged, not thrown to the lane.");
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package test.integration;
 
 import integration.ExternalInventorySystem;
+import integration.InventoryStore;
+import integration.SimulatedLatencyInventoryBackend;
 import dto.ItemDTO;
 import dto.SaleDTO;
 import model.Amount;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -99,4 +102,46 @@ class ExternalInventorySystemTest {
         assertFalse(inventorySystem.checkIfItemIdentifierValid("!@#$%^&*()"), "Special characters identifier should be invalid.");
         assertFalse(inventorySystem.checkIfItemIdentifierValid(" "), "Whitespace identifier should be invalid.");
     }
+
+    @Test
+    void testInventoryCreatedFromItemCollection() throws ItemNotFoundException, DatabaseFailureException {
+        List<ItemDTO> items = new ArrayList<>();
+        items.add(new ItemDTO("sku-1", "Custom item", new Amount(9.90), VAT.VAT_12, 7, "Custom"));
+        ExternalInventorySystem customInventory = new ExternalInventorySystem(items);
+
+        assertTrue(customInventory.checkIfItemIdentifierValid("sku-1"), "Item from the collection should be valid.");
+        assertFalse(customInventory.checkIfItemIdentifierValid("1"), "Predefined items should not be included.");
+        assertEquals(7, customInventory.retrieveItemInformation("sku-1").getQuantity(), "Stock should be taken from the DTO quantity.");
+    }
+
+    @Test
+    void testRetrieveSeveralItemsKeepsOrder() throws ItemNotFoundException, DatabaseFailureException {
+        Map<String, ItemDTO> items = inventorySystem.retrieveItemInformation(List.of("3", "1"));
+
+        assertEquals(List.of("3", "1"), new ArrayList<>(items.keySet()), "Items should be in the order they were asked for.");
+        assertEquals("BigWheel Oatmeal 500 ml", items.get("1").getItemDescription(), "Item information should match.");
+    }
+
+    @Test
+    void testRetrieveSeveralItemsWithUnknownItem() {
+        ItemNotFoundException exception = assertThrows(ItemNotFoundException.class,
+            () -> inventorySystem.retrieveItemInformation(List.of("1", "999")), "An unknown item should fail the lookup.");
+        assertEquals("999", exception.getItemIdentifier(), "The exception should name the unknown item.");
+        assertThrows(DatabaseFailureException.class, () -> inventorySystem.retrieveItemInformation(List.of("1", "DBFAIL")),
+            "A database failure should fail the lookup.");
+    }
+
+    @Test
+    void testSeveralItemsAreRetrievedInOneBackendCall() throws ItemNotFoundException, DatabaseFailureException {
+        InventoryStore store = new InventoryStore();
+        store.addItem(new ItemDTO("a", "A", new Amount(1.0), VAT.VAT_6, 5, "A"));
+        store.addItem(new ItemDTO("b", "B", new Amount(2.0), VAT.VAT_6, 5, "B"));
+        SimulatedLatencyInventoryBackend backend = new SimulatedLatencyInventoryBackend(store, 0);
+        ExternalInventorySystem remoteInventory = new ExternalInventorySystem(store, backend);
+
+        remoteInventory.retrieveItemInformation(List.of("a", "b"));
+        remoteInventory.retrieveItemInformation("a");
+
+        assertEquals(2, backend.getCallCount(), "A multi-get should be one call to the backend.");
+    }
 }
\ No newline at end of file
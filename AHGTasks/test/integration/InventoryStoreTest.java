@@ -0,0 +1,122 @@
+package test.integration;
+
+import integration.InventoryStore;
+import dto.ItemDTO;
+import dto.SaleDTO;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryStoreTest {
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int THREADS = 16;
+    private static final int SALES_PER_THREAD = 2_000;
+
+    private InventoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InventoryStore(4);
+        for (int i = 0; i < 8; i++) {
+            store.addItem(new ItemDTO("sku-" + i, "Item " + i, new Amount(10.0), VAT.VAT_12, INITIAL_STOCK, "Item " + i));
+        }
+    }
+
+    @Test
+    void testGetItemReturnsCurrentStock() {
+        store.decrementStock("sku-1", 3);
+        ItemDTO item = store.getItem("sku-1");
+        assertEquals(INITIAL_STOCK - 3, item.getQuantity(), "Item information should carry the current stock.");
+        assertEquals("Item 1", item.getItemDescription(), "Item information should be kept.");
+    }
+
+    @Test
+    void testUnknownItem() {
+        assertNull(store.getItem("unknown"), "Unknown items should not be found.");
+        assertNull(store.getItem(null), "Null identifiers should not be found.");
+        assertFalse(store.containsItem(null), "Null identifiers should not be contained.");
+        assertThrows(IllegalArgumentException.class, () -> store.decrementStock("unknown", 1));
+    }
+
+    @Test
+    void testAddingExistingItemSetsItsStock() {
+        store.decrementStock("sku-1", 3);
+        store.addItem(new ItemDTO("sku-1", "Item 1", new Amount(12.0), VAT.VAT_12, 5, "Item 1"));
+        store.decrementStock("sku-1", 1);
+
+        assertEquals(4, store.getStock("sku-1"), "Changes after the item was added again should be kept.");
+        assertEquals(4, store.getItem("sku-1").getQuantity(), "Item information should carry the same stock.");
+    }
+
+    @Test
+    void testCommitSaleWithUnknownItemChangesNothing() {
+        List<ItemDTO> soldItems = new ArrayList<>();
+        soldItems.add(new ItemDTO("sku-1", "Item 1", new Amount(10.0), VAT.VAT_12, 2, "Item 1"));
+        soldItems.add(new ItemDTO("unknown", "Unknown", new Amount(10.0), VAT.VAT_12, 1, "Unknown"));
+
+        assertThrows(IllegalArgumentException.class, () -> store.commitSale(new SaleDTO(soldItems, new Amount(0), new Amount(0))));
+        assertEquals(INITIAL_STOCK, store.getStock("sku-1"), "No stock should change when a sale cannot be committed.");
+    }
+
+    @Test
+    void testConcurrentUpdatesConserveStock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int threadNumber = thread;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int sale = 0; sale < SALES_PER_THREAD; sale++) {
+                    List<ItemDTO> soldItems = new ArrayList<>();
+                    soldItems.add(new ItemDTO("sku-" + (sale % 8), "", new Amount(10.0), VAT.VAT_12, 2, ""));
+                    soldItems.add(new ItemDTO("sku-" + ((sale + threadNumber) % 8), "", new Amount(10.0), VAT.VAT_12, 1, ""));
+                    store.commitSale(new SaleDTO(soldItems, new Amount(0), new Amount(0)));
+                    store.decrementStock("sku-" + (threadNumber % 8), 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long remainingStock = 0;
+        for (int i = 0; i < 8; i++) {
+            remainingStock += store.getStock("sku-" + i);
+        }
+        long soldUnits = (long) THREADS * SALES_PER_THREAD * 4;
+        assertEquals(8L * INITIAL_STOCK - soldUnits, remainingStock, "Every sold unit should be removed exactly once.");
+    }
+
+    @Test
+    void testUpdatePriceKeepsStockAndNotifiesListeners() {
+        List<String> changedItems = new ArrayList<>();
+        store.addCatalogueListener((identifier, version) -> changedItems.add(identifier + "@" + version));
+        store.decrementStock("sku-2", 5);
+
+        store.updatePrice("sku-2", new Amount(12.5));
+
+        ItemDTO item = store.getItem("sku-2");
+        assertEquals(12.5, item.getPrice().getAmount(), 0.001, "The item should have the new price.");
+        assertEquals(INITIAL_STOCK - 5, item.getQuantity(), "A price change should not change the stock.");
+        assertEquals(List.of("sku-2@1"), changedItems, "Listeners should be told which item changed, and the new version.");
+        assertEquals(1, store.getCatalogueVersion(), "The catalogue version should increase with every change.");
+        assertThrows(IllegalArgumentException.class, () -> store.updatePrice("unknown", new Amount(1.0)),
+            "Changing the price of an unknown item should fail.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package test.integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+import integration.InventoryStore;
+import integration.ItemCatalogueCache;
+import integration.SimulatedLatencyInventoryBackend;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCatalogueCacheTest {
+    private InventoryStore store;
+    private SimulatedLatencyInventoryBackend backend;
+    private ItemCatalogueCache cache;
+
+    @BeforeEach
+    void setUp() {
+        store = new InventoryStore();
+        for (int i = 0; i < 5; i++) {
+            store.addItem(new ItemDTO("sku-" + i, "Item " + i, new Amount(10.0), VAT.VAT_12, 100, "Item " + i));
+        }
+        backend = new SimulatedLatencyInventoryBackend(store, 0);
+        cache = new ItemCatalogueCache(backend, 3);
+        store.addCatalogueListener(cache);
+    }
+
+    @Test
+    void testRepeatedLookupIsAnsweredFromCache() throws DatabaseFailureException {
+        ItemDTO first = cache.fetchItem("sku-1");
+        ItemDTO second = cache.fetchItem("sku-1");
+
+        assertSame(first, second, "The second lookup should return the cached item.");
+        assertEquals(1, backend.getCallCount(), "The backend should only be asked once.");
+        assertEquals(1, cache.getHitCount(), "The second lookup should be a hit.");
+        assertEquals(1, cache.getMissCount(), "The first lookup should be a miss.");
+    }
+
+    @Test
+    void testUnknownItemIsNotCached() throws DatabaseFailureException {
+        assertNull(cache.fetchItem("unknown"), "An unknown item should not be found.");
+        cache.fetchItem("unknown");
+
+        assertEquals(2, backend.getCallCount(), "An unknown item should be looked up every time.");
+        assertEquals(0, cache.size(), "An unknown item should not take a place in the cache.");
+    }
+
+    @Test
+    void testLeastRecentlyUsedItemIsEvicted() throws DatabaseFailureException {
+        cache.fetchItem("sku-0");
+        cache.fetchItem("sku-1");
+        cache.fetchItem("sku-2");
+        cache.fetchItem("sku-0");
+        cache.fetchItem("sku-3");
+
+        int callsBefore = backend.getCallCount();
+        cache.fetchItem("sku-0");
+        assertEquals(callsBefore, backend.getCallCount(), "A recently used item should stay in the cache.");
+        cache.fetchItem("sku-1");
+        assertEquals(callsBefore + 1, backend.getCallCount(), "The least recently used item should have been evicted.");
+        assertEquals(3, cache.size(), "The cache should not grow beyond its bound.");
+        assertEquals(2, cache.getEvictionCount(), "Every eviction should be counted.");
+    }
+
+    @Test
+    void testPriceChangeInvalidatesCachedItem() throws DatabaseFailureException {
+        cache.fetchItem("sku-1");
+
+        store.updatePrice("sku-1", new Amount(8.0));
+        ItemDTO item = cache.fetchItem("sku-1");
+
+        assertEquals(8.0, item.getPrice().getAmount(), 0.001, "The new price should be seen after a change.");
+        assertEquals(1, cache.getInvalidationCount(), "The invalidation should be counted.");
+    }
+
+    @Test
+    void testItemLoadedDuringPriceChangeIsNotCached() throws DatabaseFailureException {
+        ItemCatalogueCache racingCache = new ItemCatalogueCache(identifier -> {
+            ItemDTO loaded = store.getItem(identifier);
+            store.updatePrice(identifier, new Amount(8.0));
+            return loaded;
+        }, 3);
+        store.addCatalogueListener(racingCache);
+
+        ItemDTO loaded = racingCache.fetchItem("sku-1");
+
+        assertEquals(10.0, loaded.getPrice().getAmount(), 0.001, "The caller should get the item as it was loaded.");
+        assertEquals(0, racingCache.size(), "An item loaded before a change should not be cached.");
+    }
+
+    @Test
+    void testMultiGetLoadsOnlyMissesInOneCall() throws DatabaseFailureException {
+        cache.fetchItem("sku-0");
+
+        Map<String, ItemDTO> items = cache.fetchItems(List.of("sku-2", "sku-0", "unknown", "sku-1"));
+
+        assertEquals(List.of("sku-2", "sku-0", "sku-1"), new ArrayList<>(items.keySet()), "Existing items should be returned in order.");
+        assertEquals(2, backend.getCallCount(), "All misses should be loaded with one call.");
+        assertEquals(1, cache.getHitCount(), "The cached item should be a hit.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package test.integration;
+
+import dto.RevenueRecordDTO;
+import integration.MappedRevenueLedgerReader;
+import integration.RevenueLedger;
+import model.Amount;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedRevenueLedgerReaderTest {
+    @TempDir
+    Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("ledger.bin");
+        try (RevenueLedger ledger = new RevenueLedger(file)) {
+            ledger.append(1_000, "lane-1", new Amount(100.0));
+            ledger.append(2_000, "lane-2", new Amount(40.0));
+            ledger.append(3_000, "lane-1", new Amount(10.5));
+        }
+    }
+
+    @Test
+    void testRecordsAreReadByIndex() throws IOException {
+        MappedRevenueLedgerReader reader = new MappedRevenueLedgerReader(file);
+
+        RevenueRecordDTO record = reader.getRecord(1);
+
+        assertEquals(3, reader.getRecordCount(), "Every record should be mapped.");
+        assertEquals(2_000, record.getTimestamp(), "The timestamp should be read.");
+        assertEquals("lane-2", record.getLaneId(), "The lane should be read.");
+        assertEquals(40.0, record.getSaleAmount().getAmount(), 0.001, "The sale amount should be read.");
+        assertEquals(140.0, record.getRunningTotal().getAmount(), 0.001, "The running total should be read.");
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getRecord(3), "There should be no fourth record.");
+    }
+
+    @Test
+    void testRevenueIsSummedByLaneAndPeriod() throws IOException {
+        MappedRevenueLedgerReader reader = new MappedRevenueLedgerReader(file);
+
+        Map<String, Amount> byLane = reader.getRevenueByLane();
+
+        assertEquals(110.5, byLane.get("lane-1").getAmount(), 0.001, "The sales of a lane should be summed.");
+        assertEquals(40.0, byLane.get("lane-2").getAmount(), 0.001, "The sales of a lane should be summed.");
+        assertEquals(50.5, reader.getRevenueBetween(2_000, 3_001).getAmount(), 0.001,
+            "Only the sales in the period should be summed.");
+    }
+
+    @Test
+    void testDamagedRecordIsSkipped() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {99}), 8 + 48 + 9);
+        }
+        MappedRevenueLedgerReader reader = new MappedRevenueLedgerReader(file);
+
+        assertFalse(reader.isIntact(1), "The changed record should not match its checksum.");
+        assertTrue(reader.isIntact(2), "The other records should be intact.");
+        assertThrows(IllegalStateException.class, () -> reader.getRecord(1), "A damaged record should not be returned.");
+        assertNull(reader.getRevenueByLane().get("lane-2"), "A damaged record should not be summed.");
+    }
+}
\ No newline at end of file
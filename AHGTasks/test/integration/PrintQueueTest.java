@@ -0,0 +1,117 @@
+package test.integration;
+
+import integration.PrintQueue;
+import dto.ItemDTO;
+import dto.ReceiptDTO;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrintQueueTest {
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream outputStream;
+
+    @BeforeEach
+    void setUp() {
+        outputStream = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStream, true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private ReceiptDTO createReceipt(int number) {
+        List<ItemDTO> soldItems = List.of(new ItemDTO("" + number, "Item", new Amount(10.0), VAT.VAT_25, 1, "Item " + number));
+        return new ReceiptDTO(LocalDateTime.of(2025, 5, 1, 12, 0), soldItems, 1, new Amount(10.0), new Amount(2.5),
+                              new Amount(0), new Amount(12.5), new Amount(20.0), new Amount(7.5));
+    }
+
+    private int countReceipts(String output) {
+        return output.split("Begin receipt", -1).length - 1;
+    }
+
+    @Test
+    void testFlushWaitsForSubmittedReceipts() throws InterruptedException {
+        PrintQueue queue = new PrintQueue(16);
+        queue.start();
+        for (int i = 0; i < 100; i++) {
+            queue.submit(createReceipt(i));
+        }
+
+        queue.flush();
+
+        assertEquals(100, countReceipts(outputStream.toString()), "All submitted receipts should be printed after flush.");
+        queue.stop();
+    }
+
+    @Test
+    void testStopPrintsAllAcceptedReceiptsInOrder() {
+        PrintQueue queue = new PrintQueue(1000);
+        for (int i = 0; i < 500; i++) {
+            queue.submit(createReceipt(i));
+        }
+        queue.start();
+
+        queue.stop();
+
+        String output = outputStream.toString();
+        assertEquals(500, countReceipts(output), "Stopping should print every accepted receipt.");
+        assertTrue(output.indexOf("Item 499 1 x") > output.indexOf("Item 0 1 x"), "Receipts should be printed in order.");
+        assertThrows(IllegalStateException.class, () -> queue.submit(createReceipt(500)),
+            "A stopped queue should not accept receipts.");
+    }
+
+    @Test
+    void testFullQueueMakesSubmitterWait() throws InterruptedException {
+        CountDownLatch printerReleased = new CountDownLatch(1);
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                awaitQuietly(printerReleased);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                awaitQuietly(printerReleased);
+            }
+        }));
+        PrintQueue queue = new PrintQueue(2);
+        queue.start();
+        CountDownLatch allSubmitted = new CountDownLatch(1);
+        Thread lane = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                queue.submit(createReceipt(i));
+            }
+            allSubmitted.countDown();
+        });
+        lane.start();
+
+        assertFalse(allSubmitted.await(300, TimeUnit.MILLISECONDS), "Submitting should wait while the queue is full.");
+        printerReleased.countDown();
+        assertTrue(allSubmitted.await(10, TimeUnit.SECONDS), "Submitting should continue once the printer catches up.");
+        queue.stop();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -116,4 +116,28 @@ class PrinterTest {
         String printedOutput = outputStream.toString();
         assertTrue(printedOutput.contains("2025-05-19") || printedOutput.contains("15:30"), "Receipt should include date/time information.");
     }
+
+    @Test
+    void testStartedPrinterPrintsQueuedReceipts() throws InterruptedException {
+        List<ItemDTO> soldItems = new ArrayList<>();
+        soldItems.add(new ItemDTO("1", "Test Item", new Amount(10.0), VAT.VAT_25, 1, "Test"));
+        ReceiptDTO receiptDTO = new ReceiptDTO(LocalDateTime.of(2025, 5, 19, 15, 30), soldItems, soldItems.size(),
+            new Amount(10.0), new Amount(2.5), new Amount(0), new Amount(12.5), new Amount(12.5), new Amount(0));
+
+        printer.start();
+        try {
+            for (int i = 0; i < 50; i++) {
+                printer.printReceipt(receiptDTO);
+            }
+            printer.flush();
+            assertEquals(50, outputStream.toString().split("Begin receipt", -1).length - 1,
+                "All queued receipts should be printed after flush.");
+        } finally {
+            printer.stop();
+        }
+
+        printer.printReceipt(receiptDTO);
+        assertEquals(51, outputStream.toString().split("Begin receipt", -1).length - 1,
+            "A stopped printer should print synchronously again.");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package test.integration;
+
+import integration.PromotionRuleLoader;
+import model.MixAndMatchPromotion;
+import model.MultiBuyPromotion;
+import model.PercentagePromotion;
+import model.PromotionEngine;
+import model.PromotionRule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionRuleLoaderTest {
+
+    @Test
+    void testAllRuleTypesAreLoaded(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("promotions.txt");
+        Files.writeString(file, String.join("\n",
+            "# Weekly promotions",
+            "percent  p1 milk 10",
+            "",
+            "multibuy m1 soda 3 2",
+            "mixmatch x1 3 50.00 chips dip salsa"));
+
+        PromotionEngine engine = PromotionRuleLoader.load(file);
+
+        assertEquals(3, engine.getRuleCount(), "Every rule line should be loaded.");
+        assertInstanceOf(PercentagePromotion.class, engine.getRulesFor("milk").get(0), "percent should be a percentage promotion.");
+        assertInstanceOf(MultiBuyPromotion.class, engine.getRulesFor("soda").get(0), "multibuy should be a multi-buy promotion.");
+        assertInstanceOf(MixAndMatchPromotion.class, engine.getRulesFor("salsa").get(0), "mixmatch should be a mix-and-match promotion.");
+        assertEquals(List.of("chips", "dip", "salsa"), List.copyOf(engine.getRulesFor("dip").get(0).getItemIdentifiers()),
+            "A mix-and-match should apply to all listed items.");
+    }
+
+    @Test
+    void testInvalidLineNamesLineNumber() {
+        BufferedReader reader = new BufferedReader(new StringReader("percent p1 milk 10\nmultibuy m1 soda three 2\n"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> PromotionRuleLoader.readRules(reader), "A malformed rule should be rejected.");
+        assertTrue(exception.getMessage().contains("line 2"), "The message should name the malformed line.");
+    }
+
+    @Test
+    void testUnknownRuleTypeIsRejected() {
+        BufferedReader reader = new BufferedReader(new StringReader("coupon c1 milk 10\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> PromotionRuleLoader.readRules(reader),
+            "An unknown promotion type should be rejected.");
+    }
+
+    @Test
+    void testReadRulesKeepsFileOrder() throws Exception {
+        List<PromotionRule> rules = PromotionRuleLoader.readRules(new BufferedReader(new StringReader(
+            "percent b bread 5\npercent a apple 5\n")));
+
+        assertEquals("b", rules.get(0).getId(), "Rules should keep the order of the file.");
+        assertEquals("a", rules.get(1).getId(), "Rules should keep the order of the file.");
+    }
+}
\ No newline at end of file
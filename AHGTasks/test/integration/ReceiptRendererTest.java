@@ -0,0 +1,64 @@
+package test.integration;
+
+import integration.ReceiptRenderer;
+import dto.ItemDTO;
+import dto.ReceiptDTO;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReceiptRendererTest {
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private ReceiptDTO createReceipt(LocalDateTime dateAndTime, Amount change) {
+        List<ItemDTO> soldItems = List.of(
+            new ItemDTO("123", "Test Item 1", new Amount(19.95), VAT.VAT_25, 3, "Item One"),
+            new ItemDTO("456", "Test Item 2", new Amount(5.0), VAT.VAT_12, 1, "Item Two"));
+        return new ReceiptDTO(dateAndTime, soldItems, soldItems.size(), new Amount(64.85), new Amount(12.0),
+                              new Amount(1.5), new Amount(63.35), new Amount(100.0), change);
+    }
+
+    @Test
+    void testRenderFormatsAllLines() {
+        ReceiptRenderer renderer = new ReceiptRenderer();
+
+        String receipt = renderer.render(createReceipt(LocalDateTime.of(2025, 5, 1, 9, 5), new Amount(36.65))).toString();
+
+        assertTrue(receipt.startsWith("------------------------ Begin receipt ------------------------" + NEW_LINE),
+            "Receipt should start with the header line.");
+        assertTrue(receipt.contains("Time of Sale: 2025-05-01 09:05" + NEW_LINE), "Receipt should show the formatted time.");
+        assertTrue(receipt.contains("Item One 3 x 19.95 59.85 SEK" + NEW_LINE), "Receipt should show the price of each line.");
+        assertTrue(receipt.contains("Item Two 1 x 5.00 5.00 SEK" + NEW_LINE), "Receipt should show the price of each line.");
+        assertTrue(receipt.contains("Discount: -1.50" + NEW_LINE), "Receipt should show the discount.");
+        assertTrue(receipt.contains("Total after discount: 63.35" + NEW_LINE), "Receipt should show the total after discount.");
+        assertTrue(receipt.endsWith("Change to give the customer: 36.65" + NEW_LINE), "Receipt should end with the change.");
+    }
+
+    @Test
+    void testBufferIsReusedWithoutLeftovers() {
+        ReceiptRenderer renderer = new ReceiptRenderer();
+        renderer.render(createReceipt(LocalDateTime.of(2025, 5, 1, 9, 5), new Amount(36.65)));
+
+        String second = renderer.render(createReceipt(LocalDateTime.of(2025, 6, 2, 18, 30), new Amount(0))).toString();
+
+        assertEquals(1, second.split("Begin receipt", -1).length - 1, "A rendered receipt should not contain the previous one.");
+        assertTrue(second.contains("Time of Sale: 2025-06-02 18:30"), "The second receipt should show its own time.");
+    }
+
+    @Test
+    void testAppendToKeepsExistingContent() {
+        ReceiptRenderer renderer = new ReceiptRenderer();
+        StringBuilder builder = new StringBuilder("previous" + NEW_LINE);
+
+        renderer.appendTo(builder, createReceipt(LocalDateTime.of(2025, 5, 1, 9, 5), new Amount(36.65)));
+
+        assertTrue(builder.toString().startsWith("previous" + NEW_LINE + "------------------------ Begin receipt"),
+            "Appending should keep the existing content of the builder.");
+    }
+}
\ No newline at end of file
@@ -1,11 +1,20 @@
 package test.integration;
 
+import dto.RegisterSnapshotDTO;
 import integration.Register;
 import model.Amount;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 
@@ -67,4 +76,59 @@ class RegisterTest {
         assertEquals(50.0, testRegister.getAmount().getAmount(), 
             "Register should subtract correctly when negative amount is used.");
     }
+
+    @Test
+    void testUpdatesAreKeptPerLane() {
+        testRegister.updateRegister("lane-1", new Amount(10.25));
+        testRegister.updateRegister("lane-2", new Amount(4.50));
+        testRegister.updateRegister("lane-1", new Amount(0.75));
+
+        assertEquals(11.0, testRegister.getDrawerAmount("lane-1").getAmount(), "Drawer should contain the lane's revenue.");
+        assertEquals(4.5, testRegister.getDrawerAmount("lane-2").getAmount(), "Drawer should contain the lane's revenue.");
+        assertEquals(0.0, testRegister.getDrawerAmount("lane-3").getAmount(), "Unused drawer should be empty.");
+        assertEquals(115.5, testRegister.getAmount().getAmount(), "Total should include all drawers and the initial amount.");
+    }
+
+    @Test
+    void testSnapshotTotalMatchesDrawers() {
+        testRegister.updateRegister("lane-2", new Amount(4.50));
+        testRegister.updateRegister("lane-1", new Amount(10.25));
+        testRegister.updateRegister(new Amount(1.0));
+
+        RegisterSnapshotDTO snapshot = testRegister.getSnapshot();
+
+        assertEquals(List.of(Register.DEFAULT_DRAWER, "lane-1", "lane-2"), new ArrayList<>(snapshot.getDrawers().keySet()),
+            "Snapshot should list the drawers by lane identifier.");
+        assertEquals(100.0, snapshot.getInitialAmount().getAmount(), "Snapshot should contain the initial amount.");
+        assertEquals(115.75, snapshot.getTotal().getAmount(), "Snapshot total should be the initial amount plus all drawers.");
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws Exception {
+        int threads = 16;
+        int updatesPerThread = 10_000;
+        ExecutorService lanes = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            String laneId = thread % 2 == 0 ? Register.DEFAULT_DRAWER : "lane-" + thread;
+            results.add(lanes.submit(() -> {
+                start.await();
+                for (int i = 0; i < updatesPerThread; i++) {
+                    testRegister.updateRegister(laneId, new Amount(0.01));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        lanes.shutdown();
+
+        assertEquals(100.0 + threads * updatesPerThread * 0.01, testRegister.getAmount().getAmount(), 0.001,
+            "No concurrent update should be lost.");
+        assertEquals(threads / 2 * updatesPerThread * 0.01, testRegister.getDrawerAmount(Register.DEFAULT_DRAWER).getAmount(), 0.001,
+            "A drawer shared by several threads should contain all their updates.");
+    }
 }
\ No newline at end of file
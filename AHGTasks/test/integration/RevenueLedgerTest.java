@@ -0,0 +1,84 @@
+package test.integration;
+
+import dto.RevenueRecordDTO;
+import integration.RevenueLedger;
+import model.Amount;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueLedgerTest {
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 48;
+
+    @Test
+    void testAppendKeepsRunningTotal(@TempDir Path directory) throws IOException {
+        try (RevenueLedger ledger = new RevenueLedger(directory.resolve("ledger.bin"))) {
+            ledger.append(1_000, "lane-1", new Amount(150.0));
+            RevenueRecordDTO second = ledger.append(2_000, "lane-2", new Amount(0.5));
+
+            assertEquals(150.5, second.getRunningTotal().getAmount(), 0.001, "The running total should include every sale.");
+            assertEquals(2, ledger.getRecordCount(), "Every sale should be one record.");
+        }
+        assertEquals(HEADER_SIZE + 2 * RECORD_SIZE, Files.size(directory.resolve("ledger.bin")), "Records should have a fixed size.");
+    }
+
+    @Test
+    void testReopenedLedgerContinuesFromLastTotal(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("ledger.bin");
+        try (RevenueLedger ledger = new RevenueLedger(file)) {
+            ledger.append(1_000, "lane-1", new Amount(100.0));
+            ledger.append(2_000, "lane-1", new Amount(50.0));
+        }
+
+        try (RevenueLedger ledger = new RevenueLedger(file)) {
+            assertEquals(150.0, ledger.getLastTotal().getAmount(), 0.001, "The last total should be recovered.");
+            assertEquals(175.0, ledger.append(3_000, "lane-1", new Amount(25.0)).getRunningTotal().getAmount(), 0.001,
+                "New records should continue from the last total.");
+        }
+    }
+
+    @Test
+    void testTornAndDamagedTailIsRemoved(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("ledger.bin");
+        try (RevenueLedger ledger = new RevenueLedger(file)) {
+            ledger.append(1_000, "lane-1", new Amount(100.0));
+            ledger.append(2_000, "lane-1", new Amount(50.0));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {42}), HEADER_SIZE + RECORD_SIZE + 10);
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {1, 2, 3}), HEADER_SIZE + 2 * RECORD_SIZE);
+        }
+
+        try (RevenueLedger ledger = new RevenueLedger(file)) {
+            assertEquals(1, ledger.getRecordCount(), "The damaged last record and the torn bytes should be removed.");
+            assertEquals(100.0, ledger.getLastTotal().getAmount(), 0.001, "The total should come from the last intact record.");
+        }
+        assertEquals(HEADER_SIZE + RECORD_SIZE, Files.size(file), "The file should be cut after the last intact record.");
+    }
+
+    @Test
+    void testLongLaneIdIsShortened(@TempDir Path directory) throws IOException {
+        try (RevenueLedger ledger = new RevenueLedger(directory.resolve("ledger.bin"))) {
+            RevenueRecordDTO written = ledger.append(1_000, "a-very-long-lane-identifier", new Amount(1.0));
+
+            assertEquals("a-very-long-lane-ide", written.getLaneId(), "Only the first 20 bytes of the lane should be stored.");
+        }
+    }
+
+    @Test
+    void testOtherFileIsRejected(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("other.txt");
+        Files.writeString(file, "Added 1.00 SEK, total revenue so far: 1.00 SEK");
+
+        assertThrows(IOException.class, () -> new RevenueLedger(file), "A file that is not a ledger should be rejected.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package test.integration;
+
+import integration.MappedRevenueLedgerReader;
+import integration.RevenueLedger;
+import integration.RevenueLogConverter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueLogConverterTest {
+
+    @Test
+    void testTextLogIsConvertedExactly(@TempDir Path directory) throws IOException {
+        Path textLog = directory.resolve("total-revenue-log.txt");
+        Path ledgerFile = directory.resolve("ledger.bin");
+        Files.writeString(textLog, String.join(System.lineSeparator(),
+            "Added 150.00 SEK, total revenue so far: 150.00 SEK",
+            "Added 0,10 SEK, total revenue so far: 150,10 SEK",
+            "Added 0.20 SEK, total revenue so far: 150.30 SEK",
+            "Added 12.5"));
+        RevenueLogConverter converter = new RevenueLogConverter();
+
+        int converted = converter.convert(textLog, ledgerFile);
+
+        assertEquals(3, converted, "Every complete entry should be converted.");
+        assertEquals(1, converter.getSkippedLines(), "The line cut short should be skipped.");
+        MappedRevenueLedgerReader reader = new MappedRevenueLedgerReader(ledgerFile);
+        assertEquals(10, reader.getRecord(1).getSaleAmount().getMinorUnits(), "Amounts with a decimal comma should be read.");
+        try (RevenueLedger ledger = new RevenueLedger(ledgerFile)) {
+            assertEquals(15_030, ledger.getLastTotal().getMinorUnits(), "The last total should be converted to ore exactly.");
+        }
+    }
+}
\ No newline at end of file
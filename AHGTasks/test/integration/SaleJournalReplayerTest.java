@@ -0,0 +1,86 @@
+package test.integration;
+
+import integration.ExternalInventorySystem;
+import integration.Register;
+import integration.SaleJournal;
+import integration.SaleJournalReplayer;
+import dto.ItemDTO;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaleJournalReplayerTest {
+    @TempDir
+    Path directory;
+
+    private ExternalInventorySystem inventory;
+    private Register register;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new ExternalInventorySystem(List.of(
+            new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 100, "Oatmeal"),
+            new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 100, "Bread")));
+        register = new Register(new Amount(500.0));
+    }
+
+    @Test
+    void testPaidSalesRebuildRegisterAndInventory() throws Exception {
+        Path file = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(file)) {
+            long first = journal.recordSaleInitiated("lane-1");
+            journal.recordSalePaid(first, "lane-1", new Amount(47.4), new Amount(50.0), List.of(
+                new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 2, "Oatmeal"),
+                new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 1, "Bread")));
+            long unpaid = journal.recordSaleInitiated("lane-2");
+            journal.recordItemRegistered(unpaid, "2", 1);
+            long second = journal.recordSaleInitiated("lane-2");
+            journal.recordSalePaid(second, "lane-2", new Amount(12.5), new Amount(20.0), List.of(
+                new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 1, "Oatmeal")));
+        }
+
+        int replayed = new SaleJournalReplayer(register, inventory).replay(file);
+
+        assertEquals(2, replayed, "Only paid sales should be replayed.");
+        assertEquals(47.4, register.getDrawerAmount("lane-1").getAmount(), 0.001, "Revenue should be restored per lane.");
+        assertEquals(12.5, register.getDrawerAmount("lane-2").getAmount(), 0.001, "Revenue should be restored per lane.");
+        assertEquals(559.9, register.getAmount().getAmount(), 0.001, "The register total should include replayed sales.");
+        assertEquals(97, inventory.retrieveItemInformation("1").getQuantity(), "Sold units should be removed from stock.");
+        assertEquals(99, inventory.retrieveItemInformation("2").getQuantity(), "Unpaid sales should not change the stock.");
+    }
+
+    @Test
+    void testItemsMissingFromInventoryAreSkipped() throws Exception {
+        Path file = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(file)) {
+            long saleId = journal.recordSaleInitiated("lane-1");
+            journal.recordSalePaid(saleId, "lane-1", new Amount(30.0), new Amount(30.0), List.of(
+                new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 1, "Oatmeal"),
+                new ItemDTO("retired", "Old item", new Amount(17.5), VAT.VAT_25, 1, "Old item")));
+        }
+
+        SaleJournalReplayer replayer = new SaleJournalReplayer(register, inventory);
+        replayer.replay(file);
+
+        assertEquals(1, replayer.getSkippedItems(), "Items no longer in the inventory should be skipped.");
+        assertEquals(99, inventory.retrieveItemInformation("1").getQuantity(), "Known items should still be replayed.");
+        assertEquals(530.0, register.getAmount().getAmount(), 0.001, "The revenue of the sale should be restored.");
+    }
+
+    @Test
+    void testMissingJournalReplaysNothing() throws IOException {
+        int replayed = new SaleJournalReplayer(register, inventory).replay(directory.resolve("missing.bin"));
+
+        assertEquals(0, replayed, "A missing journal should be treated as empty.");
+        assertEquals(500.0, register.getAmount().getAmount(), "The register should be unchanged.");
+    }
+}
\ No newline at end of file
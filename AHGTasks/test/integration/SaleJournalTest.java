@@ -0,0 +1,183 @@
+package test.integration;
+
+import integration.SaleJournal;
+import integration.SaleJournalVisitor;
+import dto.ItemDTO;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaleJournalTest {
+    @TempDir
+    Path directory;
+
+    private static List<ItemDTO> soldItems() {
+        return List.of(new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 2, "Oatmeal"),
+                       new ItemDTO("2", "Bread", new Amount(20.0), VAT.VAT_12, 1, "Bread"));
+    }
+
+    private static class RecordingVisitor implements SaleJournalVisitor {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void saleInitiated(long saleId, long timestamp, String laneId) {
+            events.add("initiated " + saleId + " " + laneId);
+        }
+
+        @Override
+        public void itemRegistered(long saleId, long timestamp, String itemIdentifier, int quantity) {
+            events.add("item " + saleId + " " + itemIdentifier + " x" + quantity);
+        }
+
+        @Override
+        public void discountApplied(long saleId, long timestamp, String customerID, long discountInMinorUnits) {
+            events.add("discount " + saleId + " " + customerID + " " + discountInMinorUnits);
+        }
+
+        @Override
+        public void salePaid(long saleId, long timestamp, String laneId, long totalInMinorUnits,
+                             long paymentInMinorUnits, Map<String, Integer> soldQuantities) {
+            events.add("paid " + saleId + " " + laneId + " " + totalInMinorUnits + " " + paymentInMinorUnits + " " + soldQuantities);
+        }
+    }
+
+    @Test
+    void testEventsAreReadBackInOrder() throws IOException {
+        Path file = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(file)) {
+            long saleId = journal.recordSaleInitiated("lane-1");
+            journal.recordItemRegistered(saleId, "1", 1);
+            journal.recordItemRegistered(saleId, "1", 1);
+            journal.recordItemRegistered(saleId, "2", 1);
+            journal.recordDiscountApplied(saleId, "123", new Amount(4.5));
+            journal.recordSalePaid(saleId, "lane-1", new Amount(51.9), new Amount(100.0), soldItems());
+        }
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        long validLength = SaleJournal.read(file, visitor);
+
+        assertEquals(Files.size(file), validLength, "The whole journal should be intact.");
+        assertEquals(List.of("initiated 1 lane-1", "item 1 1 x1", "item 1 1 x1", "item 1 2 x1", "discount 1 123 450",
+                             "paid 1 lane-1 5190 10000 {1=2, 2=1}"), visitor.events,
+            "All events should be read back with their fields, in order.");
+    }
+
+    @Test
+    void testReopenedJournalContinuesSaleIds() throws IOException {
+        Path file = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(file)) {
+            journal.recordSaleInitiated("lane-1");
+            journal.recordSaleInitiated("lane-2");
+        }
+        try (SaleJournal journal = new SaleJournal(file)) {
+            assertEquals(3, journal.recordSaleInitiated("lane-1"), "A reopened journal should not reuse sale identifiers.");
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnoredAndRemoved() throws IOException {
+        Path file = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(file)) {
+            long saleId = journal.recordSaleInitiated("lane-1");
+            journal.recordSalePaid(saleId, "lane-1", new Amount(40.0), new Amount(50.0), soldItems());
+        }
+        long intactLength = Files.size(file);
+        try (SaleJournal journal = new SaleJournal(file)) {
+            long saleId = journal.recordSaleInitiated("lane-1");
+            journal.recordSalePaid(saleId, "lane-1", new Amount(40.0), new Amount(50.0), soldItems());
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.setLength(Files.size(file) - 3);
+        }
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        long validLength = SaleJournal.read(file, visitor);
+        assertEquals(3, visitor.events.size(), "Reading should stop at the torn record.");
+
+        try (SaleJournal journal = new SaleJournal(file)) {
+            assertEquals(validLength, Files.size(file), "Opening the journal should remove the torn tail.");
+            journal.recordSaleInitiated("lane-2");
+        }
+        assertTrue(validLength > intactLength, "Intact records after the first session should be kept.");
+
+        RecordingVisitor repaired = new RecordingVisitor();
+        SaleJournal.read(file, repaired);
+        assertEquals(4, repaired.events.size(), "New records should follow the intact records.");
+    }
+
+    @Test
+    void testDamagedRecordEndsTheJournal() throws IOException {
+        Path file = directory.resolve("journal.bin");
+        try (SaleJournal journal = new SaleJournal(file)) {
+            journal.recordSaleInitiated("lane-1");
+            journal.recordSaleInitiated("lane-2");
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(Files.size(file) - 6);
+            raw.write('X');
+        }
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        SaleJournal.read(file, visitor);
+
+        assertEquals(List.of("initiated 1 lane-1"), visitor.events, "A record with a wrong checksum should not be read.");
+    }
+
+    @Test
+    void testFileThatIsNotAJournalIsRejected() throws IOException {
+        Path file = directory.resolve("other.txt");
+        Files.writeString(file, "This is not a journal.");
+
+        assertThrows(IOException.class, () -> new SaleJournal(file), "A file without the journal header should be rejected.");
+    }
+
+    @Test
+    void testConcurrentPaymentsAreAllJournaled() throws Exception {
+        Path file = directory.resolve("journal.bin");
+        int lanes = 16;
+        int salesPerLane = 50;
+        try (SaleJournal journal = new SaleJournal(file)) {
+            ExecutorService executor = Executors.newFixedThreadPool(lanes);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int lane = 0; lane < lanes; lane++) {
+                String laneId = "lane-" + lane;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int sale = 0; sale < salesPerLane; sale++) {
+                        long saleId = journal.recordSaleInitiated(laneId);
+                        journal.recordSalePaid(saleId, laneId, new Amount(40.0), new Amount(50.0), soldItems());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            assertTrue(journal.getForceCount() <= lanes * salesPerLane, "No payment should need more than one force.");
+        }
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        SaleJournal.read(file, visitor);
+        assertEquals(2 * lanes * salesPerLane, visitor.events.size(), "Every event from every lane should be in the journal.");
+    }
+}
\ No newline at end of file
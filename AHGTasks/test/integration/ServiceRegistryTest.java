@@ -0,0 +1,146 @@
+package test.integration;
+
+import integration.ExternalAccountingSystem;
+import integration.ExternalInventorySystem;
+import integration.Printer;
+import integration.Register;
+import integration.ServiceRegistry;
+import model.Amount;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class ServiceRegistryTest {
+    private static final int THREADS = 32;
+
+    @Test
+    void testParallelGetInstanceReturnsOneInstance() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object[]>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Callable<Object[]> lookup = () -> {
+                start.await();
+                return new Object[] {Register.getInstance(new Amount(0)), Printer.getInstance(),
+                                     ExternalAccountingSystem.getInstance(), ExternalInventorySystem.getInstance()};
+            };
+            results.add(threads.submit(lookup));
+        }
+        start.countDown();
+        Object[] expected = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<Object[]> result : results) {
+            assertArrayEquals(expected, result.get(10, TimeUnit.SECONDS), "Every thread should get the same instances.");
+        }
+        threads.shutdown();
+        for (Object instance : expected) {
+            assertNotNull(instance, "The shared instances should be created.");
+        }
+    }
+
+    @Test
+    void testServicesAreStartedInParallel() {
+        CountDownLatch bothStarting = new CountDownLatch(2);
+        ServiceRegistry registry = new ServiceRegistry(new WaitingInventorySystem(bothStarting),
+            ExternalAccountingSystem.getInstance(), new WaitingRegister(bothStarting), Printer.getInstance());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), registry::start,
+            "Services waiting for each other should start, which requires them to start in parallel.");
+        registry.stop();
+    }
+
+    @Test
+    void testFailedStartStopsStartedServices() {
+        List<String> stopped = new ArrayList<>();
+        ExternalInventorySystem inventory = new ExternalInventorySystem() {
+            @Override
+            public void stop() {
+                stopped.add("inventory");
+            }
+        };
+        Register failingRegister = new Register(new Amount(0)) {
+            @Override
+            public void start() {
+                throw new IllegalArgumentException("No drawer.");
+            }
+        };
+        ServiceRegistry registry = new ServiceRegistry(inventory, ExternalAccountingSystem.getInstance(),
+                                                       failingRegister, Printer.getInstance());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, registry::start,
+            "A failed start should be reported.");
+        assertEquals("No drawer.", exception.getCause().getMessage(), "The cause of the failure should be kept.");
+        assertEquals(List.of("inventory"), stopped, "Services that did start should be stopped again.");
+    }
+
+    @Test
+    void testStopIsInReverseOrderAndOnlyOnce() {
+        List<String> stopped = new ArrayList<>();
+        ExternalInventorySystem inventory = new ExternalInventorySystem() {
+            @Override
+            public void stop() {
+                stopped.add("inventory");
+            }
+        };
+        Register register = new Register(new Amount(0)) {
+            @Override
+            public void stop() {
+                stopped.add("register");
+            }
+        };
+        ServiceRegistry registry = new ServiceRegistry(inventory, ExternalAccountingSystem.getInstance(),
+                                                       register, Printer.getInstance());
+        registry.start();
+        registry.stop();
+        registry.stop();
+
+        assertEquals(List.of("register", "inventory"), stopped, "Services should be stopped once, in reverse order.");
+        assertThrows(IllegalStateException.class, registry::start, "A registry should only be started once.");
+    }
+
+    private static class WaitingInventorySystem extends ExternalInventorySystem {
+        private final CountDownLatch bothStarting;
+
+        WaitingInventorySystem(CountDownLatch bothStarting) {
+            this.bothStarting = bothStarting;
+        }
+
+        @Override
+        public void start() {
+            awaitOther(bothStarting);
+        }
+    }
+
+    private static class WaitingRegister extends Register {
+        private final CountDownLatch bothStarting;
+
+        WaitingRegister(CountDownLatch bothStarting) {
+            super(new Amount(0));
+            this.bothStarting = bothStarting;
+        }
+
+        @Override
+        public void start() {
+            awaitOther(bothStarting);
+        }
+    }
+
+    private static void awaitOther(CountDownLatch bothStarting) {
+        bothStarting.countDown();
+        try {
+            bothStarting.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package test.integration;
+
+import dto.ItemDTO;
+import exceptions.DatabaseFailureException;
+import integration.InventoryStore;
+import integration.SimulatedLatencyInventoryBackend;
+import model.Amount;
+import model.VAT;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedLatencyInventoryBackendTest {
+
+    @Test
+    void testEveryCallTakesTheLatency() throws DatabaseFailureException {
+        InventoryStore store = new InventoryStore();
+        store.addItem(new ItemDTO("1", "Oatmeal", new Amount(10.0), VAT.VAT_25, 100, "Oatmeal"));
+        SimulatedLatencyInventoryBackend backend = new SimulatedLatencyInventoryBackend(store, 20);
+
+        long start = System.nanoTime();
+        ItemDTO item = backend.fetchItem("1");
+        backend.fetchItems(List.of("1", "2"));
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals("Oatmeal", item.getName(), "The lookup should be answered by the wrapped backend.");
+        assertEquals(2, backend.getCallCount(), "Every call should be counted once.");
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(40), "Every call should wait for the latency.");
+    }
+
+    @Test
+    void testInterruptedCallFails() {
+        SimulatedLatencyInventoryBackend backend = new SimulatedLatencyInventoryBackend(new InventoryStore(), 1_000);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(DatabaseFailureException.class, () -> backend.fetchItem("1"),
+                "An interrupted wait should fail the lookup.");
+            assertTrue(Thread.currentThread().isInterrupted(), "The interrupt should be kept.");
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
\ No newline at end of file
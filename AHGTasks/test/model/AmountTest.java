@@ -62,4 +62,11 @@ public class AmountTest {
         Amount result = amount1.multiply(0);
         assertEquals(0, result.getAmount(), "Multiplying by zero should return zero");
     }
+
+    @Test
+    void testMinorUnitsRoundTrip() {
+        Amount amount = Amount.ofMinorUnits(2990);
+        assertEquals(29.90, amount.getAmount(), "2990 ore should be 29.90 SEK.");
+        assertEquals(2990, amount.getMinorUnits(), "29.90 SEK should be 2990 ore.");
+    }
 }
\ No newline at end of file
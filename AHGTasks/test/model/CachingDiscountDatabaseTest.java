@@ -0,0 +1,115 @@
+package test.model;
+
+import dto.ItemDTO;
+import model.Amount;
+import model.CachingDiscountDatabase;
+import model.DiscountDatabaseImpl;
+import model.VAT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingDiscountDatabaseTest {
+    private final AtomicLong clock = new AtomicLong();
+    private List<String> lookups;
+    private CachingDiscountDatabase cache;
+
+    @BeforeEach
+    void setUp() {
+        lookups = new ArrayList<>();
+        DiscountDatabaseImpl loyaltySystem = new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromCustomerID(String customerID) {
+                lookups.add(customerID);
+                return super.getDiscountFromCustomerID(customerID);
+            }
+        };
+        cache = new CachingDiscountDatabase(loyaltySystem, 3, 60_000, 1_000, clock::get);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void testRepeatedLookupIsAnsweredFromCache() {
+        Amount first = cache.getDiscountFromCustomerID("123");
+        Amount second = cache.getDiscountFromCustomerID("123");
+
+        assertEquals(0.05, second.getAmount(), 0.0001, "The cached discount should be the looked up one.");
+        assertSame(first, second, "The second lookup should return the cached discount.");
+        assertEquals(List.of("123"), lookups, "The customer should only be looked up once.");
+        assertEquals(1, cache.getHitCount(), "The second lookup should be a hit.");
+        assertEquals(1, cache.getMissCount(), "The first lookup should be a miss.");
+    }
+
+    @Test
+    void testDiscountExpiresAfterTimeToLive() {
+        cache.getDiscountFromCustomerID("123");
+        advanceMillis(59_999);
+        cache.getDiscountFromCustomerID("123");
+        advanceMillis(1);
+        cache.getDiscountFromCustomerID("123");
+
+        assertEquals(List.of("123", "123"), lookups, "An expired discount should be looked up again.");
+        assertEquals(1, cache.getExpirationCount(), "The expiry should be counted.");
+    }
+
+    @Test
+    void testUnknownCustomerIsRememberedForNegativeTimeToLive() {
+        cache.getDiscountFromCustomerID("unknown");
+        cache.getDiscountFromCustomerID("unknown");
+        advanceMillis(1_000);
+        Amount discount = cache.getDiscountFromCustomerID("unknown");
+
+        assertEquals(0.0, discount.getAmount(), "An unknown customer should get no discount.");
+        assertEquals(List.of("unknown", "unknown"), lookups,
+            "An unknown customer should be remembered, but only for the shorter time.");
+    }
+
+    @Test
+    void testLeastRecentlyUsedCustomerIsEvicted() {
+        cache.getDiscountFromCustomerID("a");
+        cache.getDiscountFromCustomerID("b");
+        cache.getDiscountFromCustomerID("c");
+        cache.getDiscountFromCustomerID("a");
+        cache.getDiscountFromCustomerID("d");
+        lookups.clear();
+
+        cache.getDiscountFromCustomerID("a");
+        cache.getDiscountFromCustomerID("b");
+
+        assertEquals(3, cache.size(), "The cache should not grow beyond its bound.");
+        assertEquals(1, cache.getEvictionCount() - 1, "Looking b up again should evict another customer.");
+        assertEquals(List.of("b"), lookups, "The least recently used customer should have been evicted.");
+    }
+
+    @Test
+    void testWarmUpPreloadsCustomersUpToTheBound() {
+        int loaded = cache.warmUp(List.of("123", "456", "789", "999"));
+        lookups.clear();
+
+        cache.getDiscountFromCustomerID("123");
+        cache.getDiscountFromCustomerID("789");
+
+        assertEquals(3, loaded, "Only as many customers as the cache holds should be loaded.");
+        assertTrue(lookups.isEmpty(), "Preloaded customers should be answered from the cache.");
+        assertEquals(2, cache.getHitCount(), "Lookups of preloaded customers should be hits.");
+    }
+
+    @Test
+    void testItemAndTotalDiscountsArePassedOn() {
+        ItemDTO item = new ItemDTO("1", "Item", new Amount(10.0), VAT.VAT_25, 1, "Item");
+
+        assertEquals(5.0, cache.getDiscountFromItems(List.of(item)).getAmount(), "Item discounts should come from the database.");
+        assertEquals(60.0, cache.getDiscountFromTotal(new Amount(600.0)).getAmount(), 0.001,
+            "Total discounts should come from the database.");
+    }
+}
\ No newline at end of file
@@ -4,8 +4,17 @@ import model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import dto.ItemDTO;
+
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,4 +68,156 @@ class CompositeDiscountStrategyTest {
 
         assertThrows(NullPointerException.class, () -> composite.calculateDiscount(mockSale));
     }
+
+    @Test
+    void testUnchangedSaleReusesLastDiscount() {
+        AtomicInteger calculations = new AtomicInteger();
+        DiscountStrategy countingStrategy = sale -> {
+            calculations.incrementAndGet();
+            return new Amount(10.0);
+        };
+        CompositeDiscountStrategy composite = new CompositeDiscountStrategy(Collections.singletonList(countingStrategy));
+
+        composite.calculateDiscount(mockSale);
+        composite.calculateDiscount(mockSale);
+        assertEquals(1, calculations.get(), "An unchanged sale should not be calculated again.");
+
+        mockSale.addItemToSale(new ItemDTO("1", "Item", new Amount(10.0), VAT.VAT_25, 5, "Item"), 1);
+        composite.calculateDiscount(mockSale);
+        assertEquals(2, calculations.get(), "A changed sale should be calculated again.");
+
+        composite.calculateDiscount(new Sale());
+        assertEquals(3, calculations.get(), "Another sale should be calculated on its own.");
+    }
+
+    private static class SlowDiscountDatabase extends DiscountDatabaseImpl {
+        private final long latencyMillis;
+
+        SlowDiscountDatabase(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        private void waitForBackEnd() {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Amount getDiscountFromItems(List<ItemDTO> items) {
+            waitForBackEnd();
+            return super.getDiscountFromItems(items);
+        }
+
+        @Override
+        public Amount getDiscountFromTotal(Amount total) {
+            waitForBackEnd();
+            return super.getDiscountFromTotal(total);
+        }
+
+        @Override
+        public Amount getDiscountFromCustomerID(String customerID) {
+            waitForBackEnd();
+            return super.getDiscountFromCustomerID(customerID);
+        }
+    }
+
+    private List<DiscountStrategy> slowStrategies(DiscountDatabase database) {
+        return Arrays.asList(new CustomerDiscountStrategy("123", database),
+                             new ItemBasedDiscountStrategy(database),
+                             new TotalBasedDiscountStrategy(database));
+    }
+
+    @Test
+    void testParallelModeWaitsForSlowestStrategyOnly() {
+        long latencyMillis = 200;
+        mockSale.setCustomerID("123");
+        mockSale.addItemToSale(new ItemDTO("1", "Item", new Amount(100.0), VAT.VAT_25, 5, "Item"), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            long sequentialStart = System.nanoTime();
+            Amount sequentialDiscount = new CompositeDiscountStrategy(slowStrategies(new SlowDiscountDatabase(latencyMillis)))
+                .calculateDiscount(mockSale);
+            long sequentialMillis = (System.nanoTime() - sequentialStart) / 1_000_000;
+
+            long parallelStart = System.nanoTime();
+            Amount parallelDiscount = new CompositeDiscountStrategy(slowStrategies(new SlowDiscountDatabase(latencyMillis)),
+                                                                    executor, 5_000).calculateDiscount(mockSale);
+            long parallelMillis = (System.nanoTime() - parallelStart) / 1_000_000;
+
+            assertEquals(sequentialDiscount.getAmount(), parallelDiscount.getAmount(), 0.001,
+                "Both modes should give the same discount.");
+            assertTrue(sequentialMillis >= 3 * latencyMillis, "Sequential mode should wait for every strategy in turn.");
+            assertTrue(parallelMillis < 2 * latencyMillis,
+                "Parallel mode should only wait for the slowest strategy, but took " + parallelMillis + " ms.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelModeFallsBackToZeroOnTimeoutAndFailure() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            DiscountStrategy slowStrategy = sale -> {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Amount(100.0);
+            };
+            DiscountStrategy failingStrategy = sale -> {
+                throw new IllegalStateException("Promotion service unavailable.");
+            };
+            DiscountStrategy fixedStrategy = sale -> new Amount(10.0);
+            CompositeDiscountStrategy composite = new CompositeDiscountStrategy(
+                Arrays.asList(slowStrategy, failingStrategy, fixedStrategy), executor, 50);
+
+            long start = System.nanoTime();
+            Amount discount = composite.calculateDiscount(mockSale);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(10.0, discount.getAmount(), 0.001, "Timed out and failed strategies should give no discount.");
+            assertTrue(elapsedMillis < 1_000, "A slow strategy should not hold up the sale beyond its timeout.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelStrategiesReadACopyAndTimedOutOnesAreCancelled() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AtomicReference<Sale> seenSale = new AtomicReference<>();
+            CountDownLatch interrupted = new CountDownLatch(1);
+            DiscountStrategy recordingStrategy = sale -> {
+                seenSale.set(sale);
+                return new Amount(0.1);
+            };
+            DiscountStrategy hangingStrategy = sale -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return new Amount(100.0);
+            };
+            mockSale.addItemToSale(new ItemDTO("1", "Item", new Amount(100.0), VAT.VAT_25, 5, "Item"), 1);
+            CompositeDiscountStrategy composite = new CompositeDiscountStrategy(
+                Arrays.asList(recordingStrategy, hangingStrategy, sale -> new Amount(0.2)), executor, 50);
+
+            Amount discount = composite.calculateDiscount(mockSale);
+
+            assertEquals(30, discount.getMinorUnits(), "The discounts should be summed exactly, in ore.");
+            assertNotSame(mockSale, seenSale.get(), "A strategy on the executor should not read the live sale.");
+            assertEquals(mockSale.getVersion(), seenSale.get().getVersion(), "The copy should be of the current sale.");
+            assertThrows(IllegalStateException.class, () -> seenSale.get().setCustomerID("123"), "The copy should be read-only.");
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS), "A strategy that timed out should be cancelled.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
\ No newline at end of file
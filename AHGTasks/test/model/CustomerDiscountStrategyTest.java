@@ -5,6 +5,7 @@ import dto.ItemDTO;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -109,4 +110,31 @@ class CustomerDiscountStrategyTest {
         assertEquals(0.0, discount.getAmount(), 
                 "No discount should apply when discount database is null.");
     }
+
+    @Test
+    void testPercentageIsOnlyLookedUpWhenCustomerChanges() {
+        AtomicInteger lookups = new AtomicInteger();
+        DiscountDatabase db = new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromCustomerID(String customerID) {
+                lookups.incrementAndGet();
+                return super.getDiscountFromCustomerID(customerID);
+            }
+        };
+        CustomerDiscountStrategy strategy = new CustomerDiscountStrategy("123", db);
+        Sale sale = new Sale();
+        sale.setCustomerID("123");
+        sale.addItemToSale(new ItemDTO("1", "Item", new Amount(100.0), VAT.VAT_25, 5, "Item"), 1);
+
+        strategy.calculateDiscount(sale);
+        sale.addItemToSale(new ItemDTO("1", "Item", new Amount(100.0), VAT.VAT_25, 5, "Item"), 1);
+        Amount discount = strategy.calculateDiscount(sale);
+
+        assertEquals(12.5, discount.getAmount(), 0.001, "The discount should follow the changed total.");
+        assertEquals(1, lookups.get(), "The percentage of the same customer should only be looked up once.");
+
+        sale.setCustomerID("456");
+        assertEquals(0.0, strategy.calculateDiscount(sale).getAmount(), 0.001, "A new customer should get their own percentage.");
+        assertEquals(2, lookups.get(), "A new customer should be looked up.");
+    }
 }
\ No newline at end of file
@@ -91,6 +91,13 @@ class DiscountDatabaseImplTest {
         assertEquals(0.0, discountDatabase.getDiscountFromCustomerID("").getAmount());
     }
 
+    @Test
+    void testGetDiscountFromItem_adaptsListLookupToOneLine() {
+        Amount discount = discountDatabase.getDiscountFromItem(createDummyItem());
+
+        assertEquals(5.0, discount.getAmount(), "The discount of one line should be the list discount of that line alone.");
+    }
+
     private ItemDTO createDummyItem() {
         return new ItemDTO(
                 "item1",
@@ -12,6 +12,10 @@ import model.VAT;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 class ItemBasedDiscountStrategyTest {
     private ItemBasedDiscountStrategy discountStrategy;   
     private ItemDTO testItemDTO; 
@@ -68,4 +72,141 @@ class ItemBasedDiscountStrategyTest {
 
         assertEquals(0.0, discount.getAmount());
     }
+
+    @Test
+    void testUnchangedSaleIsNotRescanned() {
+        AtomicInteger scans = new AtomicInteger();
+        ItemBasedDiscountStrategy countingStrategy = new ItemBasedDiscountStrategy(new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromItems(List<ItemDTO> items) {
+                scans.incrementAndGet();
+                return super.getDiscountFromItems(items);
+            }
+        });
+        testSale.addItemToSale(testItemDTO, 1);
+
+        countingStrategy.calculateDiscount(testSale);
+        Amount discount = countingStrategy.calculateDiscount(testSale);
+
+        assertEquals(5.0, discount.getAmount(), 0.001, "The reused discount should be the calculated one.");
+        assertEquals(1, scans.get(), "An unchanged sale should only be scanned once.");
+    }
+
+    @Test
+    void testEachScanOnlyLooksUpTheChangedLine() {
+        AtomicInteger lookups = new AtomicInteger();
+        ItemBasedDiscountStrategy countingStrategy = new ItemBasedDiscountStrategy(new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromItems(List<ItemDTO> items) {
+                lookups.addAndGet(items.size());
+                return super.getDiscountFromItems(items);
+            }
+        });
+        int lines = 2_000;
+        for (int i = 0; i < lines; i++) {
+            testSale.addItemToSale(new ItemDTO("line-" + i, "Item", new Amount(10.0), VAT.VAT_25, 5, "Item"), 1);
+        }
+        countingStrategy.calculateDiscount(testSale);
+        lookups.set(0);
+
+        testSale.addItemToSale(testItemDTO, 1);
+        Amount afterAdd = countingStrategy.calculateDiscount(testSale);
+        testSale.increaseQuantity("123", 1);
+        Amount afterIncrease = countingStrategy.calculateDiscount(testSale);
+
+        assertEquals(2, lookups.get(), "Only the added or changed line should be looked up.");
+        assertEquals((lines + 1) * 5.0, afterAdd.getAmount(), 0.001, "The new line should add its discount.");
+        assertEquals((lines + 1) * 5.0, afterIncrease.getAmount(), 0.001, "A changed line should replace its discount.");
+    }
+
+    @Test
+    void testQuantityDependentLineDiscountIsReplaced() {
+        ItemBasedDiscountStrategy perUnitStrategy = new ItemBasedDiscountStrategy(new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromItem(ItemDTO item) {
+                return new Amount(item.getQuantity() * 2.0);
+            }
+        });
+        testSale.addItemToSale(testItemDTO, 1);
+        perUnitStrategy.calculateDiscount(testSale);
+
+        testSale.increaseQuantity("123", 2);
+
+        assertEquals(6.0, perUnitStrategy.calculateDiscount(testSale).getAmount(), 0.001,
+            "The discount of a line should follow its new quantity.");
+    }
+
+    @Test
+    void testStrategyFollowsANewSale() {
+        testSale.addItemToSale(testItemDTO, 1);
+        discountStrategy.calculateDiscount(testSale);
+        Sale nextSale = new Sale();
+
+        assertEquals(0.0, discountStrategy.calculateDiscount(nextSale).getAmount(), "A new sale should start without discount.");
+        testSale.addItemToSale(new ItemDTO("456", "Other", new Amount(10.0), VAT.VAT_25, 5, "Other"), 1);
+        nextSale.addItemToSale(testItemDTO, 1);
+        assertEquals(5.0, discountStrategy.calculateDiscount(nextSale).getAmount(), 0.001,
+            "Changes of the previous sale should not affect the new one.");
+    }
+
+    @Test
+    void testFirstCalculationLooksUpAllLinesInOneCall() {
+        AtomicInteger batches = new AtomicInteger();
+        AtomicInteger singleLookups = new AtomicInteger();
+        ItemBasedDiscountStrategy countingStrategy = new ItemBasedDiscountStrategy(new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromItem(ItemDTO item) {
+                singleLookups.incrementAndGet();
+                return super.getDiscountFromItem(item);
+            }
+
+            @Override
+            public List<Amount> getDiscountsFromLines(List<ItemDTO> items) {
+                batches.incrementAndGet();
+                return items.stream().map(item -> new Amount(5.0)).collect(Collectors.toList());
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            testSale.addItemToSale(new ItemDTO("line-" + i, "Item", new Amount(10.0), VAT.VAT_25, 5, "Item"), 1);
+        }
+
+        Amount discount = countingStrategy.calculateDiscount(testSale);
+
+        assertEquals(500.0, discount.getAmount(), 0.001, "Every line should get its discount.");
+        assertEquals(1, batches.get(), "The lines should be looked up in one call.");
+        assertEquals(0, singleLookups.get(), "No line should be looked up on its own.");
+    }
+
+    @Test
+    void testDiscountThatDoesNotAddUpIsAskedForTheWholeSale() {
+        AtomicInteger lookups = new AtomicInteger();
+        ItemBasedDiscountStrategy thresholdStrategy = new ItemBasedDiscountStrategy(new DiscountDatabase() {
+            @Override
+            public Amount getDiscountFromItems(List<ItemDTO> items) {
+                lookups.incrementAndGet();
+                return new Amount(items.size() >= 3 ? 20.0 : 0.0);
+            }
+
+            @Override
+            public Amount getDiscountFromTotal(Amount total) {
+                return new Amount(0);
+            }
+
+            @Override
+            public Amount getDiscountFromCustomerID(String customerID) {
+                return new Amount(0);
+            }
+        });
+        testSale.addItemToSale(testItemDTO, 1);
+        testSale.addItemToSale(new ItemDTO("456", "Other", new Amount(10.0), VAT.VAT_25, 5, "Other"), 1);
+        assertEquals(0.0, thresholdStrategy.calculateDiscount(testSale).getAmount(), 0.001,
+            "Two lines should be below the threshold.");
+
+        testSale.addItemToSale(new ItemDTO("789", "Third", new Amount(10.0), VAT.VAT_25, 5, "Third"), 1);
+        Amount discount = thresholdStrategy.calculateDiscount(testSale);
+        thresholdStrategy.calculateDiscount(testSale);
+
+        assertEquals(20.0, discount.getAmount(), 0.001, "The discount should be the one of the whole sale.");
+        assertEquals(2, lookups.get(), "The whole sale should only be asked for again after it changed.");
+    }
 }
\ No newline at end of file
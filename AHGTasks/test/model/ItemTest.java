@@ -104,4 +104,20 @@ class ItemTest {
         assertEquals(3, dto.getQuantity(), "DTO should have the correct quantity");
         assertEquals("Sample Item Name", dto.getName(), "DTO should have the correct name");
     }
+
+    @Test
+    void testUnitPricesArePrecomputedInMinorUnits() {
+        Item item = new Item(new ItemDTO("1", "Oatmeal", new Amount(29.90), VAT.VAT_6, 1, "Oatmeal"), 2);
+        assertEquals(2990, item.getUnitPriceInMinorUnits(), "Unit price should be 2990 ore.");
+        assertEquals(179, item.getUnitVATInMinorUnits(), "Unit VAT should be 6% of 29.90 rounded to 1.79 SEK.");
+        assertEquals(3169, item.getUnitPriceWithVATInMinorUnits(), "Unit price with VAT should be 31.69 SEK.");
+        assertSame(item.getPriceWithVAT(), item.getPriceWithVAT(), "Price with VAT should be created only once.");
+    }
+
+    @Test
+    void testLineTotalsInMinorUnitsFollowQuantity() {
+        testItem.increaseQuantity(2);
+        assertEquals(53000, testItem.getTotalPriceWithVATInMinorUnits(), "Five units of 106.00 SEK should be 530.00 SEK.");
+        assertEquals(3000, testItem.getTotalVATInMinorUnits(), "Five units of 6.00 SEK VAT should be 30.00 SEK.");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package test.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import model.Amount;
+import model.MoneyAccumulator;
+
+public class MoneyAccumulatorTest {
+
+    @Test
+    void testNewAccumulatorIsZero() {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        assertEquals(0, accumulator.getMinorUnits(), "A new accumulator should start at zero.");
+    }
+
+    @Test
+    void testAccumulatesWithoutDrift() {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        for (int i = 0; i < 1000; i++) {
+            accumulator.add(new Amount(0.10));
+        }
+        assertEquals(10000, accumulator.getMinorUnits(), "A thousand 0.10 SEK additions should be exactly 100 SEK.");
+        assertEquals(100.0, accumulator.toAmount().getAmount(), "The total should convert back to 100.00 SEK.");
+    }
+
+    @Test
+    void testStartsFromInitialAmountAndSubtracts() {
+        MoneyAccumulator accumulator = new MoneyAccumulator(new Amount(100.0));
+        accumulator.subtract(2550);
+        assertEquals(74.5, accumulator.toAmount().getAmount(), "100 SEK minus 25.50 SEK should be 74.50 SEK.");
+    }
+
+    @Test
+    void testSetReplacesTotal() {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        accumulator.add(500);
+        accumulator.set(new Amount(12.34));
+        assertEquals(1234, accumulator.getMinorUnits(), "Setting should replace the previous total.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package test.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.RoundingMode;
+
+import model.Money;
+
+public class MoneyTest {
+
+    @Test
+    void testFromKronorRoundsHalfUp() {
+        assertEquals(2990, Money.fromKronor(29.90), "29.90 SEK should be 2990 ore.");
+        assertEquals(3169, Money.fromKronor(31.694), "31.694 SEK should round down to 3169 ore.");
+        assertEquals(3170, Money.fromKronor(31.695), "31.695 SEK should round up to 3170 ore.");
+        assertEquals(-3170, Money.fromKronor(-31.695), "Negative halves should round away from zero.");
+    }
+
+    @Test
+    void testFromKronorIgnoresRepresentationError() {
+        assertEquals(29, Money.fromKronor(0.29, RoundingMode.FLOOR), "0.29 SEK should not floor to 28 ore.");
+        assertEquals(1490, Money.fromKronor(14.90, RoundingMode.CEILING), "14.90 SEK should not ceil to 1491 ore.");
+    }
+
+    @Test
+    void testToKronor() {
+        assertEquals(29.9, Money.toKronor(2990), "2990 ore should be 29.90 SEK.");
+        assertEquals(-0.05, Money.toKronor(-5), "-5 ore should be -0.05 SEK.");
+    }
+
+    @Test
+    void testMultiplyByQuantityIsExact() {
+        assertEquals(29900, Money.multiply(2990, 10), "Ten units of 2990 ore should be 29900 ore.");
+    }
+
+    @Test
+    void testMultiplyByRateUsesRoundingMode() {
+        assertEquals(179, Money.multiply(2990, 0.06, RoundingMode.HALF_UP), "6% of 2990 ore is 179.4 ore.");
+        assertEquals(180, Money.multiply(2990, 0.06, RoundingMode.UP), "Rounding up should give 180 ore.");
+        assertEquals(150, Money.multiply(2990, 0.05, RoundingMode.HALF_UP), "149.5 ore should round half up to 150.");
+        assertEquals(150, Money.multiply(2990, 0.05, RoundingMode.HALF_EVEN), "149.5 ore should round half even to 150.");
+        assertEquals(149, Money.multiply(2990, 0.05, RoundingMode.HALF_DOWN), "149.5 ore should round half down to 149.");
+    }
+
+    @Test
+    void testUnnecessaryRoundingThrows() {
+        assertEquals(500, Money.multiply(1000, 0.5, RoundingMode.UNNECESSARY), "Exact results should not need rounding.");
+        assertThrows(ArithmeticException.class, () -> Money.multiply(2990, 0.06, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void testAddOverflowThrows() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+    }
+
+    @Test
+    void testAppendTo() {
+        assertEquals("12.05", Money.appendTo(new StringBuilder(), 1205).toString(), "1205 ore should format as 12.05.");
+        assertEquals("0.00", Money.appendTo(new StringBuilder(), 0).toString(), "Zero should format as 0.00.");
+        assertEquals("-0.50", Money.appendTo(new StringBuilder(), -50).toString(), "-50 ore should format as -0.50.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package test.model;
+
+import dto.ItemDTO;
+import model.Amount;
+import model.Item;
+import model.MultiBuyPromotion;
+import model.PromotionDiscountStrategy;
+import model.PromotionEngine;
+import model.Sale;
+import model.VAT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionDiscountStrategyTest {
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private PromotionDiscountStrategy strategy;
+    private Sale sale;
+    private ItemDTO soda;
+
+    @BeforeEach
+    void setUp() {
+        PromotionEngine engine = new PromotionEngine(List.of(new MultiBuyPromotion("m1", "soda", 2, 1))) {
+            @Override
+            public long calculateDiscount(Map<String, Item> lines) {
+                evaluations.incrementAndGet();
+                return super.calculateDiscount(lines);
+            }
+        };
+        strategy = new PromotionDiscountStrategy(engine);
+        sale = new Sale();
+        soda = new ItemDTO("soda", "Soda", new Amount(8.0), VAT.VAT_25, 100, "Soda");
+    }
+
+    @Test
+    void testDiscountFollowsTheSale() {
+        sale.addItemToSale(soda, 1);
+        assertEquals(0.0, strategy.calculateDiscount(sale).getAmount(), 0.001, "One soda should not be discounted.");
+
+        sale.increaseQuantity("soda", 1);
+        assertEquals(10.0, strategy.calculateDiscount(sale).getAmount(), 0.001, "The second soda should be free.");
+    }
+
+    @Test
+    void testUnchangedSaleIsNotEvaluatedAgain() {
+        sale.addItemToSale(soda, 2);
+        strategy.calculateDiscount(sale);
+        strategy.calculateDiscount(sale);
+
+        assertEquals(1, evaluations.get(), "An unchanged sale should reuse the last result.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package test.model;
+
+import dto.ItemDTO;
+import model.Amount;
+import model.Item;
+import model.MixAndMatchPromotion;
+import model.MultiBuyPromotion;
+import model.PercentagePromotion;
+import model.PromotionEngine;
+import model.PromotionRule;
+import model.VAT;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionEngineTest {
+
+    private static Item line(String identifier, double priceWithVAT, int quantity) {
+        return new Item(new ItemDTO(identifier, identifier, new Amount(priceWithVAT / 1.25), VAT.VAT_25, quantity, identifier), quantity);
+    }
+
+    @Test
+    void testPercentagePromotionDiscountsItsLine() {
+        PromotionEngine engine = new PromotionEngine(List.of(new PercentagePromotion("p1", "milk", 10)));
+
+        long discount = engine.calculateDiscount(List.of(line("milk", 20.0, 3), line("bread", 30.0, 1)));
+
+        assertEquals(600, discount, "10% of three units at 20 kr should be 6 kr.");
+    }
+
+    @Test
+    void testMultiBuyOnlyDiscountsCompleteGroups() {
+        PromotionEngine engine = new PromotionEngine(List.of(new MultiBuyPromotion("m1", "soda", 3, 2)));
+
+        assertEquals(0, engine.calculateDiscount(List.of(line("soda", 10.0, 2))), "An incomplete group should pay full price.");
+        assertEquals(2000, engine.calculateDiscount(List.of(line("soda", 10.0, 7))), "Seven units should give two free units.");
+    }
+
+    @Test
+    void testMixAndMatchGroupsMostExpensiveUnitsFirst() {
+        PromotionEngine engine = new PromotionEngine(List.of(
+            new MixAndMatchPromotion("x1", List.of("a", "b", "c"), 3, new Amount(50.0))));
+
+        long discount = engine.calculateDiscount(List.of(line("a", 10.0, 2), line("b", 30.0, 1), line("c", 20.0, 1),
+                                                          line("other", 100.0, 5)));
+
+        assertEquals(1000, discount, "The group should be 30 + 20 + 10 kr, sold for 50 kr.");
+    }
+
+    @Test
+    void testMatchingRulesAreAdded() {
+        PromotionEngine engine = new PromotionEngine(List.of(
+            new PercentagePromotion("p1", "milk", 10),
+            new MultiBuyPromotion("m1", "soda", 2, 1)));
+
+        long discount = engine.calculateDiscount(List.of(line("milk", 20.0, 1), line("soda", 10.0, 2)));
+
+        assertEquals(1200, discount, "The discounts of all matching promotions should be added.");
+    }
+
+    @Test
+    void testOverlappingRulesDoNotDiscountTheSameUnitsTwice() {
+        PromotionEngine engine = new PromotionEngine(List.of(
+            new PercentagePromotion("p1", "soda", 10),
+            new MultiBuyPromotion("m1", "soda", 3, 2)));
+
+        long discount = engine.calculateDiscount(List.of(line("soda", 10.0, 7)));
+
+        assertEquals(2100, discount, "The multi-buy should take six units and the percentage only the seventh.");
+    }
+
+    @Test
+    void testSameUnitsAreOnlyDiscountedByTheBestRule() {
+        PromotionEngine engine = new PromotionEngine(List.of(
+            new PercentagePromotion("p1", "milk", 30),
+            new PercentagePromotion("p2", "milk", 80)));
+
+        assertEquals(1600, engine.calculateDiscount(List.of(line("milk", 20.0, 1))),
+            "Only the larger discount should be given for the same unit.");
+    }
+
+    @Test
+    void testDiscountIsLimitedToBasketPrice() {
+        PromotionEngine engine = new PromotionEngine(List.of(new PromotionRule("generous", Set.of("milk")) {
+            @Override
+            public long calculateDiscount(Map<String, Item> lines) {
+                return 1_000_000;
+            }
+        }));
+
+        assertEquals(2000, engine.calculateDiscount(List.of(line("milk", 20.0, 1))),
+            "The discount should never exceed the price of the basket.");
+    }
+
+    @Test
+    void testOnlyRulesForItemsInBasketAreEvaluated() {
+        AtomicInteger evaluations = new AtomicInteger();
+        List<PromotionRule> rules = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String itemIdentifier = "sku-" + i;
+            rules.add(new PromotionRule("rule-" + i, Set.of(itemIdentifier)) {
+                @Override
+                public long calculateDiscount(Map<String, Item> lines) {
+                    evaluations.incrementAndGet();
+                    return lines.containsKey(itemIdentifier) ? 100 : 0;
+                }
+            });
+        }
+        PromotionEngine engine = new PromotionEngine(rules);
+
+        long discount = engine.calculateDiscount(List.of(line("sku-7", 10.0, 1), line("sku-4242", 10.0, 1),
+                                                          line("unknown", 10.0, 1)));
+
+        assertEquals(200, discount, "Both promoted items should be discounted.");
+        assertEquals(2, evaluations.get(), "Only the rules of items in the basket should be evaluated.");
+        assertEquals(1, engine.getRulesFor("sku-7").size(), "The index should hold the rule of the item.");
+        assertTrue(engine.getRulesFor("unknown").isEmpty(), "An item without promotions should have no rules.");
+    }
+
+    @Test
+    void testDuplicateRuleIdentifierIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new PromotionEngine(List.of(
+            new PercentagePromotion("p1", "milk", 10),
+            new PercentagePromotion("p1", "bread", 10))),
+            "Two promotions with the same identifier should be rejected.");
+    }
+
+    @Test
+    void testInvalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new PercentagePromotion("p1", "milk", 120),
+            "A percentage above 100 should be rejected.");
+        assertThrows(IllegalArgumentException.class, () -> new MultiBuyPromotion("m1", "soda", 2, 2),
+            "A multi-buy without free units should be rejected.");
+        assertThrows(IllegalArgumentException.class, () -> new MixAndMatchPromotion("x1", List.of(), 2, new Amount(10.0)),
+            "A mix-and-match without items should be rejected.");
+    }
+}
\ No newline at end of file
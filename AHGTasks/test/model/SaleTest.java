@@ -5,12 +5,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import dto.ItemDTO;
 import dto.ReceiptDTO;
 import dto.SaleDTO;
 import model.Sale;
+import model.SaleLineListener;
 import model.VAT;
 import test.utils.RevenueObserverTest;
 import model.Amount;
@@ -248,4 +251,96 @@ public class SaleTest {
         Amount discountedTotal = testSale.calculateTotalPriceAfterDiscount();
         assertEquals(162.0, discountedTotal.getAmount(), "Discounted total should be 162.0.");
     }
+
+    @Test
+    void testItemsKeepRegistrationOrder() {
+        ItemDTO firstItemDTO = new ItemDTO("9", "Item 9", new Amount(10.0), VAT.VAT_6, 1, "Item Nine");
+        ItemDTO secondItemDTO = new ItemDTO("1", "Item 1", new Amount(10.0), VAT.VAT_6, 1, "Item One");
+        testSale.addItemToSale(firstItemDTO, 1);
+        testSale.addItemToSale(secondItemDTO, 1);
+        testSale.addItemToSale(testItemDTO, 1);
+        testSale.increaseQuantity("9", 2);
+
+        List<ItemDTO> itemDTOs = testSale.getListOfItemDTOs();
+        assertEquals("9", itemDTOs.get(0).getItemIdentifier(), "First registered item should stay first.");
+        assertEquals("1", itemDTOs.get(1).getItemIdentifier(), "Second registered item should stay second.");
+        assertEquals("123", itemDTOs.get(2).getItemIdentifier(), "Third registered item should stay third.");
+        assertEquals(3, itemDTOs.get(0).getQuantity(), "Increasing quantity should not move the item.");
+    }
+
+    @Test
+    void testRegisteringManyDistinctItemsStaysWithinTimeBudget() {
+        int numberOfItems = 10_000;
+        assertTimeout(Duration.ofMillis(500), () -> {
+            for (int i = 0; i < numberOfItems; i++) {
+                String itemIdentifier = "item-" + i;
+                ItemDTO itemDTO = new ItemDTO(itemIdentifier, "Item " + i, new Amount(10.0), VAT.VAT_12, 1, "Item " + i);
+                if (!testSale.checkIfItemRegistered(itemIdentifier)) {
+                    testSale.addItemToSale(itemDTO, 1);
+                }
+                testSale.getItemByIdentifier(itemIdentifier);
+            }
+        }, "Registering 10 000 distinct items should not grow quadratically.");
+
+        assertEquals(numberOfItems, testSale.getListOfItemDTOs().size(), "All distinct items should be registered.");
+        assertEquals("item-0", testSale.getListOfItemDTOs().get(0).getItemIdentifier(), "Registration order should be kept.");
+    }
+
+    @Test
+    void testRunningTotalsFollowQuantityIncreases() {
+        ItemDTO exampleTestItemDTO = new ItemDTO("345", "Item 1", new Amount(100.0), VAT.VAT_25, 1, "Item One");
+        testSale.addItemToSale(exampleTestItemDTO, 1);
+        testSale.addItemToSale(exampleTestItemDTO, 1);
+        testSale.increaseQuantity("345", 2);
+
+        assertEquals(500.0, testSale.calculateTotalPrice().getAmount(), 0.001, "Total price should include all four units.");
+        assertEquals(400.0, testSale.calculateTotalNetPrice().getAmount(), 0.001, "Net price should exclude VAT.");
+        assertEquals(100.0, testSale.calculateTotalVAT().getAmount(), 0.001, "VAT should include all four units.");
+    }
+
+    @Test
+    void testVersionChangesWhenBasketOrCustomerChanges() {
+        Sale versionedSale = new Sale();
+        ItemDTO itemDTO = new ItemDTO("v1", "Item", new Amount(10.0), VAT.VAT_25, 5, "Item");
+        long initialVersion = versionedSale.getVersion();
+
+        versionedSale.addItemToSale(itemDTO, 1);
+        long afterAdd = versionedSale.getVersion();
+        versionedSale.increaseQuantity("v1", 1);
+        long afterIncrease = versionedSale.getVersion();
+        versionedSale.setCustomerID("123");
+        long afterCustomer = versionedSale.getVersion();
+        versionedSale.calculateTotalPrice();
+        versionedSale.getListOfItemDTOs();
+
+        assertNotEquals(initialVersion, afterAdd, "Adding an item should change the version.");
+        assertNotEquals(afterAdd, afterIncrease, "Increasing a quantity should change the version.");
+        assertNotEquals(afterIncrease, afterCustomer, "Setting the customer should change the version.");
+        assertEquals(afterCustomer, versionedSale.getVersion(), "Reading the sale should not change the version.");
+    }
+
+    @Test
+    void testLineListenersAreToldAboutChangedLines() {
+        Sale listenedSale = new Sale();
+        List<String> events = new ArrayList<>();
+        listenedSale.addSaleLineListener(new SaleLineListener() {
+            @Override
+            public void lineAdded(Sale sale, ItemDTO line) {
+                events.add("added " + line.getItemIdentifier() + " x" + line.getQuantity());
+            }
+
+            @Override
+            public void quantityChanged(Sale sale, ItemDTO line, int previousQuantity) {
+                events.add("changed " + line.getItemIdentifier() + " " + previousQuantity + "->" + line.getQuantity());
+            }
+        });
+        ItemDTO itemDTO = new ItemDTO("l1", "Item", new Amount(10.0), VAT.VAT_25, 5, "Item");
+
+        listenedSale.addItemToSale(itemDTO, 1);
+        listenedSale.addItemToSale(itemDTO, 2);
+        listenedSale.increaseQuantity("l1", 1);
+
+        assertEquals(List.of("added l1 x1", "changed l1 1->3", "changed l1 3->4"), events,
+            "Every added line and changed quantity should be reported.");
+    }
 }
\ No newline at end of file
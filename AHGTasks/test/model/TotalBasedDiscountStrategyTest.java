@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 class TotalBasedDiscountStrategyTest {
     private TotalBasedDiscountStrategy discountStrategy;
     private Sale testSale;
@@ -42,4 +44,26 @@ class TotalBasedDiscountStrategyTest {
         Amount discount = discountStrategy.calculateDiscount(new Sale());
         assertEquals(0.0, discount.getAmount(), "Discount for empty sale should be 0.");
     }
+
+    @Test
+    void testDiscountIsOnlyLookedUpWhenTotalChanges() {
+        AtomicInteger lookups = new AtomicInteger();
+        TotalBasedDiscountStrategy countingStrategy = new TotalBasedDiscountStrategy(new DiscountDatabaseImpl() {
+            @Override
+            public Amount getDiscountFromTotal(Amount total) {
+                lookups.incrementAndGet();
+                return super.getDiscountFromTotal(total);
+            }
+        });
+        testSale.addItemToSale(testItemDTO, 1);
+
+        countingStrategy.calculateDiscount(testSale);
+        testSale.setCustomerID("123");
+        countingStrategy.calculateDiscount(testSale);
+        assertEquals(1, lookups.get(), "An unchanged total should not be looked up again.");
+
+        testSale.addItemToSale(testItemDTO, 1);
+        countingStrategy.calculateDiscount(testSale);
+        assertEquals(2, lookups.get(), "A changed total should be looked up again.");
+    }
 }
\ No newline at end of file
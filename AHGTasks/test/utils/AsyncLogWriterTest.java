@@ -0,0 +1,156 @@
+package test.utils;
+
+import utils.AsyncLogWriter;
+import utils.LogRecord;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogWriterTest {
+    @TempDir
+    Path directory;
+
+    private static class ManualClock extends Clock {
+        private Instant now = Instant.parse("2025-03-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private LogRecord record(Exception exception, Map<String, ?> fields) {
+        return new LogRecord(LocalDateTime.of(2025, 3, 1, 10, 0), exception, fields);
+    }
+
+    private long countEntries(String log) {
+        return log.split("=== ERROR LOG ENTRY ===", -1).length - 1;
+    }
+
+    @Test
+    void testRecordsAreWrittenWithTheirFields() throws InterruptedException, IOException {
+        Path logFile = directory.resolve("error_log.txt");
+        AsyncLogWriter writer = new AsyncLogWriter(logFile, 16, Duration.ZERO, Clock.systemUTC());
+        writer.start();
+
+        assertTrue(writer.submit(record(new IllegalStateException("Inventory down"), Map.of("item", "42"))));
+        writer.flush();
+
+        String log = Files.readString(logFile);
+        assertTrue(log.contains("Exception: IllegalStateException"), "The exception class should be written.");
+        assertTrue(log.contains("Message: Inventory down"), "The exception message should be written.");
+        assertTrue(log.contains("item: 42"), "The fields should be written as key and value.");
+        assertTrue(log.contains("    at "), "The stack trace should be written.");
+        writer.close();
+    }
+
+    @Test
+    void testRepeatsWithinTheWindowAreOnlyCounted() throws InterruptedException, IOException {
+        Path logFile = directory.resolve("error_log.txt");
+        ManualClock clock = new ManualClock();
+        AsyncLogWriter writer = new AsyncLogWriter(logFile, 16, Duration.ofSeconds(1), clock);
+        writer.start();
+        Exception failure = new IllegalStateException("Inventory down");
+
+        for (int i = 0; i < 5; i++) {
+            writer.submit(record(failure, Map.of()));
+        }
+        writer.flush();
+        assertEquals(1, countEntries(Files.readString(logFile)), "Repeats within the window should not be written.");
+        assertEquals(4, writer.getSuppressedCount(), "The repeats should be counted.");
+
+        clock.advance(Duration.ofSeconds(1));
+        writer.submit(record(failure, Map.of()));
+        writer.flush();
+
+        String log = Files.readString(logFile);
+        assertEquals(2, countEntries(log), "A repeat after the window should be written.");
+        assertTrue(log.contains("Suppressed repeats: 4"), "The number of repeats left out should be written.");
+        writer.close();
+    }
+
+    @Test
+    void testFullBufferDropsInsteadOfWaiting() throws IOException {
+        Path logFile = directory.resolve("error_log.txt");
+        AsyncLogWriter writer = new AsyncLogWriter(logFile, 4, Duration.ZERO, Clock.systemUTC());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writer.submit(record(new RuntimeException("Failure " + i), Map.of())),
+                "A full buffer should not reject records.");
+        }
+        writer.close();
+
+        String log = Files.readString(logFile);
+        assertEquals(6, writer.getDroppedCount(), "The records that did not fit should be dropped.");
+        assertEquals(4, countEntries(log), "The records in the buffer should be written on close.");
+        assertTrue(log.contains("6 LOG ENTRIES DROPPED"), "The number of dropped records should be written.");
+    }
+
+    @Test
+    void testDroppedRecordDoesNotSuppressItsRepeats() throws IOException, InterruptedException {
+        Path logFile = directory.resolve("error_log.txt");
+        AsyncLogWriter writer = new AsyncLogWriter(logFile, 1, Duration.ofMinutes(1), Clock.systemUTC());
+        Exception dropped = new IllegalStateException("Dropped failure");
+
+        writer.submit(record(new RuntimeException("First failure"), Map.of()));
+        writer.submit(record(dropped, Map.of()));
+        writer.start();
+        writer.flush();
+        writer.submit(record(dropped, Map.of()));
+        writer.close();
+
+        String log = Files.readString(logFile);
+        assertEquals(1, writer.getDroppedCount(), "The record that did not fit should be dropped.");
+        assertEquals(0, writer.getSuppressedCount(), "A dropped record should not open a rate limit window.");
+        assertTrue(log.contains("Message: Dropped failure"), "The next record of the exception should be written.");
+    }
+
+    @Test
+    void testCloseWritesEverythingAndStopsTakingRecords() throws IOException {
+        Path logFile = directory.resolve("error_log.txt");
+        AsyncLogWriter writer = new AsyncLogWriter(logFile, 1024, Duration.ofMinutes(1), Clock.systemUTC());
+        writer.start();
+        Exception[] failures = new Exception[500];
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new RuntimeException("Failure " + i);
+            writer.submit(record(failures[i], Map.of("number", i)));
+        }
+        writer.submit(record(failures[0], Map.of()));
+
+        writer.close();
+
+        String log = Files.readString(logFile);
+        assertEquals(500, countEntries(log), "Every accepted record should be written before close returns.");
+        assertTrue(log.indexOf("number: 499") > log.indexOf("number: 0"), "Records should be written in order.");
+        assertTrue(log.contains("1 REPEATS NOT LOGGED"), "Repeats that were not written yet should be reported on close.");
+        assertFalse(writer.submit(record(new RuntimeException("Too late"), Map.of())),
+            "A closed writer should not take records.");
+    }
+}
\ No newline at end of file
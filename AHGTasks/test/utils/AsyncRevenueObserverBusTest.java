@@ -0,0 +1,182 @@
+package test.utils;
+
+import integration.MappedRevenueLedgerReader;
+import model.Amount;
+import utils.AsyncRevenueObserverBus;
+import utils.AsyncRevenueObserverBus.OverflowPolicy;
+import view.RevenueLedgerOutput;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncRevenueObserverBusTest {
+    private AsyncRevenueObserverBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    @Test
+    void testRevenueIsDeliveredInOrderOnConsumerThread() throws InterruptedException {
+        List<Long> revenues = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        bus = new AsyncRevenueObserverBus(16, OverflowPolicy.BLOCK);
+        bus.addObserver(revenue -> {
+            revenues.add(revenue.getMinorUnits());
+            threads.add(Thread.currentThread());
+        });
+        bus.start();
+
+        for (int i = 1; i <= 100; i++) {
+            bus.newRevenue(Amount.ofMinorUnits(i));
+        }
+        bus.flush();
+
+        assertEquals(100, revenues.size(), "Every revenue should be delivered after flush.");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, revenues.get(i), "Revenue should be delivered in the order it was reported.");
+        }
+        assertFalse(threads.contains(Thread.currentThread()), "Revenue should not be delivered on the reporting thread.");
+    }
+
+    @Test
+    void testFailingObserverDoesNotStopOthers() throws InterruptedException {
+        List<Amount> received = new CopyOnWriteArrayList<>();
+        bus = new AsyncRevenueObserverBus(16, OverflowPolicy.BLOCK);
+        bus.addObserver(revenue -> {
+            throw new IllegalStateException("Observer failure");
+        });
+        bus.addObserver(received::add);
+        bus.start();
+
+        bus.newRevenue(new Amount(10.0));
+        bus.newRevenue(new Amount(20.0));
+        bus.flush();
+
+        assertEquals(2, received.size(), "The other observer should receive every revenue.");
+        assertEquals(2, bus.getFailedDeliveries(), "Every failed delivery should be counted.");
+    }
+
+    @Test
+    void testDropPolicyDropsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstDelivered = new CountDownLatch(1);
+        bus = new AsyncRevenueObserverBus(2, OverflowPolicy.DROP);
+        bus.addObserver(revenue -> {
+            firstDelivered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bus.start();
+
+        bus.newRevenue(new Amount(1.0));
+        assertTrue(firstDelivered.await(5, TimeUnit.SECONDS), "The consumer should take the first revenue.");
+        for (int i = 0; i < 5; i++) {
+            bus.newRevenue(new Amount(1.0));
+        }
+        release.countDown();
+
+        assertEquals(3, bus.getDroppedEvents(), "Revenue that does not fit in the queue should be dropped.");
+    }
+
+    @Test
+    void testBlockPolicyMakesReporterWait() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        bus = new AsyncRevenueObserverBus(1, OverflowPolicy.BLOCK);
+        bus.addObserver(revenue -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bus.start();
+        CountDownLatch reported = new CountDownLatch(1);
+        Thread lane = new Thread(() -> {
+            for (int i = 0; i < 3; i++) {
+                bus.newRevenue(new Amount(1.0));
+            }
+            reported.countDown();
+        });
+
+        lane.start();
+        assertFalse(reported.await(200, TimeUnit.MILLISECONDS), "The lane should wait while the queue is full.");
+        release.countDown();
+        assertTrue(reported.await(5, TimeUnit.SECONDS), "The lane should continue once there is room.");
+        assertEquals(0, bus.getDroppedEvents(), "No revenue should be dropped when blocking.");
+    }
+
+    @Test
+    void testCloseDeliversQueuedRevenueAndLaterRevenueSynchronously() {
+        List<Amount> received = new CopyOnWriteArrayList<>();
+        bus = new AsyncRevenueObserverBus(16, OverflowPolicy.BLOCK);
+        bus.addObserver(received::add);
+        bus.start();
+
+        bus.newRevenue(new Amount(1.0));
+        bus.newRevenue(new Amount(2.0));
+        bus.close();
+        assertEquals(2, received.size(), "Closing should deliver all queued revenue.");
+
+        bus.newRevenue(new Amount(3.0));
+        assertEquals(3, received.size(), "Revenue reported after closing should be delivered at once.");
+    }
+
+    @Test
+    void testCloseWhileDeliveringToLedgerWritesEveryRevenue(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        Path ledgerFile = directory.resolve("ledger.bin");
+        CountDownLatch delivering = new CountDownLatch(1);
+        bus = new AsyncRevenueObserverBus(1000, OverflowPolicy.BLOCK);
+        bus.addObserver(revenue -> {
+            delivering.countDown();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try (RevenueLedgerOutput ledger = new RevenueLedgerOutput(ledgerFile, null)) {
+            bus.addObserver(ledger);
+            bus.start();
+
+            for (int i = 0; i < 500; i++) {
+                bus.newRevenue("lane-1", Amount.ofMinorUnits(100));
+            }
+            assertTrue(delivering.await(5, TimeUnit.SECONDS), "The consumer should start delivering.");
+            bus.close();
+        }
+
+        assertEquals(500, new MappedRevenueLedgerReader(ledgerFile).getRecordCount(),
+            "Closing the bus while it delivers should still write every revenue to the ledger.");
+        assertEquals(0, bus.getFailedDeliveries(), "No delivery should fail during the shutdown.");
+    }
+
+    @Test
+    void testCloseWithoutStartDeliversQueuedRevenue() {
+        List<Amount> received = new CopyOnWriteArrayList<>();
+        bus = new AsyncRevenueObserverBus(16, OverflowPolicy.BLOCK);
+        bus.addObserver(received::add);
+
+        bus.newRevenue(new Amount(1.0));
+        bus.close();
+
+        assertEquals(1, received.size(), "Revenue queued before the bus was started should not be lost.");
+    }
+}
\ No newline at end of file
@@ -1,11 +1,13 @@
 package test.utils;
 
 import org.junit.jupiter.api.*;
+import utils.AsyncLogWriter;
 import utils.LogHandler;
 
 import java.io.*;
 import java.nio.file.*;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -97,4 +99,18 @@ class LogHandlerTest {
         logPath.toFile().setWritable(true);
         Files.deleteIfExists(logPath);
     }
+
+    @Test
+    void testAsyncLoggingWritesEntriesWhenDisabled() throws IOException {
+        LogHandler.enableAsyncLogging(new AsyncLogWriter(Paths.get(LOG_FILE), 64));
+        try {
+            LogHandler.logException(new IllegalStateException("Async failure"), Map.of("item", "42"));
+        } finally {
+            LogHandler.disableAsyncLogging();
+        }
+
+        List<String> lines = Files.readAllLines(Paths.get(LOG_FILE));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("Async failure")), "The entry should be written once logging stops.");
+        assertTrue(lines.contains("item: 42"), "The fields should be written with the entry.");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package test.utils;
+
+import model.Amount;
+import utils.RevenueLogWriter;
+import utils.RevenueLogWriter.RotationPolicy;
+import utils.RevenueLogWriter.SyncPolicy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueLogWriterTest {
+
+    /**
+     * A clock that only moves when the test moves it.
+     */
+    private static class ManualClock extends Clock {
+        private Instant now = Instant.parse("2025-03-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void testEntriesAreVisibleWhileFileIsOpen(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        try (RevenueLogWriter writer = new RevenueLogWriter(file, SyncPolicy.never(), RotationPolicy.none())) {
+            writer.writeEntry(new Amount(150.0), new Amount(150.0));
+            writer.writeEntry(new Amount(0.5), new Amount(150.5));
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals("Added 150.00 SEK, total revenue so far: 150.00 SEK", lines.get(0), "The entry should be formatted like before.");
+            assertEquals("Added 0.50 SEK, total revenue so far: 150.50 SEK", lines.get(1), "Every entry should be appended.");
+        }
+    }
+
+    @Test
+    void testExistingFileIsAppendedTo(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        Files.writeString(file, "Added 1.00 SEK, total revenue so far: 1.00 SEK" + System.lineSeparator());
+
+        try (RevenueLogWriter writer = new RevenueLogWriter(file, SyncPolicy.never(), RotationPolicy.none())) {
+            writer.writeEntry(new Amount(2.0), new Amount(3.0));
+        }
+
+        assertEquals(2, Files.readAllLines(file).size(), "Earlier entries should be kept.");
+    }
+
+    @Test
+    void testSyncEveryEventsForcesAfterCount(@TempDir Path directory) throws IOException {
+        try (RevenueLogWriter writer = new RevenueLogWriter(directory.resolve("revenue.txt"), SyncPolicy.everyEvents(3),
+                                                            RotationPolicy.none())) {
+            for (int i = 0; i < 7; i++) {
+                writer.writeEntry(new Amount(1.0), new Amount(i + 1));
+            }
+
+            assertEquals(2, writer.getSyncCount(), "Seven entries should be forced twice, every third entry.");
+        }
+    }
+
+    @Test
+    void testSyncEveryEventForcesEveryEntry(@TempDir Path directory) throws IOException {
+        try (RevenueLogWriter writer = new RevenueLogWriter(directory.resolve("revenue.txt"), SyncPolicy.everyEvent(),
+                                                            RotationPolicy.none())) {
+            writer.writeEntry(new Amount(1.0), new Amount(1.0));
+            writer.writeEntry(new Amount(1.0), new Amount(2.0));
+
+            assertEquals(2, writer.getSyncCount(), "Every entry should be forced.");
+        }
+    }
+
+    @Test
+    void testSyncEveryMillisForcesAfterInterval(@TempDir Path directory) throws IOException {
+        ManualClock clock = new ManualClock();
+        try (RevenueLogWriter writer = new RevenueLogWriter(directory.resolve("revenue.txt"), SyncPolicy.everyMillis(1_000),
+                                                            RotationPolicy.none(), clock)) {
+            writer.writeEntry(new Amount(1.0), new Amount(1.0));
+            clock.advance(Duration.ofMillis(999));
+            writer.writeEntry(new Amount(1.0), new Amount(2.0));
+            assertEquals(0, writer.getSyncCount(), "Entries within the interval should not be forced.");
+
+            clock.advance(Duration.ofMillis(1));
+            writer.writeEntry(new Amount(1.0), new Amount(3.0));
+            assertEquals(1, writer.getSyncCount(), "An entry after the interval should force all entries.");
+        }
+    }
+
+    @Test
+    void testCloseForcesUnsyncedEntries(@TempDir Path directory) throws IOException {
+        RevenueLogWriter writer = new RevenueLogWriter(directory.resolve("revenue.txt"), SyncPolicy.never(), RotationPolicy.none());
+        writer.writeEntry(new Amount(1.0), new Amount(1.0));
+        writer.close();
+        writer.close();
+
+        assertEquals(1, writer.getSyncCount(), "Closing should force the written entries once.");
+        assertThrows(IOException.class, () -> writer.writeEntry(new Amount(1.0), new Amount(2.0)),
+            "Writing to a closed log should fail.");
+    }
+
+    @Test
+    void testRotationBySizeKeepsLatestTotalInCurrentFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        try (RevenueLogWriter writer = new RevenueLogWriter(file, SyncPolicy.never(), RotationPolicy.bySize(120),
+                                                            new ManualClock())) {
+            for (int i = 1; i <= 5; i++) {
+                writer.writeEntry(new Amount(1.0), new Amount(i));
+            }
+
+            assertEquals(2, writer.getRotationCount(), "The log should rotate whenever the next entry would not fit.");
+        }
+
+        List<String> current = Files.readAllLines(file);
+        assertTrue(current.get(current.size() - 1).endsWith("total revenue so far: 5.00 SEK"),
+            "The current file should end with the latest total.");
+        assertTrue(Files.exists(directory.resolve("revenue.txt.2025-03-01.1")), "The first rotated file should be numbered 1.");
+        assertTrue(Files.exists(directory.resolve("revenue.txt.2025-03-01.2")), "The second rotated file should be numbered 2.");
+    }
+
+    @Test
+    void testDailyRotationStartsNewFileOnNewDay(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        ManualClock clock = new ManualClock();
+        try (RevenueLogWriter writer = new RevenueLogWriter(file, SyncPolicy.never(), RotationPolicy.daily(), clock)) {
+            writer.writeEntry(new Amount(1.0), new Amount(1.0));
+            writer.writeEntry(new Amount(1.0), new Amount(2.0));
+            clock.advance(Duration.ofDays(1));
+            writer.writeEntry(new Amount(1.0), new Amount(3.0));
+
+            assertEquals(1, writer.getRotationCount(), "The log should rotate once on the new day.");
+        }
+
+        assertEquals(2, Files.readAllLines(directory.resolve("revenue.txt.2025-03-01.1")).size(),
+            "The rotated file should hold the entries of the earlier day.");
+        assertEquals(1, Files.readAllLines(file).size(), "The current file should hold the entries of the new day.");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count(), "There should be one rotated file and the current file.");
+        }
+    }
+
+    @Test
+    void testReadLastEntryOfMissingOrEmptyFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        assertNull(RevenueLogWriter.readLastEntry(file), "A missing file should have no last entry.");
+
+        Files.writeString(file, "\r\n\n");
+        assertNull(RevenueLogWriter.readLastEntry(file), "A file with only line separators should have no last entry.");
+    }
+
+    @Test
+    void testReadLastEntrySkipsTrailingSeparators(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        Files.writeString(file, "first\r\nsecond\r\n\r\n");
+        assertEquals("second", RevenueLogWriter.readLastEntry(file), "Trailing line separators should be skipped.");
+
+        Files.writeString(file, "only");
+        assertEquals("only", RevenueLogWriter.readLastEntry(file), "A single line without separator should be read.");
+    }
+
+    @Test
+    void testReadLastEntryLongerThanOneChunk(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        String longEntry = "x".repeat(10_000) + " total revenue so far: 1.00 SEK";
+        Files.writeString(file, "first\n" + longEntry + "\n");
+
+        assertEquals(longEntry, RevenueLogWriter.readLastEntry(file), "An entry spanning several chunks should be read whole.");
+    }
+
+    @Test
+    void testReadLastEntryAfterWriting(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        try (RevenueLogWriter writer = new RevenueLogWriter(file, SyncPolicy.never(), RotationPolicy.none())) {
+            writer.writeEntry(new Amount(1.0), new Amount(1.0));
+            writer.writeEntry(new Amount(2.0), new Amount(3.0));
+        }
+
+        assertEquals("Added 2.00 SEK, total revenue so far: 3.00 SEK", RevenueLogWriter.readLastEntry(file),
+            "The last written entry should be read.");
+    }
+}
\ No newline at end of file
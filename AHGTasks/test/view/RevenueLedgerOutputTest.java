@@ -0,0 +1,65 @@
+package test.view;
+
+import integration.MappedRevenueLedgerReader;
+import model.Amount;
+import view.RevenueLedgerOutput;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueLedgerOutputTest {
+
+    @Test
+    void testRevenueIsRecordedWithLane(@TempDir Path directory) throws IOException {
+        Path ledgerFile = directory.resolve("ledger.bin");
+        try (RevenueLedgerOutput output = new RevenueLedgerOutput(ledgerFile, null)) {
+            output.newRevenue("lane-3", new Amount(20.0));
+            output.newRevenue(new Amount(5.0));
+
+            assertEquals(25.0, output.getTotalRevenue().getAmount(), 0.001, "The total should include every sale.");
+        }
+
+        MappedRevenueLedgerReader reader = new MappedRevenueLedgerReader(ledgerFile);
+        assertEquals("lane-3", reader.getRecord(0).getLaneId(), "The lane of the sale should be recorded.");
+        assertEquals("", reader.getRecord(1).getLaneId(), "A sale at an unknown lane should have an empty lane.");
+    }
+
+    @Test
+    void testLedgerIsReopenedAfterFailedWrite(@TempDir Path directory) throws IOException {
+        Path ledgerFile = directory.resolve("ledger.bin");
+        try (RevenueLedgerOutput output = new RevenueLedgerOutput(ledgerFile, null)) {
+            output.newRevenue("lane-1", new Amount(10.0));
+            // An interrupted write closes the channel of the ledger.
+            Thread.currentThread().interrupt();
+            output.newRevenue("lane-1", new Amount(20.0));
+            Thread.interrupted();
+
+            output.newRevenue("lane-1", new Amount(5.0));
+
+            assertEquals(15.0, output.getTotalRevenue().getAmount(), 0.001,
+                "Revenue after a failed write should be recorded in the reopened ledger.");
+        }
+    }
+
+    @Test
+    void testTextLogIsConvertedOnFirstStart(@TempDir Path directory) throws IOException {
+        Path ledgerFile = directory.resolve("ledger.bin");
+        Path textLog = directory.resolve("total-revenue-log.txt");
+        Files.writeString(textLog, "Added 100.00 SEK, total revenue so far: 100.00 SEK" + System.lineSeparator());
+
+        try (RevenueLedgerOutput output = new RevenueLedgerOutput(ledgerFile, textLog)) {
+            output.newRevenue("lane-1", new Amount(50.0));
+        }
+        Files.writeString(textLog, "Added 999.00 SEK, total revenue so far: 999.00 SEK" + System.lineSeparator());
+        try (RevenueLedgerOutput output = new RevenueLedgerOutput(ledgerFile, textLog)) {
+            assertEquals(150.0, output.getTotalRevenue().getAmount(), 0.001,
+                "The total should continue from the converted log, which is only converted once.");
+        }
+    }
+}
\ No newline at end of file
@@ -2,9 +2,15 @@ package test.view;
 
 import model.Amount;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import utils.RevenueLogWriter;
+import utils.RevenueLogWriter.RotationPolicy;
+import utils.RevenueLogWriter.SyncPolicy;
 import view.TotalRevenueFileOutput;
 
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.List;
 
@@ -20,8 +26,9 @@ class TotalRevenueFileOutputTest {
 
     @Test
     void testNewRevenue_createsLogFileWithCorrectContent() throws IOException {
-        TotalRevenueFileOutput revenueLogger = new TotalRevenueFileOutput();
-        revenueLogger.newRevenue(new Amount(150.0));
+        try (TotalRevenueFileOutput revenueLogger = new TotalRevenueFileOutput()) {
+            revenueLogger.newRevenue(new Amount(150.0));
+        }
 
         assertTrue(Files.exists(Paths.get(FILE_NAME)), "Log file should be created.");
 
@@ -33,10 +40,11 @@ class TotalRevenueFileOutputTest {
 
     @Test
     void testNewRevenue_appendsToExistingRevenue() throws IOException {
-        TotalRevenueFileOutput revenueLogger1 = new TotalRevenueFileOutput();
-        revenueLogger1.newRevenue(new Amount(100.0));
+        try (TotalRevenueFileOutput revenueLogger1 = new TotalRevenueFileOutput()) {
+            revenueLogger1.newRevenue(new Amount(100.0));
 
-        revenueLogger1.newRevenue(new Amount(50.0));
+            revenueLogger1.newRevenue(new Amount(50.0));
+        }
 
         List<String> lines = Files.readAllLines(Paths.get(FILE_NAME));
         assertEquals(2, lines.size(), "Log file should contain two entries.");
@@ -44,19 +52,22 @@ class TotalRevenueFileOutputTest {
     }
 
     @Test
-    void testReadPreviousRevenue_fileDoesNotExist_returnsZero() {
-        TotalRevenueFileOutput revenueLogger = new TotalRevenueFileOutput();
-        revenueLogger.newRevenue(new Amount(0.0));
+    void testReadPreviousRevenue_fileDoesNotExist_returnsZero() throws IOException {
+        try (TotalRevenueFileOutput revenueLogger = new TotalRevenueFileOutput()) {
+            revenueLogger.newRevenue(new Amount(0.0));
+        }
         assertTrue(Files.exists(Paths.get(FILE_NAME)), "File should still be created even with 0 revenue.");
     }
 
     @Test
     void testRevenueAccumulationAfterRestart() throws IOException {
-        TotalRevenueFileOutput logger1 = new TotalRevenueFileOutput();
-        logger1.newRevenue(new Amount(100.0));
+        try (TotalRevenueFileOutput logger1 = new TotalRevenueFileOutput()) {
+            logger1.newRevenue(new Amount(100.0));
+        }
 
-        TotalRevenueFileOutput logger2 = new TotalRevenueFileOutput();
-        logger2.newRevenue(new Amount(50.0));
+        try (TotalRevenueFileOutput logger2 = new TotalRevenueFileOutput()) {
+            logger2.newRevenue(new Amount(50.0));
+        }
 
         List<String> lines = Files.readAllLines(Paths.get(FILE_NAME));
         assertEquals(2, lines.size(), "Two entries should exist after restart.");
@@ -64,9 +75,52 @@ class TotalRevenueFileOutputTest {
             "Second entry should reflect accumulated revenue across instances.");
     }
 
+    @Test
+    void testLogInOtherFileWithRotationContinuesTotal(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("revenue.txt");
+        try (TotalRevenueFileOutput logger1 = new TotalRevenueFileOutput(file, SyncPolicy.everyEvent(), RotationPolicy.bySize(60))) {
+            logger1.newRevenue(new Amount(100.0));
+            logger1.newRevenue(new Amount(50.0));
+        }
+
+        try (TotalRevenueFileOutput logger2 = new TotalRevenueFileOutput(file, SyncPolicy.everyEvent(), RotationPolicy.bySize(60))) {
+            logger2.newRevenue(new Amount(25.0));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size(), "Every entry should have been rotated into its own file.");
+        assertTrue(lines.get(0).contains("total revenue so far: 175.00 SEK"),
+            "The total should continue across rotation and restart.");
+    }
+
+    @Test
+    void testStartupAgainstLargeLogIsFast(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("large-revenue-log.txt");
+        long size = 1L << 30;
+        byte[] lastEntry = ("\nAdded 10.00 SEK, total revenue so far: 123456.78 SEK" + System.lineSeparator())
+            .getBytes(StandardCharsets.US_ASCII);
+        try (RandomAccessFile log = new RandomAccessFile(file.toFile(), "rw")) {
+            log.write("Added 1.00 SEK, total revenue so far: 1.00 SEK\n".getBytes(StandardCharsets.US_ASCII));
+            log.setLength(size);
+            log.seek(size - lastEntry.length);
+            log.write(lastEntry);
+        }
+
+        long start = System.nanoTime();
+        try (TotalRevenueFileOutput logger = new TotalRevenueFileOutput(file, SyncPolicy.never(), RotationPolicy.none())) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.newRevenue(new Amount(1.22));
+
+            assertTrue(elapsedMillis < 500, "Starting against a 1 GB log should take well under a second, but took "
+                + elapsedMillis + " ms.");
+        }
+        assertEquals("Added 1.22 SEK, total revenue so far: 123458.00 SEK", RevenueLogWriter.readLastEntry(file),
+            "The total should continue from the last entry of the large log.");
+    }
+
     @AfterEach
     void cleanUpFiles() throws IOException {
         Files.deleteIfExists(Paths.get(FILE_NAME));
         Files.deleteIfExists(Paths.get("error.log"));
     }
-}
\ No newline at end of file
+}
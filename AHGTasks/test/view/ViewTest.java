@@ -6,6 +6,7 @@ import exceptions.DatabaseFailureException;
 import exceptions.ItemNotFoundException;
 import model.Amount;
 import model.VAT;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import view.View;
@@ -30,6 +31,11 @@ class ViewTest {
         view = new View(controllerStub);
     }
 
+    @AfterEach
+    void tearDown() {
+        view.close();
+    }
+
     @Test
     void testSimulateSaleExecution() {
         String output = outputStream.toString();
@@ -58,7 +64,7 @@ class ViewTest {
     void testIllegalArgumentExceptionHandling() {
         controllerStub.throwIllegalArgument = true;
 
-        new View(controllerStub);
+        new View(controllerStub).close();
         String output = outputStream.toString();
 
         assertTrue(output.contains("[USER MESSAGE] Invalid item registration:"), "IllegalArgumentException should be handled.");